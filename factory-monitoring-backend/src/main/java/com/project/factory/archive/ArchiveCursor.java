@@ -0,0 +1,98 @@
+package com.project.factory.archive;
+
+import java.util.Iterator;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+
+/* =====================================================
+   FORWARD SCAN OVER ARCHIVED SEGMENTS
+   Walks segments in month order from the first row at or
+   after the lower bound (binary search per segment),
+   checks filters against the mapped columns and stops at
+   the first row past the upper bound. Skipped rows cost
+   a few buffer reads and no objects; toRow() builds the
+   current row only when the caller keeps it.
+   ===================================================== */
+public final class ArchiveCursor {
+
+    private static final long ANY = Long.MIN_VALUE;
+
+    private final Iterator<LogSegment> segments;
+    private final long fromMicros;
+    private final long toMicros;                  // exclusive
+    private final boolean keyset;
+    private final long afterMicros;
+    private final long afterId;
+
+    private final long machineId;
+    private final long operatorId;
+    private final int shift;
+    private final int status;
+
+    private LogSegment segment;
+    private int row;
+
+    ArchiveCursor(Iterable<LogSegment> segments, ProductionLogFilter filter, long toMicros) {
+        this.segments = segments.iterator();
+        this.fromMicros = filter.getFrom() != null ? LogSegment.toMicros(filter.getFrom()) : ANY;
+        this.toMicros = filter.getTo() != null
+                ? Math.min(toMicros, LogSegment.toMicros(filter.getTo()))
+                : toMicros;
+
+        this.keyset = filter.getAfterTime() != null;
+        this.afterMicros = keyset ? LogSegment.toMicros(filter.getAfterTime()) : ANY;
+        this.afterId = keyset ? filter.getAfterId() : ANY;
+
+        this.machineId = filter.getMachineId() != null ? filter.getMachineId() : ANY;
+        this.operatorId = filter.getOperatorId() != null ? filter.getOperatorId() : ANY;
+        this.shift = filter.getShift() != null ? filter.getShift().ordinal() : -1;
+        this.status = filter.getStatus() != null ? filter.getStatus().ordinal() : -1;
+    }
+
+    public boolean next() {
+        while (true) {
+            if (segment != null) {
+                while (++row < segment.rows()) {
+                    if (segment.start(row) >= toMicros) {
+                        return false;             // later segments start later still
+                    }
+                    if (matches(row)) {
+                        return true;
+                    }
+                }
+                segment = null;
+            }
+
+            if (!segments.hasNext()) {
+                return false;
+            }
+            LogSegment next = segments.next();
+            if (next.rows() == 0 || next.maxStart() < fromMicros
+                    || (keyset && next.maxStart() < afterMicros)) {
+                continue;
+            }
+            if (next.minStart() >= toMicros) {
+                return false;
+            }
+
+            int first = next.lowerBound(fromMicros);
+            if (keyset) {
+                first = Math.max(first, next.after(afterMicros, afterId));
+            }
+            segment = next;
+            row = first - 1;
+        }
+    }
+
+    private boolean matches(int r) {
+        return (machineId == ANY || segment.machineId(r) == machineId)
+                && (operatorId == ANY || segment.operatorId(r) == operatorId)
+                && (shift < 0 || segment.shift(r) == shift)
+                && (status < 0 || segment.status(r) == status);
+    }
+
+    public ProductionLogRow toRow() {
+        return segment.toRow(row);
+    }
+}
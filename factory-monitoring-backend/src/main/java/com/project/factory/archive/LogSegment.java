@@ -0,0 +1,179 @@
+package com.project.factory.archive;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+
+/* =====================================================
+   ONE MONTH OF ARCHIVED PRODUCTION LOGS (READ-ONLY)
+
+   File layout, big-endian, rows sorted by (start, id):
+
+     header   64 bytes
+              magic, version, rows, dictSize,
+              minStart, maxStart, dictOffset
+     columns  each one contiguous array of "rows" values
+              id, batchId, start, end,
+              machineId, operatorId           8 bytes
+              qty, product, machineName,
+              operatorName                    4 bytes
+              shift, status                   1 byte
+     dict     [len, utf-8 bytes] per distinct string
+
+   Times are microseconds of the LocalDateTime taken as
+   UTC (no zone maths, same precision as DATETIME(6)).
+   Strings are dictionary codes (-1 = null), so every row
+   has a fixed position in every column: reads are plain
+   offset arithmetic on the mapped file and allocate
+   nothing until a row is actually returned.
+   ===================================================== */
+final class LogSegment {
+
+    static final int MAGIC = 0x504C5347;         // "PLSG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    // Column widths in file order
+    static final int[] WIDTHS = { 8, 8, 8, 8, 8, 8, 4, 4, 4, 4, 1, 1 };
+
+    static final int ID = 0, BATCH = 1, START = 2, END = 3, MACHINE = 4, OPERATOR = 5,
+            QTY = 6, PRODUCT = 7, MACHINE_NAME = 8, OPERATOR_NAME = 9, SHIFT = 10, STATUS = 11;
+
+    private static final Shift[] SHIFTS = Shift.values();
+    private static final ProductionStatus[] STATUSES = ProductionStatus.values();
+
+    private final YearMonth month;
+    private final MappedByteBuffer buf;
+    private final int rows;
+    private final long minStart;
+    private final long maxStart;
+    private final int[] offsets = new int[WIDTHS.length];
+    private final String[] dict;
+
+    private LogSegment(YearMonth month, MappedByteBuffer buf) {
+        this.month = month;
+        this.buf = buf;
+
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+            throw new RuntimeException("Not a production log segment: " + month);
+        }
+
+        this.rows = buf.getInt(8);
+        int dictSize = buf.getInt(12);
+        this.minStart = buf.getLong(16);
+        this.maxStart = buf.getLong(24);
+
+        int offset = HEADER_BYTES;
+        for (int c = 0; c < WIDTHS.length; c++) {
+            offsets[c] = offset;
+            offset += rows * WIDTHS[c];
+        }
+
+        // Decoded once per segment; rows only hold codes
+        this.dict = new String[dictSize];
+        int pos = (int) buf.getLong(32);
+        for (int i = 0; i < dictSize; i++) {
+            int len = buf.getInt(pos);
+            byte[] bytes = new byte[len];
+            buf.get(pos + 4, bytes);
+            dict[i] = new String(bytes, StandardCharsets.UTF_8);
+            pos += 4 + len;
+        }
+    }
+
+    static LogSegment open(YearMonth month, Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) {
+                throw new RuntimeException("Segment too large: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            return new LogSegment(month, ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /* ================= METADATA ================= */
+
+    YearMonth month() { return month; }
+    int rows() { return rows; }
+    long minStart() { return minStart; }
+    long maxStart() { return maxStart; }
+
+    /* ================= COLUMN READS ================= */
+
+    long id(int r) { return buf.getLong(offsets[ID] + r * 8); }
+    long start(int r) { return buf.getLong(offsets[START] + r * 8); }
+    long machineId(int r) { return buf.getLong(offsets[MACHINE] + r * 8); }
+    long operatorId(int r) { return buf.getLong(offsets[OPERATOR] + r * 8); }
+    int shift(int r) { return buf.get(offsets[SHIFT] + r); }
+    int status(int r) { return buf.get(offsets[STATUS] + r); }
+
+    ProductionLogRow toRow(int r) {
+        long end = buf.getLong(offsets[END] + r * 8);
+        return new ProductionLogRow(
+                id(r),
+                buf.getLong(offsets[BATCH] + r * 8),
+                string(buf.getInt(offsets[PRODUCT] + r * 4)),
+                buf.getInt(offsets[QTY] + r * 4),
+                machineId(r),
+                string(buf.getInt(offsets[MACHINE_NAME] + r * 4)),
+                operatorId(r),
+                string(buf.getInt(offsets[OPERATOR_NAME] + r * 4)),
+                fromMicros(start(r)),
+                end == NO_TIME ? null : fromMicros(end),
+                SHIFTS[shift(r)],
+                STATUSES[status(r)]
+        );
+    }
+
+    private String string(int code) {
+        return code < 0 ? null : dict[code];
+    }
+
+    /* ================= SEARCH ================= */
+
+    // First row with start >= micros
+    int lowerBound(long micros) {
+        int lo = 0, hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (start(mid) < micros) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // First row strictly after the keyset position (micros, id)
+    int after(long micros, long id) {
+        int r = lowerBound(micros);
+        while (r < rows && start(r) == micros && id(r) <= id) {
+            r++;
+        }
+        return r;
+    }
+
+    /* ================= TIME ENCODING ================= */
+
+    static long toMicros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + t.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                ZoneOffset.UTC
+        );
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.factory.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.JobWatermark;
+import com.project.factory.repository.JobWatermarkRepository;
+
+/* =====================================================
+   PRODUCTION LOG ARCHIVE (ONE SEGMENT FILE PER MONTH)
+
+   The "horizon" splits history in two: rows starting
+   before it are served from mapped segment files, rows
+   at or after it from production_logs. It is the first
+   day after the archiver's watermark, so the two sides
+   never overlap and a union is just "archive, then live"
+   in (start_time, id) order.
+
+   Segments for months at or past the horizon (a run that
+   died before moving the watermark) are ignored and get
+   rewritten by the next run.
+
+   Files live on local disk: with several instances each
+   needs the same directory (shared volume), otherwise
+   reports differ per node.
+   ===================================================== */
+@Component
+public class ProductionLogArchive implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionLogArchive.class);
+
+    static final String JOB_NAME = "production-log-archive";
+
+    // Horizon while nothing has been archived yet
+    public static final LocalDateTime NOTHING_ARCHIVED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JobWatermarkRepository watermarkRepository;
+    private final Path directory;
+
+    // Replaced wholesale on change; readers work on the snapshot they got
+    private volatile NavigableMap<YearMonth, LogSegment> segments = new TreeMap<>();
+    private volatile LocalDateTime horizon = NOTHING_ARCHIVED;
+
+    public ProductionLogArchive(
+            JobWatermarkRepository watermarkRepository,
+            @Value("${archive.production-logs.dir:archive/production-logs}") String directory
+    ) {
+        this.watermarkRepository = watermarkRepository;
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        watermarkRepository.findById(JOB_NAME)
+                .map(JobWatermark::getProcessedThrough)
+                .ifPresent(day -> horizon = day.plusDays(1).atStartOfDay());
+
+        NavigableMap<YearMonth, LogSegment> loaded = new TreeMap<>();
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+                for (Path file : files) {
+                    YearMonth month = monthOf(file);
+                    if (month.atDay(1).atStartOfDay().isBefore(horizon)) {
+                        loaded.put(month, LogSegment.open(month, file));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open production log archive " + directory, e);
+        }
+
+        segments = loaded;
+        log.info("Production log archive: {} segments, horizon {}", loaded.size(), horizon);
+    }
+
+    /* ================= READS ================= */
+
+    public LocalDateTime horizon() {
+        return horizon;
+    }
+
+    // Archived rows matching the filter (incl. keyset position) starting before
+    // "horizon"; the caller passes the value it also uses to clamp the live side
+    public ArchiveCursor cursor(ProductionLogFilter filter, LocalDateTime horizon) {
+        return new ArchiveCursor(
+                segments.headMap(YearMonth.from(horizon), false).values(),
+                filter,
+                LogSegment.toMicros(horizon)
+        );
+    }
+
+    // Appends up to "limit" rows; returns how many were added
+    public int readPage(
+            ProductionLogFilter filter,
+            LocalDateTime horizon,
+            int limit,
+            List<ProductionLogRow> out
+    ) {
+        ArchiveCursor cursor = cursor(filter, horizon);
+        int added = 0;
+        while (added < limit && cursor.next()) {
+            out.add(cursor.toRow());
+            added++;
+        }
+        return added;
+    }
+
+    /* ================= ARCHIVER SIDE ================= */
+
+    LogSegment segment(YearMonth month) {
+        return segments.get(month);
+    }
+
+    // Writes and maps the month's file; visible once the horizon passes it
+    void install(YearMonth month, List<ProductionLogRow> rows) throws IOException {
+        Path file = directory.resolve(month + ".seg");
+        SegmentWriter.write(file, rows);
+
+        NavigableMap<YearMonth, LogSegment> next = new TreeMap<>(segments);
+        next.put(month, LogSegment.open(month, file));
+        segments = next;
+    }
+
+    // Call only after the watermark has been committed
+    void advanceHorizon(LocalDateTime to) {
+        if (to.isAfter(horizon)) {
+            horizon = to;
+        }
+    }
+
+    private static YearMonth monthOf(Path file) {
+        String name = file.getFileName().toString();
+        return YearMonth.parse(name.substring(0, name.length() - ".seg".length()));
+    }
+}
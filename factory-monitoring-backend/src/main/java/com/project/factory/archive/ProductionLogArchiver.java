@@ -0,0 +1,155 @@
+package com.project.factory.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.JobWatermark;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.ProductionLogRepository;
+
+/* =====================================================
+   MOVES OLD PRODUCTION LOGS INTO MONTHLY SEGMENTS
+
+   Nightly, every whole month older than retain-months is
+   archived, oldest first:
+     1. read the month's rows (plus the existing segment,
+        if late rows arrived for an archived month)
+     2. write + map the segment file
+     3. commit the watermark, then move the horizon
+     4. delete exactly the archived ids from MySQL
+   A crash between any two steps leaves either an unused
+   segment (rewritten next run) or live rows behind the
+   horizon (hidden from reports, merged and deleted next
+   run) -- never a gap or a duplicate.
+
+   Rollups and OEE buckets are not touched: they already
+   hold the archived months and their rebuilds stop at
+   the horizon.
+   ===================================================== */
+@Component
+public class ProductionLogArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionLogArchiver.class);
+
+    private static final int DELETE_CHUNK = 1000;
+
+    private static final Comparator<ProductionLogRow> KEYSET_ORDER =
+            Comparator.comparing(ProductionLogRow::getStartTime)
+                    .thenComparing(ProductionLogRow::getId);
+
+    private final ProductionLogRepository logRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final ProductionLogArchive archive;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final int retainMonths;
+
+    public ProductionLogArchiver(
+            ProductionLogRepository logRepository,
+            JobWatermarkRepository watermarkRepository,
+            ProductionLogArchive archive,
+            PlatformTransactionManager transactionManager,
+            @Value("${archive.production-logs.retain-months:12}") int retainMonths
+    ) {
+        this.logRepository = logRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.archive = archive;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.retainMonths = Math.max(1, retainMonths);
+    }
+
+    @Scheduled(cron = "${archive.production-logs.cron:0 30 3 * * *}")
+    public void run() {
+        LocalDateTime cutoff = YearMonth.now().minusMonths(retainMonths).atDay(1).atStartOfDay();
+
+        while (true) {
+            LocalDateTime oldest = logRepository.findOldestStartTime();
+            if (oldest == null || !oldest.isBefore(cutoff)) {
+                return;
+            }
+            archiveMonth(YearMonth.from(oldest));
+        }
+    }
+
+    private void archiveMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        /* ===== 1. collect (existing segment first, live rows win on id) ===== */
+        Map<Long, ProductionLogRow> byId = new LinkedHashMap<>();
+
+        LogSegment existing = archive.segment(month);
+        if (existing != null) {
+            ArchiveCursor cursor = new ArchiveCursor(
+                    List.of(existing), new ProductionLogFilter(), Long.MAX_VALUE
+            );
+            while (cursor.next()) {
+                ProductionLogRow row = cursor.toRow();
+                byId.put(row.getId(), row);
+            }
+        }
+
+        List<Long> liveIds = new ArrayList<>();
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<ProductionLogRow> rows = logRepository.streamRows(from, to)) {
+                rows.forEach(row -> {
+                    byId.put(row.getId(), row);
+                    liveIds.add(row.getId());
+                });
+            }
+        });
+
+        List<ProductionLogRow> rows = new ArrayList<>(byId.values());
+        rows.sort(KEYSET_ORDER);
+
+        /* ===== 2. segment file ===== */
+        try {
+            archive.install(month, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write archive segment " + month, e);
+        }
+
+        /* ===== 3. watermark, then horizon ===== */
+        tx.executeWithoutResult(status -> {
+            JobWatermark watermark = watermarkRepository.findById(ProductionLogArchive.JOB_NAME)
+                    .orElseGet(() -> new JobWatermark(ProductionLogArchive.JOB_NAME));
+
+            if (watermark.getProcessedThrough() == null
+                    || watermark.getProcessedThrough().isBefore(month.atEndOfMonth())) {
+                watermark.setProcessedThrough(month.atEndOfMonth());
+            }
+            watermark.setLastRunAt(LocalDateTime.now());
+            watermarkRepository.save(watermark);
+        });
+        archive.advanceHorizon(to);
+
+        /* ===== 4. drop what is now in the segment ===== */
+        for (int i = 0; i < liveIds.size(); i += DELETE_CHUNK) {
+            List<Long> chunk = liveIds.subList(i, Math.min(i + DELETE_CHUNK, liveIds.size()));
+            tx.executeWithoutResult(status -> logRepository.deleteArchived(from, to, chunk));
+        }
+
+        log.info("Archived production logs for {}: {} rows ({} moved from MySQL)",
+                month, rows.size(), liveIds.size());
+    }
+}
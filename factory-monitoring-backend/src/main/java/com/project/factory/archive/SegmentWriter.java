@@ -0,0 +1,105 @@
+package com.project.factory.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.project.factory.dto.ProductionLogRow;
+
+/* =====================================================
+   WRITES ONE SEGMENT FILE (see LogSegment for layout)
+   Written to a temp file, fsynced, then atomically
+   renamed over the target, so readers only ever map a
+   complete file. Rows must already be sorted by
+   (startTime, id).
+   ===================================================== */
+final class SegmentWriter {
+
+    private SegmentWriter() {
+    }
+
+    static void write(Path target, List<ProductionLogRow> rows) throws IOException {
+        int n = rows.size();
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> dict = new ArrayList<>();
+        int[] product = new int[n];
+        int[] machineName = new int[n];
+        int[] operatorName = new int[n];
+
+        long dictOffset = LogSegment.HEADER_BYTES;
+        for (int w : LogSegment.WIDTHS) {
+            dictOffset += (long) n * w;
+        }
+
+        for (int i = 0; i < n; i++) {
+            ProductionLogRow r = rows.get(i);
+            product[i] = code(r.getProductName(), codes, dict);
+            machineName[i] = code(r.getMachineName(), codes, dict);
+            operatorName[i] = code(r.getOperatorName(), codes, dict);
+        }
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+
+            /* ===== header ===== */
+            out.writeInt(LogSegment.MAGIC);
+            out.writeInt(LogSegment.VERSION);
+            out.writeInt(n);
+            out.writeInt(dict.size());
+            out.writeLong(n == 0 ? 0 : LogSegment.toMicros(rows.get(0).getStartTime()));
+            out.writeLong(n == 0 ? 0 : LogSegment.toMicros(rows.get(n - 1).getStartTime()));
+            out.writeLong(dictOffset);
+            out.write(new byte[LogSegment.HEADER_BYTES - 40]);
+
+            /* ===== columns ===== */
+            for (ProductionLogRow r : rows) out.writeLong(r.getId());
+            for (ProductionLogRow r : rows) out.writeLong(r.getBatchId());
+            for (ProductionLogRow r : rows) out.writeLong(LogSegment.toMicros(r.getStartTime()));
+            for (ProductionLogRow r : rows) {
+                out.writeLong(r.getEndTime() != null
+                        ? LogSegment.toMicros(r.getEndTime())
+                        : LogSegment.NO_TIME);
+            }
+            for (ProductionLogRow r : rows) out.writeLong(r.getMachineId());
+            for (ProductionLogRow r : rows) out.writeLong(r.getOperatorId());
+            for (ProductionLogRow r : rows) out.writeInt(r.getProducedQty());
+            for (int c : product) out.writeInt(c);
+            for (int c : machineName) out.writeInt(c);
+            for (int c : operatorName) out.writeInt(c);
+            for (ProductionLogRow r : rows) out.writeByte(r.getShift().ordinal());
+            for (ProductionLogRow r : rows) out.writeByte(r.getStatus().ordinal());
+
+            /* ===== dictionary ===== */
+            for (byte[] bytes : dict) {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int code(String value, Map<String, Integer> codes, List<byte[]> dict) {
+        if (value == null) return -1;
+        return codes.computeIfAbsent(value, v -> {
+            dict.add(v.getBytes(StandardCharsets.UTF_8));
+            return dict.size() - 1;
+        });
+    }
+}
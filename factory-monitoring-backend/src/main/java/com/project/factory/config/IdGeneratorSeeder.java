@@ -0,0 +1,59 @@
+package com.project.factory.config;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/* =====================================================
+   SEED id_generators ABOVE EXISTING IDS
+
+   Tables that moved from IDENTITY to a pooled table
+   generator already hold auto-increment ids. Before the
+   first insert (and before the web server accepts
+   requests) each generator row is raised past
+   max(id) + allocation size, so new ids cannot collide.
+   Safe to run on every start: it only ever moves up.
+   ===================================================== */
+@Component
+public class IdGeneratorSeeder implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    // generator segment -> table; allocation size must match @TableGenerator
+    private static final Map<String, String> GENERATORS = Map.of(
+            "batches", "batches",
+            "batch_materials", "batch_materials",
+            "alerts", "alerts"
+    );
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Injected only to ensure Hibernate has created / updated the schema
+    public IdGeneratorSeeder(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        GENERATORS.forEach((segment, table) -> {
+            jdbcTemplate.update(
+                    "insert into id_generators (gen_name, next_val) "
+                    + "select ?, coalesce(max(id), 0) + ? from " + table + " "
+                    + "on duplicate key update next_val = greatest(next_val, values(next_val))",
+                    segment,
+                    ALLOCATION_SIZE + 1
+            );
+            log.debug("Seeded id generator '{}' from table {}", segment, table);
+        });
+    }
+}
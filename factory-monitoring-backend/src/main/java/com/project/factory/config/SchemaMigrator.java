@@ -0,0 +1,143 @@
+package com.project.factory.config;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.model.Material;
+import com.project.factory.model.SchemaMigration;
+import com.project.factory.repository.PartitionAdmin;
+import com.project.factory.repository.SchemaMigrationRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/* =====================================================
+   VERSIONED SCHEMA CHANGES ddl-auto CANNOT EXPRESS
+
+   Hibernate still creates and extends tables; this runs
+   right after it (before the web server starts) and
+   applies, in order, each step not yet recorded in
+   schema_migrations. Steps are append-only: never edit
+   or reorder one that has shipped, add a new one.
+
+   Partitioning rebuilds the table. On a large existing
+   table the first start after deploy takes as long as a
+   full table copy, so schedule it like any big ALTER.
+   ===================================================== */
+@Component
+public class SchemaMigrator implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private final SchemaMigrationRepository migrationRepository;
+    private final PartitionAdmin partitions;
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    // id -> (description, step), in apply order
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    // Injected only to ensure Hibernate has created / updated the schema
+    public SchemaMigrator(
+            SchemaMigrationRepository migrationRepository,
+            PartitionAdmin partitions,
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${partitions.months-ahead:3}") int monthsAhead
+    ) {
+        this.migrationRepository = migrationRepository;
+        this.partitions = partitions;
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+
+        steps.put("001-partition-production-logs", new Step(
+                "Range-partition production_logs by month on start_time",
+                () -> partitionMonthly("production_logs", "start_time")
+        ));
+        steps.put("002-partition-supplier-stock-logs", new Step(
+                "Range-partition supplier_stock_logs by month on created_at",
+                () -> partitionMonthly("supplier_stock_logs", "created_at")
+        ));
+        steps.put("003-material-key", new Step(
+                "Populate materials.material_key and make it NOT NULL",
+                this::populateMaterialKeys
+        ));
+        steps.put("004-alerts-material-subject", new Step(
+                "Allow alerts without a machine (material LOW_STOCK alerts)",
+                () -> jdbcTemplate.execute(
+                        "alter table alerts modify machine_id bigint null, modify machine varchar(255) null"
+                )
+        ));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        steps.forEach((id, step) -> {
+            if (migrationRepository.existsById(id)) {
+                return;
+            }
+            log.info("Applying schema migration {}: {}", id, step.description);
+            long start = System.currentTimeMillis();
+
+            step.action.run();
+            migrationRepository.save(new SchemaMigration(id, step.description));
+
+            log.info("Applied schema migration {} in {} ms", id, System.currentTimeMillis() - start);
+        });
+    }
+
+    /* ================= STEPS ================= */
+
+    // Partitions from the oldest row's month through monthsAhead past today
+    private void partitionMonthly(String table, String column) {
+        if (partitions.isPartitioned(table)) {
+            return;     // already done by hand
+        }
+
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "select min(" + column + ") from " + table, LocalDateTime.class
+        );
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+
+        partitions.dropForeignKeys(table);
+        partitions.widenPrimaryKey(table, column);
+        partitions.partitionByMonth(table, column, first, last);
+    }
+
+    // Keys are computed by Material.key so SQL and Java can never disagree.
+    // Two rows that differ only by case / surrounding spaces collide on the
+    // unique index: the step fails, is not recorded, and the rows must be
+    // merged by hand before the next start.
+    private void populateMaterialKeys() {
+        List<Object[]> updates = jdbcTemplate.query(
+                "select id, name, grade, location from materials where material_key is null",
+                (rs, i) -> new Object[] {
+                        Material.key(rs.getString(2), rs.getInt(3), rs.getString(4)),
+                        rs.getLong(1)
+                }
+        );
+        jdbcTemplate.batchUpdate("update materials set material_key = ? where id = ?", updates);
+        jdbcTemplate.execute("alter table materials modify material_key varchar(530) not null");
+    }
+
+    private static final class Step {
+
+        private final String description;
+        private final Runnable action;
+
+        private Step(String description, Runnable action) {
+            this.description = description;
+            this.action = action;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.project.factory.controller;
 
+import com.project.factory.dto.AlertPipelineStats;
 import com.project.factory.model.Alert;
+import com.project.factory.service.AlertPipeline;
 import com.project.factory.service.AlertService;
+import com.project.factory.stream.AlertStream;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -11,9 +16,17 @@ import java.util.List;
 public class AlertController {
 
     private final AlertService alertService;
+    private final AlertStream alertStream;
+    private final AlertPipeline alertPipeline;
 
-    public AlertController(AlertService alertService) {
+    public AlertController(
+            AlertService alertService,
+            AlertStream alertStream,
+            AlertPipeline alertPipeline
+    ) {
         this.alertService = alertService;
+        this.alertStream = alertStream;
+        this.alertPipeline = alertPipeline;
     }
 
     /* ================= GET ALL ACTIVE ALERTS ================= */
@@ -23,6 +36,22 @@ public class AlertController {
         return alertService.getActiveAlerts();
     }
 
+    /* ================= ALERT PUSH (SSE, RESUMABLE) ================= */
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return alertStream.subscribe(lastEventId);
+    }
+
+    /* ================= WRITER PIPELINE METRICS ================= */
+
+    @GetMapping("/pipeline")
+    public AlertPipelineStats pipelineStats() {
+        return alertPipeline.stats();
+    }
+
     /* ================= RESOLVE ALERT ================= */
 
     @PutMapping("/{id}/resolve")
@@ -1,6 +1,12 @@
 package com.project.factory.controller;
 
+import com.project.factory.dto.BatchPage;
+import com.project.factory.dto.BatchView;
+import com.project.factory.dto.BulkBatchResult;
 import com.project.factory.model.Batch;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.service.BatchBulkService;
+import com.project.factory.service.BatchQueryService;
 import com.project.factory.service.BatchService;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,30 +18,62 @@ import java.util.List;
 public class BatchController {
 
     private final BatchService batchService;
+    private final BatchBulkService batchBulkService;
+    private final BatchQueryService batchQueryService;
 
-    public BatchController(BatchService batchService) {
+    public BatchController(
+            BatchService batchService,
+            BatchBulkService batchBulkService,
+            BatchQueryService batchQueryService
+    ) {
         this.batchService = batchService;
+        this.batchBulkService = batchBulkService;
+        this.batchQueryService = batchQueryService;
     }
 
     /* ================= GET ALL BATCHES ================= */
 
     @GetMapping
-    public List<Batch> getAllBatches() {
-        return batchService.getAllBatches();
+    public List<BatchView> getAllBatches(
+            @RequestParam(required = false) BatchStatus status,
+            @RequestParam(required = false) Long machineId
+    ) {
+        return batchQueryService.list(status, machineId);
+    }
+
+    /* ================= PAGED BATCHES ================= */
+
+    // Keyset paging by id: pass nextCursor back as afterId
+    @GetMapping("/page")
+    public BatchPage getBatchPage(
+            @RequestParam(required = false) BatchStatus status,
+            @RequestParam(required = false) Long machineId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        return batchQueryService.page(status, machineId, afterId, size);
     }
 
     /* ================= GET BATCH BY ID ================= */
 
     @GetMapping("/{id}")
-    public Batch getBatch(@PathVariable Long id) {
-        return batchService.getBatch(id);
+    public BatchView getBatch(@PathVariable Long id) {
+        return batchQueryService.get(id);
     }
 
     /* ================= CREATE BATCH ================= */
 
     @PostMapping
-    public Batch createBatch(@RequestBody Batch batch) {
-        return batchService.createBatch(batch);
+    public BatchView createBatch(@RequestBody Batch batch) {
+        return batchQueryService.get(batchService.createBatch(batch).getId());
+    }
+
+    /* ================= BULK SCHEDULE ================= */
+
+    // One result per input item, in request order
+    @PostMapping("/bulk")
+    public List<BulkBatchResult> createBatches(@RequestBody List<Batch> batches) {
+        return batchBulkService.createBatches(batches);
     }
 
     /* ================= START / RESUME ================= */
@@ -70,8 +108,9 @@ public class BatchController {
     }
     
     @PutMapping("/{id}")
-    public Batch updateBatch(@PathVariable Long id, @RequestBody Batch batch) {
-        return batchService.updateBatch(id, batch);
+    public BatchView updateBatch(@PathVariable Long id, @RequestBody Batch batch) {
+        batchService.updateBatch(id, batch);
+        return batchQueryService.get(id);
     }
 
 
@@ -0,0 +1,25 @@
+package com.project.factory.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.project.factory.dto.DashboardSnapshot;
+import com.project.factory.service.DashboardService;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /* =====================================================
+       DASHBOARD SNAPSHOT (ONE CHEAP REQUEST)
+       ===================================================== */
+    @GetMapping("/snapshot")
+    public DashboardSnapshot getSnapshot() {
+        return dashboardService.getSnapshot();
+    }
+}
@@ -1,10 +1,33 @@
 package com.project.factory.controller;
 
+import com.project.factory.dto.MachineStateTotals;
+import com.project.factory.dto.MachineView;
+import com.project.factory.dto.OeeFigures;
+import com.project.factory.dto.OeeReport;
+import com.project.factory.dto.TelemetryBucket;
+import com.project.factory.dto.TelemetryIngestResult;
+import com.project.factory.dto.TelemetrySample;
+import com.project.factory.dto.TelemetryStats;
 import com.project.factory.model.Machine;
 import com.project.factory.model.MachineStatus;
+import com.project.factory.service.MachineRegistry;
 import com.project.factory.service.MachineService;
+import com.project.factory.service.MachineStatusHistoryService;
+import com.project.factory.service.OeeService;
+import com.project.factory.service.TelemetryQueryService;
+import com.project.factory.stream.MachineStatusStream;
+import com.project.factory.telemetry.TelemetryWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -13,22 +36,126 @@ import java.util.List;
 public class MachineController {
 
     private final MachineService machineService;
-
-    public MachineController(MachineService machineService) {
+    private final MachineStatusStream statusStream;
+    private final OeeService oeeService;
+    private final MachineStatusHistoryService statusHistory;
+    private final TelemetryWriter telemetryWriter;
+    private final TelemetryQueryService telemetryQuery;
+
+    public MachineController(
+            MachineService machineService,
+            MachineStatusStream statusStream,
+            OeeService oeeService,
+            MachineStatusHistoryService statusHistory,
+            TelemetryWriter telemetryWriter,
+            TelemetryQueryService telemetryQuery
+    ) {
         this.machineService = machineService;
+        this.statusStream = statusStream;
+        this.oeeService = oeeService;
+        this.statusHistory = statusHistory;
+        this.telemetryWriter = telemetryWriter;
+        this.telemetryQuery = telemetryQuery;
     }
 
     /* ================= GET ALL MACHINES ================= */
 
+    // Served from the registry; If-None-Match on the fleet stamp gives 304
     @GetMapping
-    public List<Machine> getAllMachines() {
-        return machineService.getAllMachines();
+    public ResponseEntity<List<MachineView>> getAllMachines(WebRequest request) {
+        MachineRegistry.Fleet fleet = machineService.getFleet();
+
+        if (request.checkNotModified(fleet.getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(fleet.getEtag())
+                .body(fleet.getMachines());
+    }
+
+    /* ================= STATUS PUSH (SSE) ================= */
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus() {
+        return statusStream.subscribe();
+    }
+
+    /* ================= OEE (PRE-AGGREGATED BUCKETS) ================= */
+
+    // from / to are inclusive production days
+    @GetMapping("/{id}/oee")
+    public OeeReport getOee(
+            @PathVariable Long id,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to
+    ) {
+        return oeeService.getMachineOee(id, from, to);
+    }
+
+    @GetMapping("/oee")
+    public List<OeeFigures> getFleetOee(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to
+    ) {
+        return oeeService.getFleetOee(from, to);
+    }
+
+    @PostMapping("/oee/rebuild")
+    public int rebuildOee() {
+        return oeeService.rebuild();
+    }
+
+    /* ================= TIME IN STATE ([from, to), to defaults to now) ================= */
+
+    @GetMapping("/{id}/status-history")
+    public MachineStateTotals getStatusHistory(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return statusHistory.timeInState(id, from, to != null ? to : LocalDateTime.now());
+    }
+
+    @GetMapping("/status-history")
+    public List<MachineStateTotals> getFleetStatusHistory(
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return statusHistory.fleetTimeInState(from, to != null ? to : LocalDateTime.now());
+    }
+
+    /* ================= TELEMETRY ================= */
+
+    // Buffered and written asynchronously; see TelemetryIngestResult for counts
+    @PostMapping("/telemetry")
+    public TelemetryIngestResult ingestTelemetry(@RequestBody List<TelemetrySample> samples) {
+        return telemetryWriter.ingest(samples);
+    }
+
+    @GetMapping("/telemetry/stats")
+    public TelemetryStats getTelemetryStats() {
+        return telemetryWriter.stats();
+    }
+
+    // [from, to) downsampled into bucketSeconds-wide buckets
+    @GetMapping("/{id}/telemetry")
+    public List<TelemetryBucket> getTelemetry(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "60") int bucketSeconds
+    ) {
+        return telemetryQuery.downsample(
+                id, from, to != null ? to : LocalDateTime.now(), bucketSeconds
+        );
     }
 
     /* ================= GET MACHINE BY ID ================= */
 
     @GetMapping("/{id}")
-    public Machine getMachine(@PathVariable Long id) {
+    public MachineView getMachine(@PathVariable Long id) {
         return machineService.getMachine(id);
     }
 
@@ -52,11 +179,11 @@ public class MachineController {
     /* ================= UPDATE MACHINE STATUS ================= */
 
     @PutMapping("/{id}/status/{status}")
-    public Machine updateStatus(
+    public MachineView updateStatus(
             @PathVariable Long id,
             @PathVariable MachineStatus status
     ) {
-        return machineService.updateStatus(id, status);
+        return machineService.transitionStatus(id, status);
     }
 
     /* ================= DELETE MACHINE ================= */
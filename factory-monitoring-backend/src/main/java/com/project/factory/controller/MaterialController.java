@@ -1,10 +1,16 @@
 package com.project.factory.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.*;
 
+import com.project.factory.dto.MaterialStockLevel;
+import com.project.factory.dto.StockBalance;
 import com.project.factory.model.Material;
+import com.project.factory.model.StockMovement;
 import com.project.factory.service.MaterialService;
 
 @RestController
@@ -33,4 +39,46 @@ public class MaterialController {
     public Material addMaterial(@RequestBody Material material) {
         return materialService.addOrUpdateMaterial(material);
     }
+
+    /* =====================================================
+       LOW STOCK (below reorder threshold, lowest first)
+       ===================================================== */
+    @GetMapping("/low-stock")
+    public List<MaterialStockLevel> getLowStock() {
+        return materialService.getLowStock();
+    }
+
+    /* =====================================================
+       REORDER THRESHOLD (omit to use the default)
+       ===================================================== */
+    @PutMapping("/{id}/reorder-threshold")
+    public Material setReorderThreshold(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer threshold
+    ) {
+        return materialService.setReorderThreshold(id, threshold);
+    }
+
+    /* =====================================================
+       STOCK AT A POINT IN TIME (snapshot + ledger deltas)
+       ===================================================== */
+    @GetMapping("/{id}/stock")
+    public StockBalance getStockAt(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return materialService.getStockAt(id, at);
+    }
+
+    /* =====================================================
+       STOCK MOVEMENTS [from, to)
+       ===================================================== */
+    @GetMapping("/{id}/movements")
+    public List<StockMovement> getMovements(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return materialService.getMovements(id, from, to != null ? to : LocalDateTime.now());
+    }
 }
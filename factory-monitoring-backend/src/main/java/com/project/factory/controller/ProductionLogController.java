@@ -1,8 +1,21 @@
 package com.project.factory.controller;
 
-import com.project.factory.model.ProductionLog;
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogPage;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.dto.ProductionSummaryRow;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+import com.project.factory.service.ProductionLogExportService;
 import com.project.factory.service.ProductionLogService;
+import com.project.factory.service.ProductionRollupService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,19 +26,116 @@ import java.util.List;
 public class ProductionLogController {
 
     private final ProductionLogService service;
+    private final ProductionLogExportService exportService;
+    private final ProductionRollupService rollupService;
 
-    public ProductionLogController(ProductionLogService service) {
+    public ProductionLogController(
+            ProductionLogService service,
+            ProductionLogExportService exportService,
+            ProductionRollupService rollupService
+    ) {
         this.service = service;
+        this.exportService = exportService;
+        this.rollupService = rollupService;
     }
 
     /* =============================
-       REPORTS API
+       REPORTS API (DEPRECATED)
+       First page only; use /reports/page
        ============================= */
+    @Deprecated
     @GetMapping("/reports")
-    public List<ProductionLog> getReports(
+    public List<ProductionLogRow> getReports(
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to
     ) {
         return service.getCompletedLogs(from, to);
     }
+
+    /* =============================
+       REPORTS API (KEYSET PAGINATED)
+       Pass back "nextCursor" to fetch the following page.
+       ============================= */
+    @GetMapping("/reports/page")
+    public ProductionLogPage getReportPage(
+            @RequestParam(required = false) Long machineId,
+            @RequestParam(required = false) Long operatorId,
+            @RequestParam(required = false) Shift shift,
+            @RequestParam(required = false) ProductionStatus status,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setMachineId(machineId);
+        filter.setOperatorId(operatorId);
+        filter.setShift(shift);
+        filter.setStatus(status);
+        filter.setFrom(from != null ? from.atStartOfDay() : null);
+        filter.setTo(to != null ? to.plusDays(1).atStartOfDay() : null);
+
+        return service.getReportPage(filter, cursor, size);
+    }
+
+    /* =============================
+       EXPORT API (STREAMED CSV / NDJSON)
+       ============================= */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "'to' must not be before 'from'"
+            );
+        }
+
+        ProductionLogExportService.Format fmt;
+        try {
+            fmt = ProductionLogExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Unsupported format: " + format
+            );
+        }
+
+        boolean csv = fmt == ProductionLogExportService.Format.CSV;
+        String filename = "production-logs_" + from + "_" + to
+                + (csv ? ".csv" : ".ndjson");
+
+        StreamingResponseBody body =
+                out -> exportService.export(from, to, fmt, out);
+
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? MediaType.parseMediaType("text/csv")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + "\""
+                )
+                .body(body);
+    }
+
+    /* =============================
+       SUMMARY API (PRE-AGGREGATED ROLLUPS)
+       ============================= */
+    @GetMapping("/summary")
+    public List<ProductionSummaryRow> getSummary(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(required = false) Long machineId
+    ) {
+        return rollupService.getSummary(from, to, machineId);
+    }
+
+    @PostMapping("/summary/rebuild")
+    public int rebuildSummary() {
+        return rollupService.rebuild();
+    }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.web.bind.annotation.*;
 
+import com.project.factory.dto.CapableSupplier;
 import com.project.factory.model.Supplier;
 import com.project.factory.model.SupplierMaterial;
 import com.project.factory.service.SupplierService;
@@ -24,6 +25,14 @@ public class SupplierController {
         return supplierService.getAllSuppliers();
     }
 
+    @GetMapping("/capable")
+    public List<CapableSupplier> getCapableSuppliers(
+            @RequestParam String materialName,
+            @RequestParam Integer grade
+    ) {
+        return supplierService.getCapableSuppliers(materialName, grade);
+    }
+
     @PostMapping
     public Supplier createSupplier(@RequestBody Supplier supplier) {
         return supplierService.createSupplier(supplier);
@@ -1,7 +1,17 @@
 package com.project.factory.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.project.factory.dto.StockReceiptImportResult;
+import com.project.factory.model.SupplierStockLog;
+import com.project.factory.service.SupplierStockImportService;
 import com.project.factory.service.SupplierStockService;
 
 @RestController
@@ -10,9 +20,14 @@ import com.project.factory.service.SupplierStockService;
 public class SupplierStockController {
 
     private final SupplierStockService stockService;
+    private final SupplierStockImportService importService;
 
-    public SupplierStockController(SupplierStockService stockService) {
+    public SupplierStockController(
+            SupplierStockService stockService,
+            SupplierStockImportService importService
+    ) {
         this.stockService = stockService;
+        this.importService = importService;
     }
 
     /* =====================================================
@@ -30,6 +45,41 @@ public class SupplierStockController {
         );
     }
 
+    /* =====================================================
+       BULK RECEIPTS (STREAMED CSV / NDJSON UPLOAD)
+       CSV needs a header naming supplierId, materialName,
+       grade, location, quantity (any order).
+       ===================================================== */
+    @PostMapping("/bulk")
+    public StockReceiptImportResult importReceipts(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body
+    ) throws IOException {
+        SupplierStockImportService.Format fmt;
+        try {
+            fmt = SupplierStockImportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Unsupported format: " + format
+            );
+        }
+
+        return importService.importReceipts(body, fmt);
+    }
+
+    /* =====================================================
+       STOCK RECEIPT HISTORY (from / to inclusive days)
+       ===================================================== */
+    @GetMapping("/logs")
+    public List<SupplierStockLog> getLogs(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(required = false) Long supplierId
+    ) {
+        return stockService.getLogs(from, to, supplierId);
+    }
+
     /* ===== DTO ===== */
     static class StockRequest {
         private Long supplierId;
@@ -0,0 +1,58 @@
+package com.project.factory.dto;
+
+public class AlertPipelineStats {
+
+    private final String overflowPolicy;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long enqueued;
+    private final long written;
+    private final long dropped;
+    private final long failed;
+    private final long discarded;
+    private final long flushes;
+    private final double avgFlushMillis;
+    private final double maxFlushMillis;
+    private final double lastFlushMillis;
+
+    public AlertPipelineStats(
+            String overflowPolicy,
+            int queueDepth,
+            int queueCapacity,
+            long enqueued,
+            long written,
+            long dropped,
+            long failed,
+            long discarded,
+            long flushes,
+            double avgFlushMillis,
+            double maxFlushMillis,
+            double lastFlushMillis
+    ) {
+        this.overflowPolicy = overflowPolicy;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.discarded = discarded;
+        this.flushes = flushes;
+        this.avgFlushMillis = avgFlushMillis;
+        this.maxFlushMillis = maxFlushMillis;
+        this.lastFlushMillis = lastFlushMillis;
+    }
+
+    public String getOverflowPolicy() { return overflowPolicy; }
+    public int getQueueDepth() { return queueDepth; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getEnqueued() { return enqueued; }
+    public long getWritten() { return written; }
+    public long getDropped() { return dropped; }
+    public long getFailed() { return failed; }
+    public long getDiscarded() { return discarded; }
+    public long getFlushes() { return flushes; }
+    public double getAvgFlushMillis() { return avgFlushMillis; }
+    public double getMaxFlushMillis() { return maxFlushMillis; }
+    public double getLastFlushMillis() { return lastFlushMillis; }
+}
@@ -0,0 +1,43 @@
+package com.project.factory.dto;
+
+/* =====================================================
+   FLAT BATCH MATERIAL ROW
+   Loaded for a whole page of batches with one IN query,
+   then grouped onto BatchView by batchId.
+   ===================================================== */
+public class BatchMaterialRow {
+
+    private final Long batchId;
+    private final Long id;
+    private final Integer quantity;
+    private final Long materialId;
+    private final String materialName;
+    private final Integer grade;
+    private final String location;
+
+    public BatchMaterialRow(
+            Long batchId,
+            Long id,
+            Integer quantity,
+            Long materialId,
+            String materialName,
+            Integer grade,
+            String location
+    ) {
+        this.batchId = batchId;
+        this.id = id;
+        this.quantity = quantity;
+        this.materialId = materialId;
+        this.materialName = materialName;
+        this.grade = grade;
+        this.location = location;
+    }
+
+    public Long getBatchId() { return batchId; }
+    public Long getId() { return id; }
+    public Integer getQuantity() { return quantity; }
+    public Long getMaterialId() { return materialId; }
+    public String getMaterialName() { return materialName; }
+    public Integer getGrade() { return grade; }
+    public String getLocation() { return location; }
+}
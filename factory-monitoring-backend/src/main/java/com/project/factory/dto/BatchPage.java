@@ -0,0 +1,32 @@
+package com.project.factory.dto;
+
+import java.util.List;
+
+public class BatchPage {
+
+    private final List<BatchView> items;
+    private final Long nextCursor;     // id to pass as afterId; null on last page
+    private final int size;
+
+    public BatchPage(List<BatchView> items, Long nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<BatchView> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
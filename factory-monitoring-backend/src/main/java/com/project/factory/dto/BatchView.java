@@ -0,0 +1,154 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.factory.model.BatchStatus;
+import com.project.factory.model.MachineStatus;
+import com.project.factory.model.Role;
+
+/* =====================================================
+   BATCH READ MODEL
+   Same JSON shape the UI already reads from the Batch
+   entity (machine.name, operator.username,
+   materials[].material.id ...) but built from JPQL
+   constructor projections: no lazy proxies, and no
+   operator password on the wire.
+   ===================================================== */
+public class BatchView {
+
+    private final Long id;
+    private final String productName;
+    private final Integer finalProductQty;
+    private final BatchStatus status;
+    private final LocalDateTime estimatedStartTime;
+    private final LocalDateTime estimatedEndTime;
+    private final LocalDateTime actualStartTime;
+    private final LocalDateTime actualEndTime;
+    private final String failureReason;
+    private final LocalDateTime createdAt;
+    private final MachineRef machine;
+    private final OperatorRef operator;
+    private final List<MaterialLine> materials = new ArrayList<>();
+
+    public BatchView(
+            Long id,
+            String productName,
+            Integer finalProductQty,
+            BatchStatus status,
+            LocalDateTime estimatedStartTime,
+            LocalDateTime estimatedEndTime,
+            LocalDateTime actualStartTime,
+            LocalDateTime actualEndTime,
+            String failureReason,
+            LocalDateTime createdAt,
+            Long machineId,
+            String machineName,
+            MachineStatus machineStatus,
+            Long operatorId,
+            String operatorName,
+            Role operatorRole
+    ) {
+        this.id = id;
+        this.productName = productName;
+        this.finalProductQty = finalProductQty;
+        this.status = status;
+        this.estimatedStartTime = estimatedStartTime;
+        this.estimatedEndTime = estimatedEndTime;
+        this.actualStartTime = actualStartTime;
+        this.actualEndTime = actualEndTime;
+        this.failureReason = failureReason;
+        this.createdAt = createdAt;
+        this.machine = new MachineRef(machineId, machineName, machineStatus);
+        this.operator = new OperatorRef(operatorId, operatorName, operatorRole);
+    }
+
+    public Long getId() { return id; }
+    public String getProductName() { return productName; }
+    public Integer getFinalProductQty() { return finalProductQty; }
+    public BatchStatus getStatus() { return status; }
+    public LocalDateTime getEstimatedStartTime() { return estimatedStartTime; }
+    public LocalDateTime getEstimatedEndTime() { return estimatedEndTime; }
+    public LocalDateTime getActualStartTime() { return actualStartTime; }
+    public LocalDateTime getActualEndTime() { return actualEndTime; }
+    public String getFailureReason() { return failureReason; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public MachineRef getMachine() { return machine; }
+    public OperatorRef getOperator() { return operator; }
+    public List<MaterialLine> getMaterials() { return materials; }
+
+    /* ================= NESTED REFS ================= */
+
+    public static class MachineRef {
+        private final Long id;
+        private final String name;
+        private final MachineStatus status;
+
+        MachineRef(Long id, String name, MachineStatus status) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public MachineStatus getStatus() { return status; }
+    }
+
+    public static class OperatorRef {
+        private final Long id;
+        private final String username;
+        private final Role role;
+
+        OperatorRef(Long id, String username, Role role) {
+            this.id = id;
+            this.username = username;
+            this.role = role;
+        }
+
+        public Long getId() { return id; }
+        public String getUsername() { return username; }
+        public Role getRole() { return role; }
+    }
+
+    public static class MaterialLine {
+        private final Long id;
+        private final Integer quantity;
+        private final MaterialRef material;
+
+        public MaterialLine(BatchMaterialRow row) {
+            this.id = row.getId();
+            this.quantity = row.getQuantity();
+            this.material = new MaterialRef(
+                    row.getMaterialId(),
+                    row.getMaterialName(),
+                    row.getGrade(),
+                    row.getLocation()
+            );
+        }
+
+        public Long getId() { return id; }
+        public Integer getQuantity() { return quantity; }
+        public MaterialRef getMaterial() { return material; }
+    }
+
+    public static class MaterialRef {
+        private final Long id;
+        private final String name;
+        private final Integer grade;
+        private final String location;
+
+        MaterialRef(Long id, String name, Integer grade, String location) {
+            this.id = id;
+            this.name = name;
+            this.grade = grade;
+            this.location = location;
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public Integer getGrade() { return grade; }
+        public String getLocation() { return location; }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.factory.dto;
+
+public class BulkBatchResult {
+
+    private final int index;          // position in the request array
+    private final boolean created;
+    private final Long batchId;
+    private final String error;
+
+    private BulkBatchResult(int index, boolean created, Long batchId, String error) {
+        this.index = index;
+        this.created = created;
+        this.batchId = batchId;
+        this.error = error;
+    }
+
+    public static BulkBatchResult created(int index, Long batchId) {
+        return new BulkBatchResult(index, true, batchId, null);
+    }
+
+    public static BulkBatchResult rejected(int index, String error) {
+        return new BulkBatchResult(index, false, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+    public Long getBatchId() {
+        return batchId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
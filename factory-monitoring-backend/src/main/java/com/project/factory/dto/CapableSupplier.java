@@ -0,0 +1,15 @@
+package com.project.factory.dto;
+
+public class CapableSupplier {
+
+    private final Long supplierId;
+    private final String supplierName;
+
+    public CapableSupplier(Long supplierId, String supplierName) {
+        this.supplierId = supplierId;
+        this.supplierName = supplierName;
+    }
+
+    public Long getSupplierId() { return supplierId; }
+    public String getSupplierName() { return supplierName; }
+}
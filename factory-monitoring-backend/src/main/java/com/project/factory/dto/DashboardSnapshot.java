@@ -0,0 +1,64 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class DashboardSnapshot {
+
+    /* ================= MACHINES ================= */
+    private long totalMachines;
+    private Map<String, Long> machinesByStatus;
+    private long maintenanceDueMachines;
+
+    /* ================= BATCHES ================= */
+    private Map<String, Long> batchesByStatus;
+
+    /* ================= ALERTS ================= */
+    private long activeAlerts;
+    private Map<String, Long> activeAlertsBySeverity;
+
+    /* ================= INVENTORY ================= */
+    private long totalMaterials;
+    private List<MaterialStockLevel> lowStockMaterials;
+    private long totalSuppliers;
+
+    /* ================= TODAY'S OUTPUT ================= */
+    private long todayProducedQty;
+    private long todayCompletedBatches;
+    private long todayFailedBatches;
+
+    private LocalDateTime generatedAt;
+
+    /* ================= GETTERS ================= */
+
+    public long getTotalMachines() { return totalMachines; }
+    public Map<String, Long> getMachinesByStatus() { return machinesByStatus; }
+    public long getMaintenanceDueMachines() { return maintenanceDueMachines; }
+    public Map<String, Long> getBatchesByStatus() { return batchesByStatus; }
+    public long getActiveAlerts() { return activeAlerts; }
+    public Map<String, Long> getActiveAlertsBySeverity() { return activeAlertsBySeverity; }
+    public long getTotalMaterials() { return totalMaterials; }
+    public List<MaterialStockLevel> getLowStockMaterials() { return lowStockMaterials; }
+    public long getTotalSuppliers() { return totalSuppliers; }
+    public long getTodayProducedQty() { return todayProducedQty; }
+    public long getTodayCompletedBatches() { return todayCompletedBatches; }
+    public long getTodayFailedBatches() { return todayFailedBatches; }
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+
+    /* ================= SETTERS ================= */
+
+    public void setTotalMachines(long totalMachines) { this.totalMachines = totalMachines; }
+    public void setMachinesByStatus(Map<String, Long> m) { this.machinesByStatus = m; }
+    public void setMaintenanceDueMachines(long n) { this.maintenanceDueMachines = n; }
+    public void setBatchesByStatus(Map<String, Long> m) { this.batchesByStatus = m; }
+    public void setActiveAlerts(long activeAlerts) { this.activeAlerts = activeAlerts; }
+    public void setActiveAlertsBySeverity(Map<String, Long> m) { this.activeAlertsBySeverity = m; }
+    public void setTotalMaterials(long totalMaterials) { this.totalMaterials = totalMaterials; }
+    public void setLowStockMaterials(List<MaterialStockLevel> m) { this.lowStockMaterials = m; }
+    public void setTotalSuppliers(long totalSuppliers) { this.totalSuppliers = totalSuppliers; }
+    public void setTodayProducedQty(long qty) { this.todayProducedQty = qty; }
+    public void setTodayCompletedBatches(long n) { this.todayCompletedBatches = n; }
+    public void setTodayFailedBatches(long n) { this.todayFailedBatches = n; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
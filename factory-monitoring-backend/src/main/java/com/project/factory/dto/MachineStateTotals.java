@@ -0,0 +1,41 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.project.factory.model.MachineStatus;
+
+/* Seconds spent in each status by one machine within [from, to) */
+public class MachineStateTotals {
+
+    private final Long machineId;
+    private final String machineName;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Map<MachineStatus, Long> seconds = new EnumMap<>(MachineStatus.class);
+
+    public MachineStateTotals(
+            Long machineId,
+            String machineName,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.from = from;
+        this.to = to;
+    }
+
+    public void add(MachineStatus status, long secs) {
+        if (secs > 0) {
+            seconds.merge(status, secs, Long::sum);
+        }
+    }
+
+    public Long getMachineId() { return machineId; }
+    public String getMachineName() { return machineName; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public Map<MachineStatus, Long> getSeconds() { return seconds; }
+}
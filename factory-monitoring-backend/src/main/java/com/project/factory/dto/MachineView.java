@@ -0,0 +1,85 @@
+package com.project.factory.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.project.factory.model.Machine;
+import com.project.factory.model.MachineStatus;
+
+/* =====================================================
+   IMMUTABLE MACHINE SNAPSHOT (REGISTRY ENTRY)
+   Same JSON shape as the Machine entity. Safe to share
+   between request threads: nothing can mutate it.
+   ===================================================== */
+public class MachineView {
+
+    private final Long id;
+    private final String name;
+    private final LocalDate manufactureDate;
+    private final LocalDate lastMaintenanceDate;
+    private final LocalDate nextMaintenanceDue;
+    private final MachineStatus status;
+    private final LocalDateTime statusChangedAt;
+    private final long version;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public MachineView(
+            Long id,
+            String name,
+            LocalDate manufactureDate,
+            LocalDate lastMaintenanceDate,
+            LocalDate nextMaintenanceDue,
+            MachineStatus status,
+            LocalDateTime statusChangedAt,
+            long version,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this.id = id;
+        this.name = name;
+        this.manufactureDate = manufactureDate;
+        this.lastMaintenanceDate = lastMaintenanceDate;
+        this.nextMaintenanceDue = nextMaintenanceDue;
+        this.status = status;
+        this.statusChangedAt = statusChangedAt;
+        this.version = version;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static MachineView of(Machine m) {
+        return new MachineView(
+                m.getId(),
+                m.getName(),
+                m.getManufactureDate(),
+                m.getLastMaintenanceDate(),
+                m.getNextMaintenanceDue(),
+                m.getStatus(),
+                // rows created before the column existed: best known bound
+                m.getStatusChangedAt() != null ? m.getStatusChangedAt() : m.getUpdatedAt(),
+                m.getVersion(),
+                m.getCreatedAt(),
+                m.getUpdatedAt()
+        );
+    }
+
+    // State after a conditional status update bumped the version
+    public MachineView withStatus(MachineStatus newStatus, LocalDateTime at) {
+        return new MachineView(
+                id, name, manufactureDate, lastMaintenanceDate,
+                nextMaintenanceDue, newStatus, at, version + 1, createdAt, at
+        );
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public LocalDate getManufactureDate() { return manufactureDate; }
+    public LocalDate getLastMaintenanceDate() { return lastMaintenanceDate; }
+    public LocalDate getNextMaintenanceDue() { return nextMaintenanceDue; }
+    public MachineStatus getStatus() { return status; }
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+    public long getVersion() { return version; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
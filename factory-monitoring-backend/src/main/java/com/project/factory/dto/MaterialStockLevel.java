@@ -0,0 +1,47 @@
+package com.project.factory.dto;
+
+/* Immutable stock level of one material, as held by LowStockMonitor */
+public class MaterialStockLevel {
+
+    private final Long materialId;
+    private final String name;
+    private final Integer grade;
+    private final String location;
+    private final long stock;
+    private final int reorderThreshold;
+
+    public MaterialStockLevel(
+            Long materialId,
+            String name,
+            Integer grade,
+            String location,
+            long stock,
+            int reorderThreshold
+    ) {
+        this.materialId = materialId;
+        this.name = name;
+        this.grade = grade;
+        this.location = location;
+        this.stock = stock;
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    public MaterialStockLevel withStock(long stock) {
+        return new MaterialStockLevel(materialId, name, grade, location, stock, reorderThreshold);
+    }
+
+    public MaterialStockLevel withReorderThreshold(int reorderThreshold) {
+        return new MaterialStockLevel(materialId, name, grade, location, stock, reorderThreshold);
+    }
+
+    public boolean isLow() {
+        return stock < reorderThreshold;
+    }
+
+    public Long getMaterialId() { return materialId; }
+    public String getName() { return name; }
+    public Integer getGrade() { return grade; }
+    public String getLocation() { return location; }
+    public long getStock() { return stock; }
+    public int getReorderThreshold() { return reorderThreshold; }
+}
@@ -0,0 +1,127 @@
+package com.project.factory.dto;
+
+import java.time.LocalDate;
+
+import com.project.factory.model.Shift;
+
+/* =====================================================
+   OEE FOR ONE GROUP (bucket, day, shift, machine, total)
+
+   Built from additive counters:
+     availability = productive run time / total run time
+                    (time lost to FAILED batches)
+     performance  = estimated / actual run time of
+                    COMPLETED batches, capped at 1
+     quality      = good qty / total qty
+                    (a FAILED batch scraps its qty)
+     oee          = availability x performance x quality
+   A ratio is null when its denominator is zero.
+   ===================================================== */
+public class OeeFigures {
+
+    private final Long machineId;
+    private final LocalDate day;
+    private final Shift shift;
+
+    private long runSeconds;
+    private long productiveSeconds;
+    private long idealSeconds;
+    private long goodQty;
+    private long totalQty;
+    private long batchCount;
+
+    // One stored bucket
+    public OeeFigures(
+            Long machineId,
+            LocalDate day,
+            Shift shift,
+            long runSeconds,
+            long productiveSeconds,
+            long idealSeconds,
+            long goodQty,
+            long totalQty,
+            long batchCount
+    ) {
+        this.machineId = machineId;
+        this.day = day;
+        this.shift = shift;
+        this.runSeconds = runSeconds;
+        this.productiveSeconds = productiveSeconds;
+        this.idealSeconds = idealSeconds;
+        this.goodQty = goodQty;
+        this.totalQty = totalQty;
+        this.batchCount = batchCount;
+    }
+
+    // Summed per machine (JPQL sum() yields Long)
+    public OeeFigures(
+            Long machineId,
+            Long runSeconds,
+            Long productiveSeconds,
+            Long idealSeconds,
+            Long goodQty,
+            Long totalQty,
+            Long batchCount
+    ) {
+        this(machineId, null, null,
+                nz(runSeconds), nz(productiveSeconds), nz(idealSeconds),
+                nz(goodQty), nz(totalQty), nz(batchCount));
+    }
+
+    // Empty accumulator for a grouping
+    public static OeeFigures empty(Long machineId, LocalDate day, Shift shift) {
+        return new OeeFigures(machineId, day, shift, 0, 0, 0, 0, 0, 0);
+    }
+
+    public OeeFigures add(OeeFigures o) {
+        runSeconds += o.runSeconds;
+        productiveSeconds += o.productiveSeconds;
+        idealSeconds += o.idealSeconds;
+        goodQty += o.goodQty;
+        totalQty += o.totalQty;
+        batchCount += o.batchCount;
+        return this;
+    }
+
+    /* ================= RATIOS ================= */
+
+    public Double getAvailability() {
+        return ratio(productiveSeconds, runSeconds);
+    }
+
+    public Double getPerformance() {
+        Double p = ratio(idealSeconds, productiveSeconds);
+        return p == null ? null : Math.min(1.0, p);
+    }
+
+    public Double getQuality() {
+        return ratio(goodQty, totalQty);
+    }
+
+    public Double getOee() {
+        Double a = getAvailability();
+        Double p = getPerformance();
+        Double q = getQuality();
+        return a == null || p == null || q == null ? null : a * p * q;
+    }
+
+    /* ================= GETTERS ================= */
+
+    public Long getMachineId() { return machineId; }
+    public LocalDate getDay() { return day; }
+    public Shift getShift() { return shift; }
+    public long getRunSeconds() { return runSeconds; }
+    public long getProductiveSeconds() { return productiveSeconds; }
+    public long getIdealSeconds() { return idealSeconds; }
+    public long getGoodQty() { return goodQty; }
+    public long getTotalQty() { return totalQty; }
+    public long getBatchCount() { return batchCount; }
+
+    private static Double ratio(long num, long den) {
+        return den == 0 ? null : (double) num / den;
+    }
+
+    private static long nz(Long v) {
+        return v != null ? v : 0;
+    }
+}
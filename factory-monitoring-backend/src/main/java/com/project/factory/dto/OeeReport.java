@@ -0,0 +1,41 @@
+package com.project.factory.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class OeeReport {
+
+    private final Long machineId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final OeeFigures total;
+    private final List<OeeFigures> byShift;     // MORNING / EVENING / NIGHT over the range
+    private final List<OeeFigures> byDay;
+    private final List<OeeFigures> buckets;     // per (day, shift)
+
+    public OeeReport(
+            Long machineId,
+            LocalDate from,
+            LocalDate to,
+            OeeFigures total,
+            List<OeeFigures> byShift,
+            List<OeeFigures> byDay,
+            List<OeeFigures> buckets
+    ) {
+        this.machineId = machineId;
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.byShift = byShift;
+        this.byDay = byDay;
+        this.buckets = buckets;
+    }
+
+    public Long getMachineId() { return machineId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public OeeFigures getTotal() { return total; }
+    public List<OeeFigures> getByShift() { return byShift; }
+    public List<OeeFigures> getByDay() { return byDay; }
+    public List<OeeFigures> getBuckets() { return buckets; }
+}
@@ -0,0 +1,91 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+
+/* =====================================================
+   REPORT FILTER (ALL FIELDS OPTIONAL)
+   ===================================================== */
+public class ProductionLogFilter {
+
+    private Long machineId;
+    private Long operatorId;
+    private Shift shift;
+    private ProductionStatus status;
+    private LocalDateTime from;        // inclusive
+    private LocalDateTime to;          // exclusive
+
+    /* ===== keyset position: rows strictly after (afterTime, afterId) ===== */
+    private LocalDateTime afterTime;
+    private Long afterId;
+
+    /* ================= GETTERS ================= */
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public Long getOperatorId() {
+        return operatorId;
+    }
+
+    public Shift getShift() {
+        return shift;
+    }
+
+    public ProductionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public LocalDateTime getAfterTime() {
+        return afterTime;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    /* ================= SETTERS ================= */
+
+    public void setMachineId(Long machineId) {
+        this.machineId = machineId;
+    }
+
+    public void setOperatorId(Long operatorId) {
+        this.operatorId = operatorId;
+    }
+
+    public void setShift(Shift shift) {
+        this.shift = shift;
+    }
+
+    public void setStatus(ProductionStatus status) {
+        this.status = status;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public void setAfterTime(LocalDateTime afterTime) {
+        this.afterTime = afterTime;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+}
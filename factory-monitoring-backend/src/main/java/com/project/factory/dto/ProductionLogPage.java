@@ -0,0 +1,36 @@
+package com.project.factory.dto;
+
+import java.util.List;
+
+public class ProductionLogPage {
+
+    private final List<ProductionLogRow> items;
+    private final String nextCursor;   // null when this is the last page
+    private final int size;
+
+    public ProductionLogPage(
+            List<ProductionLogRow> items,
+            String nextCursor,
+            int size
+    ) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    public List<ProductionLogRow> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
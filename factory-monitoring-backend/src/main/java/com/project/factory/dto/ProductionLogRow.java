@@ -0,0 +1,105 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+
+/* =====================================================
+   FLAT PRODUCTION LOG ROW (REPORT READ MODEL)
+   Built directly by JPQL constructor expressions, so no
+   Batch / Machine / User proxies are ever materialised.
+   ===================================================== */
+public class ProductionLogRow {
+
+    private final Long id;
+    private final Long batchId;
+    private final String productName;
+    private final Integer producedQty;
+    private final Long machineId;
+    private final String machineName;
+    private final Long operatorId;
+    private final String operatorName;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Shift shift;
+    private final ProductionStatus status;
+
+    public ProductionLogRow(
+            Long id,
+            Long batchId,
+            String productName,
+            Integer producedQty,
+            Long machineId,
+            String machineName,
+            Long operatorId,
+            String operatorName,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            Shift shift,
+            ProductionStatus status
+    ) {
+        this.id = id;
+        this.batchId = batchId;
+        this.productName = productName;
+        this.producedQty = producedQty;
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.operatorId = operatorId;
+        this.operatorName = operatorName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.shift = shift;
+        this.status = status;
+    }
+
+    /* ================= GETTERS ================= */
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBatchId() {
+        return batchId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getProducedQty() {
+        return producedQty;
+    }
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public Long getOperatorId() {
+        return operatorId;
+    }
+
+    public String getOperatorName() {
+        return operatorName;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public Shift getShift() {
+        return shift;
+    }
+
+    public ProductionStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.factory.dto;
+
+import java.time.LocalDate;
+
+import com.project.factory.model.Shift;
+
+public class ProductionSummaryRow {
+
+    private final LocalDate day;
+    private final Shift shift;
+    private final Long machineId;
+    private final long completedCount;
+    private final long failedCount;
+    private final long totalQty;
+    private final long totalDurationSeconds;
+
+    public ProductionSummaryRow(
+            LocalDate day,
+            Shift shift,
+            Long machineId,
+            Long completedCount,
+            Long failedCount,
+            Long totalQty,
+            Long totalDurationSeconds
+    ) {
+        this.day = day;
+        this.shift = shift;
+        this.machineId = machineId;
+        this.completedCount = completedCount != null ? completedCount : 0;
+        this.failedCount = failedCount != null ? failedCount : 0;
+        this.totalQty = totalQty != null ? totalQty : 0;
+        this.totalDurationSeconds =
+                totalDurationSeconds != null ? totalDurationSeconds : 0;
+    }
+
+    /* ================= GETTERS ================= */
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Shift getShift() {
+        return shift;
+    }
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getTotalQty() {
+        return totalQty;
+    }
+
+    public long getTotalDurationSeconds() {
+        return totalDurationSeconds;
+    }
+}
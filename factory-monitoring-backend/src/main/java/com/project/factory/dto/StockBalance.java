@@ -0,0 +1,33 @@
+package com.project.factory.dto;
+
+import java.time.LocalDateTime;
+
+/* Stock of one material at "at": snapshot balance as of snapshotAsOf + movementsApplied deltas */
+public class StockBalance {
+
+    private final Long materialId;
+    private final LocalDateTime at;
+    private final long balance;
+    private final LocalDateTime snapshotAsOf;
+    private final long movementsApplied;
+
+    public StockBalance(
+            Long materialId,
+            LocalDateTime at,
+            long balance,
+            LocalDateTime snapshotAsOf,
+            long movementsApplied
+    ) {
+        this.materialId = materialId;
+        this.at = at;
+        this.balance = balance;
+        this.snapshotAsOf = snapshotAsOf;
+        this.movementsApplied = movementsApplied;
+    }
+
+    public Long getMaterialId() { return materialId; }
+    public LocalDateTime getAt() { return at; }
+    public long getBalance() { return balance; }
+    public LocalDateTime getSnapshotAsOf() { return snapshotAsOf; }
+    public long getMovementsApplied() { return movementsApplied; }
+}
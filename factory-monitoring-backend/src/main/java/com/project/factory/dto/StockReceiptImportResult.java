@@ -0,0 +1,58 @@
+package com.project.factory.dto;
+
+import java.util.List;
+
+public class StockReceiptImportResult {
+
+    private final long lines;
+    private final long accepted;       // committed
+    private final long rejected;
+    private final long failed;         // valid, but their chunk failed to write
+    private final long failedChunks;
+    private final long materialUpserts;
+    private final long stockLogs;
+    private final List<LineError> errors;      // first MAX_ERRORS only
+
+    public StockReceiptImportResult(
+            long lines,
+            long accepted,
+            long rejected,
+            long failed,
+            long failedChunks,
+            long materialUpserts,
+            long stockLogs,
+            List<LineError> errors
+    ) {
+        this.lines = lines;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.failedChunks = failedChunks;
+        this.materialUpserts = materialUpserts;
+        this.stockLogs = stockLogs;
+        this.errors = errors;
+    }
+
+    public long getLines() { return lines; }
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public long getFailed() { return failed; }
+    public long getFailedChunks() { return failedChunks; }
+    public long getMaterialUpserts() { return materialUpserts; }
+    public long getStockLogs() { return stockLogs; }
+    public List<LineError> getErrors() { return errors; }
+
+    public static class LineError {
+
+        private final long line;      // 1-based, header included
+        private final String error;
+
+        public LineError(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() { return line; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.factory.dto;
+
+/* One delivery line of a bulk supplier stock import (CSV row / NDJSON object) */
+public class StockReceiptLine {
+
+    private Long supplierId;
+    private String materialName;
+    private Integer grade;
+    private String location;
+    private Integer quantity;
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public String getMaterialName() { return materialName; }
+    public void setMaterialName(String materialName) { this.materialName = materialName; }
+
+    public Integer getGrade() { return grade; }
+    public void setGrade(Integer grade) { this.grade = grade; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
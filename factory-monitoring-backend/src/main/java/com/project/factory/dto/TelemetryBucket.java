@@ -0,0 +1,48 @@
+package com.project.factory.dto;
+
+import java.time.Instant;
+
+public class TelemetryBucket {
+
+    private final Instant start;
+    private final long samples;
+    private final Double minTemperature;
+    private final Double maxTemperature;
+    private final Double avgTemperature;
+    private final Double minSpindleLoad;
+    private final Double maxSpindleLoad;
+    private final Double avgSpindleLoad;
+    private final Long cycles;
+
+    public TelemetryBucket(
+            Instant start,
+            long samples,
+            Double minTemperature,
+            Double maxTemperature,
+            Double avgTemperature,
+            Double minSpindleLoad,
+            Double maxSpindleLoad,
+            Double avgSpindleLoad,
+            Long cycles
+    ) {
+        this.start = start;
+        this.samples = samples;
+        this.minTemperature = minTemperature;
+        this.maxTemperature = maxTemperature;
+        this.avgTemperature = avgTemperature;
+        this.minSpindleLoad = minSpindleLoad;
+        this.maxSpindleLoad = maxSpindleLoad;
+        this.avgSpindleLoad = avgSpindleLoad;
+        this.cycles = cycles;
+    }
+
+    public Instant getStart() { return start; }
+    public long getSamples() { return samples; }
+    public Double getMinTemperature() { return minTemperature; }
+    public Double getMaxTemperature() { return maxTemperature; }
+    public Double getAvgTemperature() { return avgTemperature; }
+    public Double getMinSpindleLoad() { return minSpindleLoad; }
+    public Double getMaxSpindleLoad() { return maxSpindleLoad; }
+    public Double getAvgSpindleLoad() { return avgSpindleLoad; }
+    public Long getCycles() { return cycles; }
+}
@@ -0,0 +1,23 @@
+package com.project.factory.dto;
+
+/* =====================================================
+   accepted: buffered, written on the next flush
+   rejected: missing or unknown machineId
+   dropped:  buffer saturated (database behind), retryable
+   ===================================================== */
+public class TelemetryIngestResult {
+
+    private final int accepted;
+    private final int rejected;
+    private final int dropped;
+
+    public TelemetryIngestResult(int accepted, int rejected, int dropped) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.dropped = dropped;
+    }
+
+    public int getAccepted() { return accepted; }
+    public int getRejected() { return rejected; }
+    public int getDropped() { return dropped; }
+}
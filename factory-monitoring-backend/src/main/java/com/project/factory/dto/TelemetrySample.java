@@ -0,0 +1,26 @@
+package com.project.factory.dto;
+
+/* One reading of a telemetry batch: ts is epoch ms (absent = now), measurements optional */
+public class TelemetrySample {
+
+    private Long machineId;
+    private Long ts;
+    private Long cycleCount;
+    private Double temperature;
+    private Double spindleLoad;
+
+    public Long getMachineId() { return machineId; }
+    public void setMachineId(Long machineId) { this.machineId = machineId; }
+
+    public Long getTs() { return ts; }
+    public void setTs(Long ts) { this.ts = ts; }
+
+    public Long getCycleCount() { return cycleCount; }
+    public void setCycleCount(Long cycleCount) { this.cycleCount = cycleCount; }
+
+    public Double getTemperature() { return temperature; }
+    public void setTemperature(Double temperature) { this.temperature = temperature; }
+
+    public Double getSpindleLoad() { return spindleLoad; }
+    public void setSpindleLoad(Double spindleLoad) { this.spindleLoad = spindleLoad; }
+}
@@ -0,0 +1,50 @@
+package com.project.factory.dto;
+
+public class TelemetryStats {
+
+    private final long accepted;
+    private final long rejected;
+    private final long dropped;
+    private final long written;
+    private final long failed;
+    private final int pendingChunks;
+    private final int allocatedChunks;
+    private final long flushes;
+    private final double lastFlushMillis;
+    private final double maxFlushMillis;
+
+    public TelemetryStats(
+            long accepted,
+            long rejected,
+            long dropped,
+            long written,
+            long failed,
+            int pendingChunks,
+            int allocatedChunks,
+            long flushes,
+            double lastFlushMillis,
+            double maxFlushMillis
+    ) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.dropped = dropped;
+        this.written = written;
+        this.failed = failed;
+        this.pendingChunks = pendingChunks;
+        this.allocatedChunks = allocatedChunks;
+        this.flushes = flushes;
+        this.lastFlushMillis = lastFlushMillis;
+        this.maxFlushMillis = maxFlushMillis;
+    }
+
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public long getDropped() { return dropped; }
+    public long getWritten() { return written; }
+    public long getFailed() { return failed; }
+    public int getPendingChunks() { return pendingChunks; }
+    public int getAllocatedChunks() { return allocatedChunks; }
+    public long getFlushes() { return flushes; }
+    public double getLastFlushMillis() { return lastFlushMillis; }
+    public double getMaxFlushMillis() { return maxFlushMillis; }
+}
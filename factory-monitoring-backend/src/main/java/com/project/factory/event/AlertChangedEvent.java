@@ -0,0 +1,27 @@
+package com.project.factory.event;
+
+import com.project.factory.model.Alert;
+
+/* =====================================================
+   PUBLISHED BY AlertService ON CREATE / RESOLVE / CLEAR
+   ===================================================== */
+public class AlertChangedEvent {
+
+    public enum Change { CREATED, RESOLVED, CLEARED }
+
+    private final Change change;
+    private final Alert alert;      // null for CLEARED
+
+    public AlertChangedEvent(Change change, Alert alert) {
+        this.change = change;
+        this.alert = alert;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    public Alert getAlert() {
+        return alert;
+    }
+}
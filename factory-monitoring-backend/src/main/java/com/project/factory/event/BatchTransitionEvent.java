@@ -0,0 +1,65 @@
+package com.project.factory.event;
+
+import java.time.LocalDateTime;
+
+import com.project.factory.model.BatchStatus;
+
+/* =====================================================
+   PUBLISHED BY BatchService ON EVERY STATUS TRANSITION
+   ===================================================== */
+public class BatchTransitionEvent {
+
+    private final Long batchId;
+    private final Long machineId;
+    private final String productName;
+    private final BatchStatus previousStatus;
+    private final BatchStatus status;
+    private final LocalDateTime estimatedEndTime;
+    private final LocalDateTime changedAt;
+
+    public BatchTransitionEvent(
+            Long batchId,
+            Long machineId,
+            String productName,
+            BatchStatus previousStatus,
+            BatchStatus status,
+            LocalDateTime estimatedEndTime,
+            LocalDateTime changedAt
+    ) {
+        this.batchId = batchId;
+        this.machineId = machineId;
+        this.productName = productName;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.estimatedEndTime = estimatedEndTime;
+        this.changedAt = changedAt;
+    }
+
+    public Long getBatchId() {
+        return batchId;
+    }
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public BatchStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public BatchStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getEstimatedEndTime() {
+        return estimatedEndTime;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.factory.event;
+
+import java.time.LocalDateTime;
+
+import com.project.factory.model.MachineStatus;
+
+/* =====================================================
+   PUBLISHED BY MachineService.updateStatus
+   ===================================================== */
+public class MachineStatusChangedEvent {
+
+    private final Long machineId;
+    private final String machineName;
+    private final MachineStatus previousStatus;
+    private final MachineStatus status;
+    private final LocalDateTime changedAt;
+
+    public MachineStatusChangedEvent(
+            Long machineId,
+            String machineName,
+            MachineStatus previousStatus,
+            MachineStatus status,
+            LocalDateTime changedAt
+    ) {
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    public MachineStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public MachineStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
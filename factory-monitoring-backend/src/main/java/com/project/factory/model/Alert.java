@@ -4,29 +4,47 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alerts")
+@Table(
+    name = "alerts",
+    indexes = {
+        // open-alert lookups for deduplication (see AlertDeduplicator)
+        @Index(name = "idx_alert_type_machine_open", columnList = "type, machine_id, resolved"),
+        @Index(name = "idx_alert_type_material_open", columnList = "type, material_id, resolved")
+    }
+)
 public class Alert {
 
+    // Pooled table ids so scanner alert bursts insert as one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "alert_id_gen")
+    @TableGenerator(
+        name = "alert_id_gen",
+        table = "id_generators",
+        pkColumnName = "gen_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "alerts",
+        allocationSize = 50
+    )
     private Long id;
 
     /* ================= ALERT INFO ================= */
 
     @Column(nullable = false)
-    private String type;          // MAINTENANCE, MACHINE_FAILURE
+    private String type;          // MAINTENANCE, MACHINE_FAILURE, LOW_STOCK
 
     @Column(nullable = false)
     private String severity;      // HIGH, MEDIUM, LOW
 
-    /* ================= MACHINE INFO ================= */
+    /* ================= SUBJECT: MACHINE OR MATERIAL ================= */
 
-    @Column(name = "machine_id", nullable = false)
-    private Long machineId;       // ✅ REQUIRED (used for backend logic)
+    @Column(name = "machine_id")
+    private Long machineId;       // null for material (LOW_STOCK) alerts
 
-    @Column(nullable = false)
     private String machine;       // Machine name (for UI display)
 
+    @Column(name = "material_id")
+    private Long materialId;      // set for material alerts only
+
     @Column(nullable = false)
     private String message;
 
@@ -38,9 +56,17 @@ public class Alert {
 
     /* ================= LIFECYCLE ================= */
 
+    // Kept if already set: alerts are written asynchronously, after the event
     @PrePersist
     public void onCreate() {
-        this.time = LocalDateTime.now();
+        if (this.time == null) {
+            this.time = LocalDateTime.now();
+        }
+    }
+
+    // Dedup subject: the machine, or the material for stock alerts
+    public Long subjectId() {
+        return machineId != null ? machineId : materialId;
     }
 
     /* ================= GETTERS ================= */
@@ -65,6 +91,10 @@ public class Alert {
         return machine;
     }
 
+    public Long getMaterialId() {
+        return materialId;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -99,10 +129,18 @@ public class Alert {
         this.machine = machine;
     }
 
+    public void setMaterialId(Long materialId) {
+        this.materialId = materialId;
+    }
+
     public void setMessage(String message) {
         this.message = message;
     }
 
+    public void setTime(LocalDateTime time) {
+        this.time = time;
+    }
+
     public void setResolved(boolean resolved) {
         this.resolved = resolved;
     }
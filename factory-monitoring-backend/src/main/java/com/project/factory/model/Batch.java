@@ -6,11 +6,27 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
-@Table(name = "batches")
+@Table(
+    name = "batches",
+    indexes = {
+        // status filter + keyset paging of the batch read model
+        @Index(name = "idx_batch_status", columnList = "status, id"),
+        @Index(name = "idx_batch_machine_status", columnList = "machine_id, status, id")
+    }
+)
 public class Batch {
 
+    // Pooled table ids (not IDENTITY) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "batch_id_gen")
+    @TableGenerator(
+        name = "batch_id_gen",
+        table = "id_generators",
+        pkColumnName = "gen_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "batches",
+        allocationSize = 50
+    )
     private Long id;
 
     @Column(name = "product_name", nullable = false)
@@ -60,6 +76,11 @@ public class Batch {
     @JsonManagedReference
     private List<BatchMaterial> materials;
 
+    /* ================= CONCURRENCY ================= */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     /* ================= AUDIT ================= */
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -81,6 +102,7 @@ public class Batch {
     /* ================= GETTERS & SETTERS ================= */
 
     public Long getId() { return id; }
+    public long getVersion() { return version; }
     public String getProductName() { return productName; }
     public void setProductName(String productName) { this.productName = productName; }
 
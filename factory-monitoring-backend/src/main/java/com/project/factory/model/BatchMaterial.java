@@ -12,8 +12,17 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 )
 public class BatchMaterial {
 
+    // Pooled table ids (not IDENTITY) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "batch_material_id_gen")
+    @TableGenerator(
+        name = "batch_material_id_gen",
+        table = "id_generators",
+        pkColumnName = "gen_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "batch_materials",
+        allocationSize = 50
+    )
     private Long id;
 
     /* ================= BATCH ================= */
@@ -0,0 +1,45 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/* =====================================================
+   PER-JOB PROGRESS MARKER
+   Scheduled jobs store how far they have processed, so
+   a restart resumes from there instead of rescanning.
+   ===================================================== */
+@Entity
+@Table(name = "job_watermarks")
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    // Last day fully processed (inclusive)
+    @Column(name = "processed_through", nullable = false)
+    private LocalDate processedThrough;
+
+    @Column(name = "last_run_at", nullable = false)
+    private LocalDateTime lastRunAt;
+
+    protected JobWatermark() {
+    }
+
+    public JobWatermark(String jobName) {
+        this.jobName = jobName;
+    }
+
+    /* ================= GETTERS & SETTERS ================= */
+
+    public String getJobName() { return jobName; }
+
+    public LocalDate getProcessedThrough() { return processedThrough; }
+    public void setProcessedThrough(LocalDate processedThrough) {
+        this.processedThrough = processedThrough;
+    }
+
+    public LocalDateTime getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(LocalDateTime lastRunAt) { this.lastRunAt = lastRunAt; }
+}
@@ -6,7 +6,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "machines")
+@Table(
+    name = "machines",
+    indexes = {
+        // maintenance scanner: range scan over newly due machines
+        @Index(name = "idx_machine_next_maintenance", columnList = "next_maintenance_due")
+    }
+)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Machine {
 
@@ -30,6 +36,14 @@ public class Machine {
     @Column(nullable = false)
     private MachineStatus status;
 
+    // Start of the current status interval (see MachineStatusInterval)
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -42,6 +56,7 @@ public class Machine {
     public void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
+        statusChangedAt = createdAt;
     }
 
     @PreUpdate
@@ -54,6 +69,8 @@ public class Machine {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -75,6 +92,8 @@ public class Machine {
     public MachineStatus getStatus() { return status; }
     public void setStatus(MachineStatus status) { this.status = status; }
 
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -0,0 +1,64 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/* =====================================================
+   CLOSED MACHINE STATUS INTERVAL [from, to)
+   Appended once per transition; never updated. The
+   still-open interval lives on Machine.statusChangedAt.
+   No foreign keys and time-leading indexes, so the table
+   can later be RANGE-partitioned on from_time.
+   ===================================================== */
+@Entity
+@Table(
+    name = "machine_status_intervals",
+    indexes = {
+        // covering: per-machine window reads never touch the rows
+        @Index(name = "idx_msi_machine_window",
+               columnList = "machine_id, from_time, to_time, status"),
+        // covering: fleet-wide window reads
+        @Index(name = "idx_msi_window",
+               columnList = "from_time, to_time, machine_id, status")
+    }
+)
+public class MachineStatusInterval {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "machine_id", nullable = false)
+    private Long machineId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MachineStatus status;
+
+    @Column(name = "from_time", nullable = false)
+    private LocalDateTime from;
+
+    @Column(name = "to_time", nullable = false)
+    private LocalDateTime to;
+
+    protected MachineStatusInterval() {
+    }
+
+    public MachineStatusInterval(
+            Long machineId,
+            MachineStatus status,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        this.machineId = machineId;
+        this.status = status;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getId() { return id; }
+    public Long getMachineId() { return machineId; }
+    public MachineStatus getStatus() { return status; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+}
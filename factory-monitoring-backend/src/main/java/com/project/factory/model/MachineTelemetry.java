@@ -0,0 +1,75 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/* =====================================================
+   RAW MACHINE TELEMETRY SAMPLE
+   Written only by TelemetryWriter through JDBC batches;
+   mapped here so ddl-auto creates the table and reads
+   can go through a repository.
+   The primary key (machine_id, ts) is also the clustered
+   index, so one machine's samples are stored contiguously
+   in time order and a window read is a single range scan.
+   ts is epoch milliseconds (UTC) to keep rows narrow.
+   ===================================================== */
+@Entity
+@Table(name = "machine_telemetry")
+@IdClass(MachineTelemetry.Key.class)
+public class MachineTelemetry {
+
+    @Id
+    @Column(name = "machine_id")
+    private Long machineId;
+
+    @Id
+    @Column(name = "ts")
+    private Long ts;
+
+    @Column(name = "cycle_count")
+    private Long cycleCount;
+
+    private Double temperature;
+
+    @Column(name = "spindle_load")
+    private Double spindleLoad;
+
+    protected MachineTelemetry() {
+    }
+
+    public Long getMachineId() { return machineId; }
+    public Long getTs() { return ts; }
+    public Long getCycleCount() { return cycleCount; }
+    public Double getTemperature() { return temperature; }
+    public Double getSpindleLoad() { return spindleLoad; }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long machineId;
+        private Long ts;
+
+        public Key() {
+        }
+
+        public Key(Long machineId, Long ts) {
+            this.machineId = machineId;
+            this.ts = ts;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(machineId, other.machineId)
+                    && Objects.equals(ts, other.ts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(machineId, ts);
+        }
+    }
+}
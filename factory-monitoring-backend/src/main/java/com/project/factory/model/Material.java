@@ -1,5 +1,7 @@
 package com.project.factory.model;
 
+import java.util.Locale;
+
 import jakarta.persistence.*;
 
 @Entity
@@ -7,6 +9,9 @@ import jakarta.persistence.*;
     name = "materials",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"name", "grade", "location"})
+    },
+    indexes = {
+        @Index(name = "uk_materials_material_key", columnList = "material_key", unique = true)
     }
 )
 public class Material {
@@ -27,6 +32,41 @@ public class Material {
     @Column(nullable = false)
     private Integer stock;
 
+    // LOW_STOCK below this; null = materials.default-reorder-threshold
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /* =====================================================
+       NORMALISED LOOKUP KEY: lower(trim(name))|grade|
+       lower(trim(location)). Plain equality on it uses its
+       unique index, unlike upper(name) = upper(?).
+       Nullable here only so ddl-auto can add it to a
+       populated table; SchemaMigrator fills it and then
+       makes it NOT NULL.
+       ===================================================== */
+    @Column(name = "material_key", length = 530)
+    private String materialKey;
+
+    public static String key(String name, Integer grade, String location) {
+        if (name == null || grade == null || location == null) {
+            throw new RuntimeException("Material name, grade and location are required");
+        }
+        return name.trim().toLowerCase(Locale.ROOT)
+                + "|" + grade
+                + "|" + location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /* ================= LIFECYCLE ================= */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        materialKey = key(name, grade, location);
+    }
+
     /* ================= GETTERS ================= */
 
     public Long getId() {
@@ -49,6 +89,18 @@ public class Material {
         return stock;
     }
 
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getMaterialKey() {
+        return materialKey;
+    }
+
     /* ================= SETTERS ================= */
 
     public void setName(String name) {
@@ -66,4 +118,8 @@ public class Material {
     public void setStock(Integer stock) {
         this.stock = stock;
     }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
 }
@@ -0,0 +1,77 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/* =====================================================
+   PRE-AGGREGATED OEE INPUTS
+   One row per (machine, day, shift); maintained
+   incrementally from ProductionLogService.createFromBatch.
+   Only additive counters are stored -- the ratios are
+   derived at read time, so buckets can be summed over
+   any range.
+   ===================================================== */
+@Entity
+@Table(
+    name = "oee_buckets",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_oee_bucket",
+            columnNames = {"machine_id", "production_day", "shift"}
+        )
+    },
+    indexes = {
+        @Index(name = "idx_oee_day", columnList = "production_day")
+    }
+)
+public class OeeBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* ================= BUCKET KEY ================= */
+
+    @Column(name = "machine_id", nullable = false)
+    private Long machineId;
+
+    @Column(name = "production_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Shift shift;
+
+    /* ================= COUNTERS ================= */
+
+    @Column(name = "run_seconds", nullable = false)
+    private long runSeconds;            // actual run time, all batches
+
+    @Column(name = "productive_seconds", nullable = false)
+    private long productiveSeconds;     // actual run time, COMPLETED batches
+
+    @Column(name = "ideal_seconds", nullable = false)
+    private long idealSeconds;          // estimated run time, COMPLETED batches
+
+    @Column(name = "good_qty", nullable = false)
+    private long goodQty;               // qty of COMPLETED batches
+
+    @Column(name = "total_qty", nullable = false)
+    private long totalQty;              // qty of all batches
+
+    @Column(name = "batch_count", nullable = false)
+    private long batchCount;
+
+    /* ================= GETTERS ================= */
+
+    public Long getId() { return id; }
+    public Long getMachineId() { return machineId; }
+    public LocalDate getDay() { return day; }
+    public Shift getShift() { return shift; }
+    public long getRunSeconds() { return runSeconds; }
+    public long getProductiveSeconds() { return productiveSeconds; }
+    public long getIdealSeconds() { return idealSeconds; }
+    public long getGoodQty() { return goodQty; }
+    public long getTotalQty() { return totalQty; }
+    public long getBatchCount() { return batchCount; }
+}
@@ -3,8 +3,24 @@ package com.project.factory.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/* =====================================================
+   Range-partitioned by month on start_time (see
+   SchemaMigrator), so: primary key is (id, start_time) in
+   MySQL, no foreign keys, and queries should constrain
+   start_time to be pruned to the months they need.
+   ===================================================== */
 @Entity
-@Table(name = "production_logs")
+@Table(
+    name = "production_logs",
+    indexes = {
+        // Keyset order (start_time, id), optionally led by one equality filter
+        @Index(name = "idx_plog_start", columnList = "start_time, id"),
+        @Index(name = "idx_plog_machine_start", columnList = "machine_id, start_time, id"),
+        @Index(name = "idx_plog_operator_start", columnList = "operator_id, start_time, id"),
+        @Index(name = "idx_plog_shift_start", columnList = "shift, start_time, id"),
+        @Index(name = "idx_plog_status_start", columnList = "status, start_time, id")
+    }
+)
 public class ProductionLog {
 
     /* ================= PRIMARY KEY ================= */
@@ -14,7 +30,8 @@ public class ProductionLog {
 
     /* ================= BATCH ================= */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "batch_id", nullable = false)
+    @JoinColumn(name = "batch_id", nullable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Batch batch;
 
     /* ================= SNAPSHOT DATA ================= */
@@ -26,12 +43,14 @@ public class ProductionLog {
 
     /* ================= MACHINE ================= */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "machine_id", nullable = false)
+    @JoinColumn(name = "machine_id", nullable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Machine machine;
 
     /* ================= OPERATOR ================= */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "operator_id", nullable = false)
+    @JoinColumn(name = "operator_id", nullable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User operator;
 
     /* ================= TIMING ================= */
@@ -0,0 +1,96 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/* =====================================================
+   PRE-AGGREGATED PRODUCTION COUNTERS
+   One row per (day, shift, machine, product); maintained
+   incrementally from ProductionLogService.createFromBatch.
+   ===================================================== */
+@Entity
+@Table(
+    name = "production_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_rollup_bucket",
+            columnNames = {"production_day", "shift", "machine_id", "product_name"}
+        )
+    },
+    indexes = {
+        @Index(name = "idx_rollup_machine_day", columnList = "machine_id, production_day")
+    }
+)
+public class ProductionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* ================= BUCKET KEY ================= */
+
+    @Column(name = "production_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Shift shift;
+
+    @Column(name = "machine_id", nullable = false)
+    private Long machineId;
+
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    /* ================= COUNTERS ================= */
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "total_qty", nullable = false)
+    private long totalQty;                  // produced qty of COMPLETED logs
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private long totalDurationSeconds;      // run time of all logs
+
+    /* ================= GETTERS ================= */
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Shift getShift() {
+        return shift;
+    }
+
+    public Long getMachineId() {
+        return machineId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getTotalQty() {
+        return totalQty;
+    }
+
+    public long getTotalDurationSeconds() {
+        return totalDurationSeconds;
+    }
+}
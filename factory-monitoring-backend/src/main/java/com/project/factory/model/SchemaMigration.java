@@ -0,0 +1,37 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/* =====================================================
+   APPLIED SCHEMA MIGRATION
+   One row per step SchemaMigrator has run; steps are
+   never run twice.
+   ===================================================== */
+@Entity
+@Table(name = "schema_migrations")
+public class SchemaMigration {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+
+    protected SchemaMigration() {
+    }
+
+    public SchemaMigration(String id, String description) {
+        this.id = id;
+        this.description = description;
+        this.appliedAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public String getDescription() { return description; }
+    public LocalDateTime getAppliedAt() { return appliedAt; }
+}
@@ -1,7 +1,29 @@
 package com.project.factory.model;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
 public enum Shift {
     MORNING,
     EVENING,
-    NIGHT
+    NIGHT;
+
+    /* ================= SHIFT RESOLUTION ================= */
+    // MORNING 06-14, EVENING 14-22, NIGHT 22-06
+
+    public static Shift of(LocalDateTime time) {
+        int hour = time.getHour();
+        if (hour >= 6 && hour < 14) return MORNING;
+        if (hour >= 14 && hour < 22) return EVENING;
+        return NIGHT;
+    }
+
+    // Start of the shift containing "time" (a NIGHT after midnight began the day before)
+    public static LocalDateTime startOf(LocalDateTime time) {
+        int hour = time.getHour();
+        if (hour >= 6 && hour < 14) return time.toLocalDate().atTime(6, 0);
+        if (hour >= 14 && hour < 22) return time.toLocalDate().atTime(14, 0);
+        if (hour >= 22) return time.toLocalDate().atTime(LocalTime.of(22, 0));
+        return time.toLocalDate().minusDays(1).atTime(22, 0);
+    }
 }
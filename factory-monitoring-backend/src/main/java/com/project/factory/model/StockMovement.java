@@ -0,0 +1,60 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/* =====================================================
+   ONE STOCK MOVEMENT (APPEND-ONLY LEDGER)
+   Inserted by StockLedger through JDBC batches and never
+   updated; deleted only once folded into snapshots and
+   past ledger.retention-days. "delta" is the signed
+   effect on Material.stock, so stock at time T is a
+   snapshot balance plus sum(delta) since that snapshot.
+   ===================================================== */
+@Entity
+@Table(
+    name = "stock_movements",
+    indexes = {
+        // covering: point-in-time sums and compaction read only the index
+        @Index(name = "idx_sm_material_time", columnList = "material_id, created_at, delta"),
+        // covering: per-interval compaction and retention deletes
+        @Index(name = "idx_sm_time", columnList = "created_at, material_id, delta"),
+        @Index(name = "idx_sm_batch", columnList = "batch_id")
+    }
+)
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "material_id", nullable = false)
+    private Long materialId;
+
+    @Column(name = "batch_id")
+    private Long batchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockMovementType type;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected StockMovement() {
+    }
+
+    public Long getId() { return id; }
+    public Long getMaterialId() { return materialId; }
+    public Long getBatchId() { return batchId; }
+    public StockMovementType getType() { return type; }
+    public Integer getQuantity() { return quantity; }
+    public Integer getDelta() { return delta; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,9 @@
+package com.project.factory.model;
+
+// Effect on Material.stock (available stock) in brackets
+public enum StockMovementType {
+    RECEIPT,        // + supplier delivery or manual top-up
+    RESERVATION,    // - held for a scheduled batch
+    RELEASE,        // + reservation returned (batch edited down or failed)
+    CONSUMPTION     // 0 reserved stock used up by a completed batch
+}
@@ -0,0 +1,43 @@
+package com.project.factory.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/* =====================================================
+   MATERIAL BALANCE AS OF A POINT IN TIME
+   Covers every movement with created_at < asOf. Written
+   for all materials at once by StockSnapshotCompactor.
+   ===================================================== */
+@Entity
+@Table(
+    name = "stock_snapshots",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_snapshot_material_asof", columnNames = {"material_id", "as_of"})
+    },
+    indexes = {
+        @Index(name = "idx_snapshot_asof", columnList = "as_of")
+    }
+)
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "material_id", nullable = false)
+    private Long materialId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    protected StockSnapshot() {
+    }
+
+    public Long getId() { return id; }
+    public Long getMaterialId() { return materialId; }
+    public LocalDateTime getAsOf() { return asOf; }
+    public Long getBalance() { return balance; }
+}
@@ -3,15 +3,26 @@ package com.project.factory.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/* =====================================================
+   Range-partitioned by month on created_at (see
+   SchemaMigrator); old months are dropped by
+   PartitionMaintenanceJob.
+   ===================================================== */
 @Entity
-@Table(name = "supplier_stock_logs")
+@Table(
+    name = "supplier_stock_logs",
+    indexes = {
+        @Index(name = "idx_sslog_created", columnList = "created_at, id"),
+        @Index(name = "idx_sslog_supplier_created", columnList = "supplier_id, created_at, id")
+    }
+)
 public class SupplierStockLog {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
+    @Column(name = "supplier_id", nullable = false)
     private Long supplierId;
 
     @Column(nullable = false)
@@ -29,7 +40,7 @@ public class SupplierStockLog {
     @Column(nullable = false)
     private Integer quantity;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     /* ===== GETTERS ===== */
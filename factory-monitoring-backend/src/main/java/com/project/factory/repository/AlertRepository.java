@@ -2,6 +2,7 @@ package com.project.factory.repository;
 
 import com.project.factory.model.Alert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,8 +10,13 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
 
     List<Alert> findByResolvedFalseOrderByTimeDesc();
 
-    boolean existsByTypeAndMachineAndResolvedFalse(
-            String type,
-            String machine
-    );
+    List<Alert> findByMachineIdAndResolvedFalse(Long machineId);
+
+    // [type, machineId or materialId] of every open alert; rebuilds the dedup set
+    @Query("select distinct a.type, coalesce(a.machineId, a.materialId) from Alert a where a.resolved = false")
+    List<Object[]> findOpenKeys();
+
+    // [severity, count] pairs of unresolved alerts for the dashboard
+    @Query("select a.severity, count(a) from Alert a where a.resolved = false group by a.severity")
+    List<Object[]> countActiveGroupedBySeverity();
 }
@@ -1,11 +1,17 @@
 package com.project.factory.repository;
 
+import com.project.factory.dto.BatchMaterialRow;
+import com.project.factory.dto.BatchView;
 import com.project.factory.model.Batch;
 import com.project.factory.model.BatchStatus;
 import com.project.factory.model.Machine;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BatchRepository extends JpaRepository<Batch, Long> {
 
@@ -15,4 +21,65 @@ public interface BatchRepository extends JpaRepository<Batch, Long> {
     );
 
     List<Batch> findByOperator_Id(Long operatorId);
+
+    // One prefetch for bulk scheduling: which of these machines are busy
+    @Query("""
+            select distinct b.machine.id from Batch b
+            where b.machine.id in :machineIds and b.status in :statuses
+            """)
+    List<Long> findMachineIdsWithStatusIn(
+        Collection<Long> machineIds,
+        Collection<BatchStatus> statuses
+    );
+
+    /* ================= READ MODEL ================= */
+
+    // Machine and operator come from the same join; filters are optional
+    @Query("""
+            select new com.project.factory.dto.BatchView(
+                b.id, b.productName, b.finalProductQty, b.status,
+                b.estimatedStartTime, b.estimatedEndTime,
+                b.actualStartTime, b.actualEndTime,
+                b.failureReason, b.createdAt,
+                m.id, m.name, m.status,
+                o.id, o.username, o.role)
+            from Batch b join b.machine m join b.operator o
+            where (:status is null or b.status = :status)
+              and (:machineId is null or m.id = :machineId)
+              and (:afterId is null or b.id > :afterId)
+            order by b.id asc
+            """)
+    List<BatchView> findViews(
+        BatchStatus status,
+        Long machineId,
+        Long afterId,
+        Pageable page
+    );
+
+    @Query("""
+            select new com.project.factory.dto.BatchView(
+                b.id, b.productName, b.finalProductQty, b.status,
+                b.estimatedStartTime, b.estimatedEndTime,
+                b.actualStartTime, b.actualEndTime,
+                b.failureReason, b.createdAt,
+                m.id, m.name, m.status,
+                o.id, o.username, o.role)
+            from Batch b join b.machine m join b.operator o
+            where b.id = :id
+            """)
+    Optional<BatchView> findViewById(Long id);
+
+    @Query("""
+            select new com.project.factory.dto.BatchMaterialRow(
+                bm.batch.id, bm.id, bm.quantity,
+                mat.id, mat.name, mat.grade, mat.location)
+            from BatchMaterial bm join bm.material mat
+            where bm.batch.id in :batchIds
+            order by bm.id asc
+            """)
+    List<BatchMaterialRow> findMaterialRows(Collection<Long> batchIds);
+
+    // [status, count] pairs for the dashboard
+    @Query("select b.status, count(b) from Batch b group by b.status")
+    List<Object[]> countGroupedByStatus();
 }
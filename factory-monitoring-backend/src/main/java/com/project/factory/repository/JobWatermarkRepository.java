@@ -0,0 +1,7 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
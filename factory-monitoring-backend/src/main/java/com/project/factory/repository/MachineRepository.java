@@ -3,7 +3,12 @@ package com.project.factory.repository;
 import com.project.factory.model.Machine;
 import com.project.factory.model.MachineStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface MachineRepository extends JpaRepository<Machine, Long> {
@@ -11,4 +16,34 @@ public interface MachineRepository extends JpaRepository<Machine, Long> {
     Optional<Machine> findByName(String name);
 
     boolean existsByStatus(MachineStatus status);
+
+    // [status, count] pairs for the dashboard
+    @Query("select m.status, count(m) from Machine m group by m.status")
+    List<Object[]> countGroupedByStatus();
+
+    long countByNextMaintenanceDueLessThanEqual(LocalDate date);
+
+    List<Machine> findByNextMaintenanceDueLessThanEqual(LocalDate date);
+
+    // Machines that became due in (after, upTo]; range on idx_machine_next_maintenance
+    List<Machine> findByNextMaintenanceDueGreaterThanAndNextMaintenanceDueLessThanEqual(
+        LocalDate after,
+        LocalDate upTo
+    );
+
+    // Compare-and-set on @Version; 0 rows means the caller's copy is stale.
+    // Bulk update: @PreUpdate does not run, so updatedAt is passed in.
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Machine m
+            set m.status = :status, m.statusChangedAt = :now,
+                m.version = m.version + 1, m.updatedAt = :now
+            where m.id = :id and m.version = :version
+            """)
+    int updateStatusIfVersion(
+        Long id,
+        long version,
+        MachineStatus status,
+        LocalDateTime now
+    );
 }
@@ -0,0 +1,41 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.MachineStatusInterval;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MachineStatusIntervalRepository
+        extends JpaRepository<MachineStatusInterval, Long> {
+
+    /* =====================================================
+       TIME IN STATE, CLIPPED TO [from, to)
+       Each interval overlapping the window contributes
+       least(to_time, :to) - greatest(from_time, :from).
+       Rows: [machine_id, status, seconds]
+       ===================================================== */
+    @Query(value = """
+            select i.machine_id, i.status,
+                   sum(timestampdiff(second,
+                       greatest(i.from_time, :from),
+                       least(i.to_time, :to)))
+            from machine_status_intervals i
+            where i.machine_id = :machineId
+              and i.from_time < :to and i.to_time > :from
+            group by i.machine_id, i.status
+            """, nativeQuery = true)
+    List<Object[]> sumTimeInState(Long machineId, LocalDateTime from, LocalDateTime to);
+
+    @Query(value = """
+            select i.machine_id, i.status,
+                   sum(timestampdiff(second,
+                       greatest(i.from_time, :from),
+                       least(i.to_time, :to)))
+            from machine_status_intervals i
+            where i.from_time < :to and i.to_time > :from
+            group by i.machine_id, i.status
+            """, nativeQuery = true)
+    List<Object[]> sumFleetTimeInState(LocalDateTime from, LocalDateTime to);
+}
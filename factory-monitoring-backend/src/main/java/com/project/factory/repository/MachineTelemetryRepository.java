@@ -0,0 +1,34 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.MachineTelemetry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface MachineTelemetryRepository
+        extends JpaRepository<MachineTelemetry, MachineTelemetry.Key> {
+
+    /* =====================================================
+       DOWNSAMPLED WINDOW [from, to) IN :bucketMs BUCKETS
+       Range scan on the primary key; aggregation happens in
+       MySQL so only one row per bucket leaves the server.
+       Rows: [bucketStart, samples,
+              minTemp, maxTemp, avgTemp,
+              minLoad, maxLoad, avgLoad,
+              cycles]
+       ===================================================== */
+    @Query(value = """
+            select floor(t.ts / :bucketMs) * :bucketMs as bucket,
+                   count(*),
+                   min(t.temperature), max(t.temperature), avg(t.temperature),
+                   min(t.spindle_load), max(t.spindle_load), avg(t.spindle_load),
+                   max(t.cycle_count) - min(t.cycle_count)
+            from machine_telemetry t
+            where t.machine_id = :machineId
+              and t.ts >= :from and t.ts < :to
+            group by bucket
+            order by bucket
+            """, nativeQuery = true)
+    List<Object[]> downsample(Long machineId, long from, long to, long bucketMs);
+}
@@ -1,17 +1,22 @@
 package com.project.factory.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.project.factory.model.Material;
 
 public interface MaterialRepository
         extends JpaRepository<Material, Long> {
 
-    Optional<Material> findByNameIgnoreCaseAndGradeAndLocation(
-            String name,
-            Integer grade,
-            String location
-    );
+    /* ===== NORMALISED KEY LOOKUPS (UNIQUE INDEX PROBES) ===== */
+    @Query("select m.id from Material m where m.materialKey = :key")
+    Optional<Long> findIdByMaterialKey(String key);
+
+    // [id, materialKey]
+    @Query("select m.id, m.materialKey from Material m where m.materialKey in :keys")
+    List<Object[]> findIdsByMaterialKeyIn(Collection<String> keys);
 }
@@ -0,0 +1,101 @@
+package com.project.factory.repository;
+
+import com.project.factory.dto.OeeFigures;
+import com.project.factory.model.OeeBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OeeBucketRepository extends JpaRepository<OeeBucket, Long> {
+
+    /* ===== INCREMENTAL UPSERT (ONE STATEMENT PER LOG) ===== */
+    @Modifying
+    @Query(value = """
+            insert into oee_buckets
+                (machine_id, production_day, shift,
+                 run_seconds, productive_seconds, ideal_seconds,
+                 good_qty, total_qty, batch_count)
+            values
+                (:machineId, :day, :shift,
+                 :run, :productive, :ideal,
+                 :good, :total, 1)
+            on duplicate key update
+                run_seconds = run_seconds + values(run_seconds),
+                productive_seconds = productive_seconds + values(productive_seconds),
+                ideal_seconds = ideal_seconds + values(ideal_seconds),
+                good_qty = good_qty + values(good_qty),
+                total_qty = total_qty + values(total_qty),
+                batch_count = batch_count + 1
+            """, nativeQuery = true)
+    int increment(
+            Long machineId,
+            LocalDate day,
+            String shift,
+            long run,
+            long productive,
+            long ideal,
+            long good,
+            long total
+    );
+
+    /* ===== REBUILD FROM production_logs + batches (DAYS >= :from) ===== */
+    @Modifying
+    @Query(value = "delete from oee_buckets where production_day >= :from", nativeQuery = true)
+    int deleteFrom(LocalDate from);
+
+    @Modifying
+    @Query(value = """
+            insert into oee_buckets
+                (machine_id, production_day, shift,
+                 run_seconds, productive_seconds, ideal_seconds,
+                 good_qty, total_qty, batch_count)
+            select
+                l.machine_id, date(l.start_time), l.shift,
+                sum(coalesce(timestampdiff(second, l.start_time, l.end_time), 0)),
+                sum(case when l.status = 'COMPLETED'
+                    then coalesce(timestampdiff(second, l.start_time, l.end_time), 0)
+                    else 0 end),
+                sum(case when l.status = 'COMPLETED'
+                    then greatest(0, coalesce(
+                        timestampdiff(second, b.estimated_start_time, b.estimated_end_time),
+                        timestampdiff(second, l.start_time, l.end_time),
+                        0))
+                    else 0 end),
+                sum(case when l.status = 'COMPLETED' then l.produced_qty else 0 end),
+                sum(l.produced_qty),
+                count(*)
+            from production_logs l join batches b on b.id = l.batch_id
+            where l.start_time >= :from
+            group by l.machine_id, date(l.start_time), l.shift
+            """, nativeQuery = true)
+    int backfillFromLogs(LocalDateTime from);
+
+    /* ===== ONE MACHINE, PER (DAY, SHIFT) ===== */
+    @Query("""
+            select new com.project.factory.dto.OeeFigures(
+                o.machineId, o.day, o.shift,
+                o.runSeconds, o.productiveSeconds, o.idealSeconds,
+                o.goodQty, o.totalQty, o.batchCount)
+            from OeeBucket o
+            where o.machineId = :machineId and o.day between :from and :to
+            order by o.day, o.shift
+            """)
+    List<OeeFigures> findMachineBuckets(Long machineId, LocalDate from, LocalDate to);
+
+    /* ===== WHOLE FLEET, PER MACHINE (SUMMED IN SQL) ===== */
+    @Query("""
+            select new com.project.factory.dto.OeeFigures(
+                o.machineId,
+                sum(o.runSeconds), sum(o.productiveSeconds), sum(o.idealSeconds),
+                sum(o.goodQty), sum(o.totalQty), sum(o.batchCount))
+            from OeeBucket o
+            where o.day between :from and :to
+            group by o.machineId
+            order by o.machineId
+            """)
+    List<OeeFigures> summarizeFleet(LocalDate from, LocalDate to);
+}
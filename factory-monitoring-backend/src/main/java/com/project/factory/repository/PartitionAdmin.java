@@ -0,0 +1,141 @@
+package com.project.factory.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/* =====================================================
+   MONTHLY RANGE PARTITIONS (MySQL)
+
+   Layout managed here, for a table and its time column:
+
+     partition by range columns(col) (
+       p202401 values less than ('2024-02-01'),
+       ...
+       pmax    values less than (maxvalue))
+
+   pmax is kept empty by always creating months ahead, so
+   adding a month is a metadata-only REORGANIZE of pmax
+   and dropping one is a file unlink -- no row deletes.
+
+   Table and column names come from code, never from
+   requests.
+   ===================================================== */
+@Repository
+public class PartitionAdmin {
+
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartitionAdmin(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /* ================= INSPECTION ================= */
+
+    public boolean isPartitioned(String table) {
+        Integer n = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.partitions "
+                + "where table_schema = database() and table_name = ? "
+                + "and partition_name is not null",
+                Integer.class, table
+        );
+        return n != null && n > 0;
+    }
+
+    // Monthly partitions in order (pmax excluded)
+    public List<YearMonth> months(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "select partition_name from information_schema.partitions "
+                + "where table_schema = database() and table_name = ? "
+                + "and partition_name <> 'pmax' "
+                + "order by partition_ordinal_position",
+                String.class, table
+        );
+        List<YearMonth> months = new ArrayList<>(names.size());
+        for (String name : names) {
+            months.add(YearMonth.parse(name, NAME));
+        }
+        return months;
+    }
+
+    public boolean isEmpty(String table, YearMonth month) {
+        List<Integer> any = jdbcTemplate.queryForList(
+                "select 1 from " + table + " partition (" + name(month) + ") limit 1",
+                Integer.class
+        );
+        return any.isEmpty();
+    }
+
+    /* ================= DDL ================= */
+
+    // MySQL partitioned tables cannot have foreign keys
+    public void dropForeignKeys(String table) {
+        List<String> keys = jdbcTemplate.queryForList(
+                "select constraint_name from information_schema.referential_constraints "
+                + "where constraint_schema = database() and table_name = ?",
+                String.class, table
+        );
+        for (String key : keys) {
+            jdbcTemplate.execute("alter table " + table + " drop foreign key " + key);
+        }
+    }
+
+    // Every unique key must contain the partition column
+    public void widenPrimaryKey(String table, String column) {
+        jdbcTemplate.execute(
+                "alter table " + table + " drop primary key, add primary key (id, " + column + ")"
+        );
+    }
+
+    // Rebuilds the table once; later months are added with addMonthsThrough
+    public void partitionByMonth(String table, String column, YearMonth first, YearMonth last) {
+        StringBuilder ddl = new StringBuilder("alter table ")
+                .append(table)
+                .append(" partition by range columns(").append(column).append(") (");
+        for (YearMonth m = first; !m.isAfter(last); m = m.plusMonths(1)) {
+            ddl.append(definition(m)).append(", ");
+        }
+        ddl.append("partition pmax values less than (maxvalue))");
+        jdbcTemplate.execute(ddl.toString());
+    }
+
+    public void addMonthsThrough(String table, YearMonth through) {
+        List<YearMonth> existing = months(table);
+        YearMonth next = existing.isEmpty()
+                ? YearMonth.now()
+                : existing.get(existing.size() - 1).plusMonths(1);
+        if (next.isAfter(through)) {
+            return;
+        }
+
+        StringBuilder ddl = new StringBuilder("alter table ")
+                .append(table)
+                .append(" reorganize partition pmax into (");
+        for (YearMonth m = next; !m.isAfter(through); m = m.plusMonths(1)) {
+            ddl.append(definition(m)).append(", ");
+        }
+        ddl.append("partition pmax values less than (maxvalue))");
+        jdbcTemplate.execute(ddl.toString());
+    }
+
+    public void drop(String table, YearMonth month) {
+        jdbcTemplate.execute("alter table " + table + " drop partition " + name(month));
+    }
+
+    /* ================= NAMING ================= */
+
+    private static String name(YearMonth month) {
+        return month.format(NAME);
+    }
+
+    private static String definition(YearMonth month) {
+        return "partition " + name(month)
+                + " values less than ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
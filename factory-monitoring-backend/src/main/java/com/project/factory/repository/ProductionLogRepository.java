@@ -1,20 +1,48 @@
 package com.project.factory.repository;
 
+import com.project.factory.dto.ProductionLogRow;
 import com.project.factory.model.ProductionLog;
-import com.project.factory.model.ProductionStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductionLogRepository
-        extends JpaRepository<ProductionLog, Long> {
+        extends JpaRepository<ProductionLog, Long>,
+                ProductionLogRepositoryCustom {
 
-    List<ProductionLog> findByStatus(ProductionStatus status);
+    // Server-side cursor read (needs useCursorFetch=true on the JDBC URL);
+    // rows arrive in fetch-size chunks and are never held as entities.
+    @Query("""
+            select new com.project.factory.dto.ProductionLogRow(
+                l.id, l.batch.id, l.productName, l.producedQty,
+                m.id, m.name, o.id, o.username,
+                l.startTime, l.endTime, l.shift, l.status)
+            from ProductionLog l join l.machine m join l.operator o
+            where l.startTime >= :from and l.startTime < :to
+            order by l.startTime asc, l.id asc
+            """)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<ProductionLogRow> streamRows(LocalDateTime from, LocalDateTime to);
 
-    List<ProductionLog> findByStatusAndStartTimeBetween(
-            ProductionStatus status,
-            LocalDateTime from,
-            LocalDateTime to
-    );
+    /* ===== ARCHIVER ===== */
+    @Query("select min(l.startTime) from ProductionLog l")
+    LocalDateTime findOldestStartTime();
+
+    // The start_time range prunes the delete to one partition
+    @Modifying
+    @Query(value = """
+            delete from production_logs
+            where start_time >= :from and start_time < :to and id in (:ids)
+            """, nativeQuery = true)
+    int deleteArchived(LocalDateTime from, LocalDateTime to, Collection<Long> ids);
 }
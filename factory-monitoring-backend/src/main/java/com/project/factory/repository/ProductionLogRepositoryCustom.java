@@ -0,0 +1,12 @@
+package com.project.factory.repository;
+
+import java.util.List;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+
+public interface ProductionLogRepositoryCustom {
+
+    // Keyset page ordered by (start_time, id); only set filters are emitted
+    List<ProductionLogRow> findReportPage(ProductionLogFilter filter, int limit);
+}
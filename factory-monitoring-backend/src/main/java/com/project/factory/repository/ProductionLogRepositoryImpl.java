@@ -0,0 +1,92 @@
+package com.project.factory.repository;
+
+import java.util.List;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+class ProductionLogRepositoryImpl implements ProductionLogRepositoryCustom {
+
+    private static final String SELECT_ROW =
+            "select new com.project.factory.dto.ProductionLogRow("
+            + "l.id, l.batch.id, l.productName, l.producedQty, "
+            + "m.id, m.name, o.id, o.username, "
+            + "l.startTime, l.endTime, l.shift, l.status) "
+            + "from ProductionLog l join l.machine m join l.operator o "
+            + "where 1 = 1";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /* =====================================================
+       KEYSET PAGE
+       Predicates are appended only when the filter is set,
+       so MySQL can pick the matching (col, start_time, id)
+       index instead of evaluating "? is null or ..." per row.
+       ===================================================== */
+    @Override
+    public List<ProductionLogRow> findReportPage(
+            ProductionLogFilter filter,
+            int limit
+    ) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW);
+
+        if (filter.getMachineId() != null) {
+            jpql.append(" and l.machine.id = :machineId");
+        }
+        if (filter.getOperatorId() != null) {
+            jpql.append(" and l.operator.id = :operatorId");
+        }
+        if (filter.getShift() != null) {
+            jpql.append(" and l.shift = :shift");
+        }
+        if (filter.getStatus() != null) {
+            jpql.append(" and l.status = :status");
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" and l.startTime >= :from");
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" and l.startTime < :to");
+        }
+        if (filter.getAfterTime() != null) {
+            // Leading ">=" is a plain range, so partitions and index ranges prune
+            jpql.append(" and l.startTime >= :afterTime")
+                .append(" and (l.startTime > :afterTime or l.id > :afterId)");
+        }
+
+        jpql.append(" order by l.startTime asc, l.id asc");
+
+        TypedQuery<ProductionLogRow> query =
+                em.createQuery(jpql.toString(), ProductionLogRow.class);
+
+        if (filter.getMachineId() != null) {
+            query.setParameter("machineId", filter.getMachineId());
+        }
+        if (filter.getOperatorId() != null) {
+            query.setParameter("operatorId", filter.getOperatorId());
+        }
+        if (filter.getShift() != null) {
+            query.setParameter("shift", filter.getShift());
+        }
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus());
+        }
+        if (filter.getFrom() != null) {
+            query.setParameter("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            query.setParameter("to", filter.getTo());
+        }
+        if (filter.getAfterTime() != null) {
+            query.setParameter("afterTime", filter.getAfterTime());
+            query.setParameter("afterId", filter.getAfterId());
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.factory.repository;
+
+import com.project.factory.dto.ProductionSummaryRow;
+import com.project.factory.model.ProductionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductionRollupRepository
+        extends JpaRepository<ProductionRollup, Long> {
+
+    /* ===== INCREMENTAL UPSERT (ONE STATEMENT PER LOG) ===== */
+    @Modifying
+    @Query(value = """
+            insert into production_rollups
+                (production_day, shift, machine_id, product_name,
+                 completed_count, failed_count, total_qty, total_duration_seconds)
+            values
+                (:day, :shift, :machineId, :productName,
+                 :completed, :failed, :qty, :duration)
+            on duplicate key update
+                completed_count = completed_count + values(completed_count),
+                failed_count = failed_count + values(failed_count),
+                total_qty = total_qty + values(total_qty),
+                total_duration_seconds = total_duration_seconds + values(total_duration_seconds)
+            """, nativeQuery = true)
+    int increment(
+            LocalDate day,
+            String shift,
+            Long machineId,
+            String productName,
+            long completed,
+            long failed,
+            long qty,
+            long duration
+    );
+
+    /* ===== REBUILD FROM production_logs (DAYS >= :from) ===== */
+    @Modifying
+    @Query(value = "delete from production_rollups where production_day >= :from", nativeQuery = true)
+    int deleteFrom(LocalDate from);
+
+    @Modifying
+    @Query(value = """
+            insert into production_rollups
+                (production_day, shift, machine_id, product_name,
+                 completed_count, failed_count, total_qty, total_duration_seconds)
+            select
+                date(l.start_time), l.shift, l.machine_id, l.product_name,
+                sum(l.status = 'COMPLETED'),
+                sum(l.status = 'FAILED'),
+                sum(case when l.status = 'COMPLETED' then l.produced_qty else 0 end),
+                sum(coalesce(timestampdiff(second, l.start_time, l.end_time), 0))
+            from production_logs l
+            where l.start_time >= :from
+            group by date(l.start_time), l.shift, l.machine_id, l.product_name
+            """, nativeQuery = true)
+    int backfillFromLogs(LocalDateTime from);
+
+    /* ===== ONE DAY TOTALS: [qty, completed, failed] ===== */
+    @Query("""
+            select sum(r.totalQty), sum(r.completedCount), sum(r.failedCount)
+            from ProductionRollup r
+            where r.day = :day
+            """)
+    List<Object[]> totalsForDay(LocalDate day);
+
+    /* ===== SUMMARY (READS ROLLUPS ONLY) ===== */
+    @Query("""
+            select new com.project.factory.dto.ProductionSummaryRow(
+                r.day, r.shift, r.machineId,
+                sum(r.completedCount), sum(r.failedCount),
+                sum(r.totalQty), sum(r.totalDurationSeconds))
+            from ProductionRollup r
+            where r.day between :from and :to
+            group by r.day, r.shift, r.machineId
+            order by r.day, r.shift, r.machineId
+            """)
+    List<ProductionSummaryRow> summarize(LocalDate from, LocalDate to);
+
+    @Query("""
+            select new com.project.factory.dto.ProductionSummaryRow(
+                r.day, r.shift, r.machineId,
+                sum(r.completedCount), sum(r.failedCount),
+                sum(r.totalQty), sum(r.totalDurationSeconds))
+            from ProductionRollup r
+            where r.machineId = :machineId and r.day between :from and :to
+            group by r.day, r.shift, r.machineId
+            order by r.day, r.shift, r.machineId
+            """)
+    List<ProductionSummaryRow> summarizeMachine(
+            Long machineId,
+            LocalDate from,
+            LocalDate to
+    );
+}
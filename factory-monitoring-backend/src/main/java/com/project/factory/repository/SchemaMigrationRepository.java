@@ -0,0 +1,7 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.SchemaMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SchemaMigrationRepository extends JpaRepository<SchemaMigration, String> {
+}
@@ -0,0 +1,38 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    /* ===== SIGNED TOTAL IN [from, to]: [sum(delta), count] ===== */
+    @Query(value = """
+            select coalesce(sum(m.delta), 0), count(*)
+            from stock_movements m
+            where m.material_id = :materialId
+              and m.created_at >= :from and m.created_at <= :to
+            """, nativeQuery = true)
+    List<Object[]> sumDelta(Long materialId, LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            select m from StockMovement m
+            where m.materialId = :materialId
+              and m.createdAt >= :from and m.createdAt < :to
+            order by m.createdAt, m.id
+            """)
+    List<StockMovement> findForMaterial(Long materialId, LocalDateTime from, LocalDateTime to);
+
+    /* ===== RETENTION: one bounded slice of folded movements ===== */
+    @Modifying
+    @Query(value = """
+            delete from stock_movements
+            where created_at < :before
+            limit :limit
+            """, nativeQuery = true)
+    int deleteBefore(LocalDateTime before, int limit);
+}
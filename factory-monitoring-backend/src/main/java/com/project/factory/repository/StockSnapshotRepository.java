@@ -0,0 +1,70 @@
+package com.project.factory.repository;
+
+import com.project.factory.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByMaterialIdAndAsOfLessThanEqualOrderByAsOfDesc(
+            Long materialId,
+            LocalDateTime asOf
+    );
+
+    @Query("select max(s.asOf) from StockSnapshot s")
+    LocalDateTime findLatestAsOf();
+
+    @Query("select min(s.asOf) from StockSnapshot s")
+    LocalDateTime findEarliestAsOf();
+
+    // Latest snapshot time at or before :at (a compaction run time)
+    @Query("select max(s.asOf) from StockSnapshot s where s.asOf <= :at")
+    LocalDateTime findLatestAsOfAtOrBefore(LocalDateTime at);
+
+    /* ===== OPENING BALANCES: the counters as they stand ===== */
+    @Modifying
+    @Query(value = """
+            insert into stock_snapshots (material_id, as_of, balance)
+            select m.id, :asOf, m.stock from materials m
+            """, nativeQuery = true)
+    int seedFromMaterials(LocalDateTime asOf);
+
+    /* =====================================================
+       COMPACTION: only materials with deltas in [prev, asOf)
+       Balance = that material's latest snapshot at or before
+       prev + the interval's deltas. Every run covers all
+       deltas before its asOf, so nothing lies between that
+       snapshot and prev. Materials created since have no
+       prior row and start from 0 (their first RECEIPT is in
+       the deltas). The interval is a range on idx_sm_time.
+       ===================================================== */
+    @Modifying
+    @Query(value = """
+            insert into stock_snapshots (material_id, as_of, balance)
+            select d.material_id, :asOf,
+                   coalesce((select s.balance from stock_snapshots s
+                             where s.material_id = d.material_id and s.as_of <= :prev
+                             order by s.as_of desc
+                             limit 1), 0)
+                 + sum(d.delta)
+            from stock_movements d
+            where d.created_at >= :prev and d.created_at < :asOf
+            group by d.material_id
+            """, nativeQuery = true)
+    int compact(LocalDateTime prev, LocalDateTime asOf);
+
+    /* ===== RETENTION: drop snapshots superseded at or before :cutoff ===== */
+    @Modifying
+    @Query(value = """
+            delete s from stock_snapshots s
+            join stock_snapshots n
+              on n.material_id = s.material_id
+             and n.as_of > s.as_of and n.as_of <= :cutoff
+            where s.as_of < :cutoff
+            """, nativeQuery = true)
+    int deleteSupersededBefore(LocalDateTime cutoff);
+}
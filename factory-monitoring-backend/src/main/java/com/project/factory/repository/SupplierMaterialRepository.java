@@ -1,8 +1,15 @@
 package com.project.factory.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.project.factory.model.SupplierMaterial;
 
 public interface SupplierMaterialRepository
         extends JpaRepository<SupplierMaterial, Long> {
+
+    /* ===== ALL CAPABILITIES: [supplierId, materialName, grade] ===== */
+    @Query(value = "select supplier_id, material_name, grade from supplier_materials", nativeQuery = true)
+    List<Object[]> findCapabilityRows();
 }
@@ -1,7 +1,14 @@
 package com.project.factory.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.project.factory.model.Supplier;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    /* ===== ALL SUPPLIERS: [id, name] (NO MATERIAL COLLECTIONS) ===== */
+    @Query("select s.id, s.name from Supplier s")
+    List<Object[]> findIdNames();
 }
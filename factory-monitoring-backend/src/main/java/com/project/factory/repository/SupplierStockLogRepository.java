@@ -1,10 +1,30 @@
 package com.project.factory.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.project.factory.model.SupplierStockLog;
 
 public interface SupplierStockLogRepository
         extends JpaRepository<SupplierStockLog, Long> {
 
     boolean existsBySupplierId(Long supplierId);
+
+    /* ===== [from, to): pruned to the partitions of those months ===== */
+    @Query("""
+            select l from SupplierStockLog l
+            where l.createdAt >= :from and l.createdAt < :to
+            order by l.createdAt, l.id
+            """)
+    List<SupplierStockLog> findInRange(LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            select l from SupplierStockLog l
+            where l.supplierId = :supplierId
+              and l.createdAt >= :from and l.createdAt < :to
+            order by l.createdAt, l.id
+            """)
+    List<SupplierStockLog> findSupplierInRange(Long supplierId, LocalDateTime from, LocalDateTime to);
 }
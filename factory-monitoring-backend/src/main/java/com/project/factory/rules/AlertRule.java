@@ -0,0 +1,36 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+
+import com.project.factory.event.BatchTransitionEvent;
+import com.project.factory.event.MachineStatusChangedEvent;
+
+/* =====================================================
+   ALERT RULE (PLUGGABLE)
+   Any @Component implementing this is picked up by the
+   RuleEngine. Hooks run with the machine's state already
+   updated for the event, under that machine's lock, so
+   they must stay in-memory and cheap: no SQL, no I/O.
+   Alerts are raised through the RuleContext and written
+   after the lock is released.
+   ===================================================== */
+public interface AlertRule {
+
+    default void onMachineStatus(
+            MachineStatusChangedEvent event,
+            MachineState machine,
+            RuleContext ctx
+    ) {
+    }
+
+    default void onBatchTransition(
+            BatchTransitionEvent event,
+            MachineState machine,
+            RuleContext ctx
+    ) {
+    }
+
+    // Periodic evaluation for time-based conditions
+    default void onTick(LocalDateTime now, MachineState machine, RuleContext ctx) {
+    }
+}
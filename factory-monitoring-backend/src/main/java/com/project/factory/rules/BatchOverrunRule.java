@@ -0,0 +1,22 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+
+/* Active batch still running past its estimatedEndTime (once per batch) */
+@Component
+public class BatchOverrunRule implements AlertRule {
+
+    @Override
+    public void onTick(LocalDateTime now, MachineState machine, RuleContext ctx) {
+        for (MachineState.ActiveBatch batch : machine.getActiveBatches()) {
+            if (batch.getEstimatedEnd() != null
+                    && now.isAfter(batch.getEstimatedEnd())
+                    && machine.firstTimeForBatch("overrun", batch.getBatchId())) {
+                ctx.raise("BATCH_OVERRUN", "MEDIUM", machine,
+                        "Batch \"" + batch.getProductName() + "\" running past its estimated end");
+            }
+        }
+    }
+}
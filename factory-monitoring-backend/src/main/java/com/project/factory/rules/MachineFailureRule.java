@@ -0,0 +1,22 @@
+package com.project.factory.rules;
+
+import org.springframework.stereotype.Component;
+
+import com.project.factory.event.MachineStatusChangedEvent;
+import com.project.factory.model.MachineStatus;
+
+/* Machine went to ERROR (was hard-coded in MachineService.updateStatus) */
+@Component
+public class MachineFailureRule implements AlertRule {
+
+    @Override
+    public void onMachineStatus(
+            MachineStatusChangedEvent event,
+            MachineState machine,
+            RuleContext ctx
+    ) {
+        if (event.getStatus() == MachineStatus.ERROR) {
+            ctx.raise("MACHINE_FAILURE", "HIGH", machine, "Machine failed");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.project.factory.event.BatchTransitionEvent;
+import com.project.factory.event.MachineStatusChangedEvent;
+import com.project.factory.model.MachineStatus;
+
+/* =====================================================
+   IN-MEMORY STATE OF ONE MACHINE FOR RULE EVALUATION
+   Guarded by its own monitor (see RuleEngine).
+   ===================================================== */
+public class MachineState {
+
+    // Longest window any rule looks back over (a shift is 8h)
+    private static final long FAILURE_WINDOW_HOURS = 24;
+
+    private final Long machineId;
+    private String machineName;
+    private MachineStatus status;
+    private LocalDateTime statusSince;
+
+    // Batch failure times, oldest first
+    private final Deque<LocalDateTime> failures = new ArrayDeque<>();
+
+    // IN_PROGRESS / PAUSED batches on this machine
+    private final Map<Long, ActiveBatch> activeBatches = new LinkedHashMap<>();
+
+    // rule key -> episode already alerted on (one episode at a time)
+    private final Map<String, Object> alerted = new HashMap<>();
+
+    // batch id -> rule keys already alerted on; dropped with the batch
+    private final Map<Long, Set<String>> batchAlerted = new HashMap<>();
+
+    MachineState(Long machineId, String machineName, MachineStatus status, LocalDateTime since) {
+        this.machineId = machineId;
+        this.machineName = machineName;
+        this.status = status;
+        this.statusSince = since;
+    }
+
+    /* ================= STATE UPDATES (ENGINE) ================= */
+
+    void apply(MachineStatusChangedEvent event) {
+        machineName = event.getMachineName();
+        if (event.getStatus() != status) {
+            status = event.getStatus();
+            statusSince = event.getChangedAt();
+        }
+    }
+
+    void apply(BatchTransitionEvent event) {
+        switch (event.getStatus()) {
+            case IN_PROGRESS, PAUSED -> trackBatch(
+                    event.getBatchId(), event.getProductName(), event.getEstimatedEndTime());
+            case COMPLETED -> untrackBatch(event.getBatchId());
+            case FAILED -> {
+                untrackBatch(event.getBatchId());
+                failures.addLast(event.getChangedAt());
+                trimFailures(event.getChangedAt());
+            }
+            default -> { }
+        }
+    }
+
+    void trackBatch(Long batchId, String productName, LocalDateTime estimatedEnd) {
+        activeBatches.put(batchId, new ActiveBatch(batchId, productName, estimatedEnd));
+    }
+
+    private void untrackBatch(Long batchId) {
+        activeBatches.remove(batchId);
+        batchAlerted.remove(batchId);
+    }
+
+    private void trimFailures(LocalDateTime now) {
+        LocalDateTime horizon = now.minusHours(FAILURE_WINDOW_HOURS);
+        while (!failures.isEmpty() && failures.peekFirst().isBefore(horizon)) {
+            failures.pollFirst();
+        }
+    }
+
+    /* ================= READS (RULES) ================= */
+
+    public Long getMachineId() { return machineId; }
+    public String getMachineName() { return machineName; }
+    public MachineStatus getStatus() { return status; }
+    public LocalDateTime getStatusSince() { return statusSince; }
+
+    public Collection<ActiveBatch> getActiveBatches() {
+        return activeBatches.values();
+    }
+
+    // Failures at or after "from", counted from the newest end
+    public int failuresSince(LocalDateTime from) {
+        int count = 0;
+        var it = failures.descendingIterator();
+        while (it.hasNext() && !it.next().isBefore(from)) {
+            count++;
+        }
+        return count;
+    }
+
+    // true the first time a rule sees this episode (pause start, batch id, shift...)
+    public boolean firstTime(String ruleKey, Object episode) {
+        return !Objects.equals(alerted.put(ruleKey, episode), episode);
+    }
+
+    // Same for rules that track every active batch at once (episodes overlap)
+    public boolean firstTimeForBatch(String ruleKey, Long batchId) {
+        return batchAlerted.computeIfAbsent(batchId, id -> new HashSet<>()).add(ruleKey);
+    }
+
+    /* ================= ACTIVE BATCH ================= */
+
+    public static final class ActiveBatch {
+        private final Long batchId;
+        private final String productName;
+        private final LocalDateTime estimatedEnd;
+
+        ActiveBatch(Long batchId, String productName, LocalDateTime estimatedEnd) {
+            this.batchId = batchId;
+            this.productName = productName;
+            this.estimatedEnd = estimatedEnd;
+        }
+
+        public Long getBatchId() { return batchId; }
+        public String getProductName() { return productName; }
+        public LocalDateTime getEstimatedEnd() { return estimatedEnd; }
+    }
+}
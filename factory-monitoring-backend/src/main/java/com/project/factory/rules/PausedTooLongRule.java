@@ -0,0 +1,32 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.model.MachineStatus;
+
+/* Machine has been PAUSED longer than rules.paused.max-minutes (once per pause) */
+@Component
+public class PausedTooLongRule implements AlertRule {
+
+    private final long maxMinutes;
+
+    public PausedTooLongRule(@Value("${rules.paused.max-minutes:30}") long maxMinutes) {
+        this.maxMinutes = maxMinutes;
+    }
+
+    @Override
+    public void onTick(LocalDateTime now, MachineState machine, RuleContext ctx) {
+        LocalDateTime since = machine.getStatusSince();
+
+        if (machine.getStatus() == MachineStatus.PAUSED
+                && since != null
+                && !since.plusMinutes(maxMinutes).isAfter(now)
+                && machine.firstTime("paused-too-long", since)) {
+            ctx.raise("MACHINE_PAUSED", "MEDIUM", machine,
+                    "Paused for more than " + maxMinutes + " minutes");
+        }
+    }
+}
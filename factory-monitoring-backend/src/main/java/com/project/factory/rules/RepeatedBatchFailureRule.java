@@ -0,0 +1,39 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.event.BatchTransitionEvent;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.model.Shift;
+
+/* rules.failures.per-shift failed batches on one machine within the same shift */
+@Component
+public class RepeatedBatchFailureRule implements AlertRule {
+
+    private final int threshold;
+
+    public RepeatedBatchFailureRule(@Value("${rules.failures.per-shift:3}") int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void onBatchTransition(
+            BatchTransitionEvent event,
+            MachineState machine,
+            RuleContext ctx
+    ) {
+        if (event.getStatus() != BatchStatus.FAILED) return;
+
+        LocalDateTime shiftStart = Shift.startOf(event.getChangedAt());
+        int failed = machine.failuresSince(shiftStart);
+
+        if (failed >= threshold && machine.firstTime("repeated-failure", shiftStart)) {
+            ctx.raise("REPEATED_BATCH_FAILURE", "HIGH", machine,
+                    failed + " failed batches in the "
+                    + Shift.of(event.getChangedAt()) + " shift");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/* =====================================================
+   PER-EVALUATION SCRATCH PAD
+   Collects alerts raised by rules; the engine emits them
+   once the machine lock is released.
+   ===================================================== */
+public class RuleContext {
+
+    private final LocalDateTime now;
+    private final List<Raised> raised = new ArrayList<>(2);
+
+    RuleContext(LocalDateTime now) {
+        this.now = now;
+    }
+
+    public LocalDateTime now() {
+        return now;
+    }
+
+    public void raise(String type, String severity, MachineState machine, String message) {
+        raised.add(new Raised(type, severity, machine.getMachineId(),
+                machine.getMachineName(), message));
+    }
+
+    List<Raised> raised() {
+        return raised;
+    }
+
+    static final class Raised {
+        final String type;
+        final String severity;
+        final Long machineId;
+        final String machineName;
+        final String message;
+
+        Raised(String type, String severity, Long machineId, String machineName, String message) {
+            this.type = type;
+            this.severity = severity;
+            this.machineId = machineId;
+            this.machineName = machineName;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.factory.rules;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.project.factory.dto.BatchView;
+import com.project.factory.dto.MachineView;
+import com.project.factory.event.BatchTransitionEvent;
+import com.project.factory.event.MachineStatusChangedEvent;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.service.AlertService;
+import com.project.factory.service.BatchQueryService;
+import com.project.factory.service.MachineRegistry;
+
+/* =====================================================
+   ALERT RULE ENGINE
+
+   Consumes committed machine / batch transitions and
+   evaluates every AlertRule bean against the affected
+   machine's in-memory state; time-based rules are also
+   ticked periodically. No SQL on the evaluation path:
+   state is seeded once at startup (fleet from the
+   machine registry, open batches from the batch read
+   model) and then maintained from the events alone.
+
+   One lock per machine: events for different machines
+   evaluate in parallel, events for one machine in order.
+   ===================================================== */
+@Component
+public class RuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleEngine.class);
+
+    private final List<AlertRule> rules;
+    private final MachineRegistry machineRegistry;
+    private final BatchQueryService batchQueryService;
+    private final AlertService alertService;
+
+    private final ConcurrentHashMap<Long, MachineState> machines = new ConcurrentHashMap<>();
+
+    public RuleEngine(
+            List<AlertRule> rules,
+            MachineRegistry machineRegistry,
+            BatchQueryService batchQueryService,
+            AlertService alertService
+    ) {
+        this.rules = rules;
+        this.machineRegistry = machineRegistry;
+        this.batchQueryService = batchQueryService;
+        this.alertService = alertService;
+    }
+
+    /* ================= SEED ================= */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        for (MachineView m : machineRegistry.fleet().getMachines()) {
+            machines.putIfAbsent(m.getId(), newState(m));
+        }
+
+        for (BatchStatus status : List.of(BatchStatus.IN_PROGRESS, BatchStatus.PAUSED)) {
+            for (BatchView b : batchQueryService.list(status, null)) {
+                MachineState state = state(b.getMachine().getId());
+                synchronized (state) {
+                    state.trackBatch(b.getId(), b.getProductName(), b.getEstimatedEndTime());
+                }
+            }
+        }
+
+        log.info("Rule engine seeded: {} machines, {} rules", machines.size(), rules.size());
+    }
+
+    /* ================= EVENTS ================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMachineStatus(MachineStatusChangedEvent event) {
+        MachineState state = state(event.getMachineId());
+        evaluate(state, event.getChangedAt(), (s, ctx) -> {
+            s.apply(event);
+            for (AlertRule rule : rules) {
+                rule.onMachineStatus(event, s, ctx);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBatchTransition(BatchTransitionEvent event) {
+        MachineState state = state(event.getMachineId());
+        evaluate(state, event.getChangedAt(), (s, ctx) -> {
+            s.apply(event);
+            for (AlertRule rule : rules) {
+                rule.onBatchTransition(event, s, ctx);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${rules.tick-ms:15000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        for (MachineState state : machines.values()) {
+            evaluate(state, now, (s, ctx) -> {
+                for (AlertRule rule : rules) {
+                    rule.onTick(now, s, ctx);
+                }
+            });
+        }
+    }
+
+    /* ================= EVICTION ================= */
+
+    // Deleted machine: drop its state so it stops ticking (after commit)
+    public void forget(Long machineId) {
+        machines.remove(machineId);
+    }
+
+    /* ================= EVALUATION ================= */
+
+    private void evaluate(
+            MachineState state,
+            LocalDateTime now,
+            BiConsumer<MachineState, RuleContext> step
+    ) {
+        RuleContext ctx = new RuleContext(now);
+
+        synchronized (state) {
+            step.accept(state, ctx);
+        }
+
+        // Outside the lock: the alert writer may apply back-pressure
+        for (RuleContext.Raised a : ctx.raised()) {
+            alertService.addAlert(a.type, a.severity, a.machineId, a.machineName, a.message);
+        }
+    }
+
+    private MachineState state(Long machineId) {
+        return machines.computeIfAbsent(
+                machineId,
+                id -> newState(machineRegistry.get(id))
+        );
+    }
+
+    private static MachineState newState(MachineView m) {
+        return new MachineState(m.getId(), m.getName(), m.getStatus(), m.getStatusChangedAt());
+    }
+}
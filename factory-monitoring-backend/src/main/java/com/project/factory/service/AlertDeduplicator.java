@@ -0,0 +1,83 @@
+package com.project.factory.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.repository.AlertRepository;
+
+/* =====================================================
+   OPEN-ALERT SET (DEDUPLICATION)
+
+   One key per unresolved (type, subject), the subject
+   being the machine, or the material for stock alerts
+   (the types never overlap). Rebuilt from
+   the alerts table at startup; afterwards the insert path
+   only does a set add, so an alert storm never scans the
+   table.
+
+   A claim is taken before the insert and handed back if
+   the transaction rolls back; resolve / clear-all release
+   keys only after their commit.
+   ===================================================== */
+@Component
+public class AlertDeduplicator implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertDeduplicator.class);
+
+    private final AlertRepository alertRepository;
+    private final Set<String> open = ConcurrentHashMap.newKeySet();
+
+    public AlertDeduplicator(AlertRepository alertRepository) {
+        this.alertRepository = alertRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        open.clear();
+        for (Object[] row : alertRepository.findOpenKeys()) {
+            open.add(key((String) row[0], (Long) row[1]));
+        }
+        log.info("Alert dedup set rebuilt with {} open keys", open.size());
+    }
+
+    /* ================= INSERT PATH ================= */
+
+    // false = an identical alert is already open
+    public boolean claim(String type, Long subjectId) {
+        String key = key(type, subjectId);
+        if (!open.add(key)) {
+            return false;
+        }
+        TransactionHooks.afterRollback(() -> open.remove(key));
+        return true;
+    }
+
+    // Insert failed outside a transaction: hand the claim back
+    public void unclaim(String type, Long subjectId) {
+        open.remove(key(type, subjectId));
+    }
+
+    /* ================= RESOLVE / CLEAR ================= */
+
+    public void releaseAfterCommit(String type, Long subjectId) {
+        String key = key(type, subjectId);
+        TransactionHooks.afterCommit(() -> open.remove(key));
+    }
+
+    public void clearAfterCommit() {
+        TransactionHooks.afterCommit(open::clear);
+    }
+
+    private static String key(String type, Long subjectId) {
+        return type + '#' + subjectId;
+    }
+}
@@ -0,0 +1,289 @@
+package com.project.factory.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.dto.AlertPipelineStats;
+import com.project.factory.event.AlertChangedEvent;
+import com.project.factory.model.Alert;
+import com.project.factory.repository.AlertRepository;
+
+/* =====================================================
+   ASYNC ALERT WRITER
+
+   AlertService hands committed alerts to a bounded queue
+   and returns; a single "alert-writer" thread drains
+   whatever has accumulated (up to batch-size) and writes
+   it with one saveAll, i.e. one JDBC batch. CREATED events
+   and the dashboard invalidation follow that commit, so
+   SSE clients still only ever see persisted alerts.
+
+   When the queue is full the overflow policy decides:
+     BLOCK       wait up to block-timeout-ms, then drop
+     DROP_OLDEST evict the oldest queued alert
+   Repeats of a queued alert never reach the queue: the
+   dedup claim is held until it is written. A dropped
+   alert gives its dedup claim back, so the next
+   occurrence can raise it again.
+
+   Clear-all sets a cutoff: queued alerts raised before it
+   are discarded instead of written (their dedup keys go
+   with the clear), and a batch already being written
+   finishes first, so the clear's delete removes it too.
+
+   Stops after the web server on shutdown and drains
+   whatever is still queued.
+   ===================================================== */
+@Component
+public class AlertPipeline implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertPipeline.class);
+
+    public enum OverflowPolicy { BLOCK, DROP_OLDEST }
+
+    private final AlertRepository alertRepository;
+    private final AlertDeduplicator deduplicator;
+    private final DashboardService dashboardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ArrayBlockingQueue<Alert> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy policy;
+    private final long blockTimeoutMillis;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    // Held while a batch is written; clear-all takes it to set the cutoff
+    private final Object flushLock = new Object();
+    private volatile LocalDateTime discardBefore;
+
+    /* ===== metrics ===== */
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    public AlertPipeline(
+            AlertRepository alertRepository,
+            AlertDeduplicator deduplicator,
+            DashboardService dashboardService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${alerts.pipeline.capacity:10000}") int capacity,
+            @Value("${alerts.pipeline.batch-size:200}") int batchSize,
+            @Value("${alerts.pipeline.overflow:BLOCK}") OverflowPolicy policy,
+            @Value("${alerts.pipeline.block-timeout-ms:500}") long blockTimeoutMillis
+    ) {
+        this.alertRepository = alertRepository;
+        this.deduplicator = deduplicator;
+        this.dashboardService = dashboardService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.policy = policy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    /* ================= PRODUCER SIDE ================= */
+
+    public void submit(Alert alert) {
+        enqueued.increment();
+
+        if (queue.offer(alert)) {
+            return;
+        }
+
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(alert, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        drop(alert);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(alert);
+                }
+            }
+            case DROP_OLDEST -> offerEvictingOldest(alert);
+        }
+    }
+
+    private void offerEvictingOldest(Alert alert) {
+        while (!queue.offer(alert)) {
+            Alert oldest = queue.poll();
+            if (oldest != null) {
+                drop(oldest);
+            }
+        }
+    }
+
+    private void drop(Alert alert) {
+        dropped.increment();
+        deduplicator.unclaim(alert.getType(), alert.subjectId());
+        log.warn("Alert pipeline full, dropped {} alert for {}",
+                alert.getType(), alert.getMachineId() != null
+                        ? "machine " + alert.getMachineId()
+                        : "material " + alert.getMaterialId());
+    }
+
+    /* ================= CLEAR-ALL ================= */
+
+    // Called inside the clearing transaction, before its delete
+    public void discardBefore(LocalDateTime cutoff) {
+        synchronized (flushLock) {
+            if (discardBefore == null || cutoff.isAfter(discardBefore)) {
+                discardBefore = cutoff;
+            }
+            int before = queue.size();
+            queue.removeIf(this::isDiscarded);
+            discarded.add(Math.max(0, before - queue.size()));
+        }
+    }
+
+    private boolean isDiscarded(Alert alert) {
+        LocalDateTime cutoff = discardBefore;
+        return cutoff != null && alert.getTime().isBefore(cutoff);
+    }
+
+    /* ================= WRITER THREAD ================= */
+
+    private void runWriter() {
+        List<Alert> batch = new ArrayList<>(batchSize);
+
+        // After stop() keep going until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                Alert first = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // stop() does not interrupt; ignore and re-check the loop
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Alert> batch) {
+        synchronized (flushLock) {
+            int before = batch.size();
+            batch.removeIf(this::isDiscarded);
+            discarded.add(before - batch.size());
+            if (batch.isEmpty()) return;
+
+            write(batch);
+        }
+    }
+
+    private void write(List<Alert> batch) {
+        long start = System.nanoTime();
+
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> alertRepository.saveAll(batch)
+            );
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            for (Alert alert : batch) {
+                deduplicator.unclaim(alert.getType(), alert.subjectId());
+            }
+            log.error("Alert pipeline failed to write {} alerts", batch.size(), e);
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos = elapsed;
+        written.add(batch.size());
+
+        dashboardService.invalidate();
+        for (Alert alert : batch) {
+            eventPublisher.publishEvent(
+                    new AlertChangedEvent(AlertChangedEvent.Change.CREATED, alert)
+            );
+        }
+    }
+
+    /* ================= LIFECYCLE ================= */
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "alert-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Alert pipeline stopped with {} alerts unwritten", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before / stop after the web server, so no request enqueues late
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /* ================= METRICS ================= */
+
+    public AlertPipelineStats stats() {
+        long n = flushes.sum();
+        return new AlertPipelineStats(
+                policy.name(),
+                queue.size(),
+                capacity,
+                enqueued.sum(),
+                written.sum(),
+                dropped.sum(),
+                failed.sum(),
+                discarded.sum(),
+                n,
+                n == 0 ? 0 : flushNanos.sum() / 1e6 / n,
+                maxFlushNanos.get() / 1e6,
+                lastFlushNanos / 1e6
+        );
+    }
+}
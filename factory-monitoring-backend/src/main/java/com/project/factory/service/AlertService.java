@@ -1,14 +1,19 @@
 package com.project.factory.service;
 
+import com.project.factory.event.AlertChangedEvent;
 import com.project.factory.model.Alert;
 import com.project.factory.model.Machine;
 import com.project.factory.model.MachineStatus;
 import com.project.factory.repository.AlertRepository;
 import com.project.factory.repository.MachineRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -16,17 +21,41 @@ public class AlertService {
 
     private final AlertRepository alertRepository;
     private final MachineRepository machineRepository;
+    private final MachineRegistry machineRegistry;
+    // Provider: MachineService depends on this service
+    private final ObjectProvider<MachineService> machineService;
+    private final AlertDeduplicator deduplicator;
+    private final AlertPipeline alertPipeline;
+    private final DashboardService dashboardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
 
     public AlertService(
             AlertRepository alertRepository,
-            MachineRepository machineRepository
+            MachineRepository machineRepository,
+            MachineRegistry machineRegistry,
+            ObjectProvider<MachineService> machineService,
+            AlertDeduplicator deduplicator,
+            AlertPipeline alertPipeline,
+            DashboardService dashboardService,
+            ApplicationEventPublisher eventPublisher,
+            OptimisticRetry optimisticRetry
     ) {
         this.alertRepository = alertRepository;
         this.machineRepository = machineRepository;
+        this.machineRegistry = machineRegistry;
+        this.machineService = machineService;
+        this.deduplicator = deduplicator;
+        this.alertPipeline = alertPipeline;
+        this.dashboardService = dashboardService;
+        this.eventPublisher = eventPublisher;
+        this.optimisticRetry = optimisticRetry;
     }
 
     /* =====================================================
        ADD ALERT (UPDATED – USES machineId)
+       Queued for the async writer once the caller commits;
+       no insert on the caller's request path.
        ===================================================== */
     public void addAlert(
             String type,
@@ -35,23 +64,70 @@ public class AlertService {
             String machineName,
             String message
     ) {
-        // Prevent duplicate maintenance alerts per machine
-        if ("MAINTENANCE".equals(type)) {
-            boolean exists =
-                    alertRepository.existsByTypeAndMachineAndResolvedFalse(
-                            type, machineName
-                    );
-            if (exists) return;
+        // One open alert per (type, machine): in-memory check, no table scan
+        if (!deduplicator.claim(type, machineId)) return;
+
+        Alert alert = newAlert(type, severity, machineId, machineName, message);
+        TransactionHooks.afterCommit(() -> alertPipeline.submit(alert));
+    }
+
+    /* =====================================================
+       ADD MATERIAL ALERT (LOW_STOCK)
+       One open alert per (type, material); no machine.
+       ===================================================== */
+    public void addMaterialAlert(
+            String type,
+            String severity,
+            Long materialId,
+            String message
+    ) {
+        if (!deduplicator.claim(type, materialId)) return;
+
+        Alert alert = newAlert(type, severity, null, null, message);
+        alert.setMaterialId(materialId);
+        TransactionHooks.afterCommit(() -> alertPipeline.submit(alert));
+    }
+
+    /* =====================================================
+       ADD ALERTS (BATCH)
+       Same alert for many machines. Machines that already
+       have this alert open are skipped. Returns the number
+       queued; the writer flushes them as one JDBC batch.
+       ===================================================== */
+    public int addAlerts(
+            String type,
+            String severity,
+            List<Machine> machines,
+            String message
+    ) {
+        List<Alert> alerts = new ArrayList<>();
+
+        for (Machine machine : machines) {
+            if (!deduplicator.claim(type, machine.getId())) continue;
+            alerts.add(newAlert(type, severity, machine.getId(), machine.getName(), message));
+        }
+
+        if (!alerts.isEmpty()) {
+            TransactionHooks.afterCommit(() -> alerts.forEach(alertPipeline::submit));
         }
+        return alerts.size();
+    }
 
+    private Alert newAlert(
+            String type,
+            String severity,
+            Long machineId,
+            String machineName,
+            String message
+    ) {
         Alert alert = new Alert();
         alert.setType(type);
         alert.setSeverity(severity);
         alert.setMachineId(machineId);   // ✅ IMPORTANT
         alert.setMachine(machineName);
         alert.setMessage(message);
-
-        alertRepository.save(alert);
+        alert.setTime(LocalDateTime.now());
+        return alert;
     }
 
     /* =====================================================
@@ -65,30 +141,67 @@ public class AlertService {
     /* =====================================================
        RESOLVE ALERT (FULLY WORKING)
        ===================================================== */
-    @Transactional
     public void resolveAlert(Long alertId) {
+        // Touches the versioned Machine row: retry on conflict
+        optimisticRetry.run(() -> doResolveAlert(alertId));
+    }
+
+    private void doResolveAlert(Long alertId) {
         Alert alert = alertRepository.findById(alertId)
                 .orElseThrow(() -> new RuntimeException("Alert not found"));
 
-        Machine machine = machineRepository.findById(alert.getMachineId())
-                .orElseThrow(() -> new RuntimeException("Machine not found"));
-
         // 🟠 MAINTENANCE RESOLVE
         if ("MAINTENANCE".equals(alert.getType())) {
+            Machine machine = machineRepository.findById(alert.getMachineId())
+                    .orElseThrow(() -> new RuntimeException("Machine not found"));
+
             LocalDate today = LocalDate.now();
             machine.setLastMaintenanceDate(today);
             machine.setNextMaintenanceDue(today.plusMonths(3));
+
+            machineRepository.save(machine);
+            machineRegistry.putAfterCommit(machine);
         }
 
         // 🔴 MACHINE FAILURE RESOLVE (UNFAIL)
+        // Same transition path as every other status change (history,
+        // status event for the stream and the rule engine)
         if ("MACHINE_FAILURE".equals(alert.getType())) {
-            machine.setStatus(MachineStatus.AVAILABLE);
+            machineService.getObject()
+                    .transitionStatus(alert.getMachineId(), MachineStatus.AVAILABLE);
         }
 
-        machineRepository.save(machine);
-
         alert.setResolved(true);
         alertRepository.save(alert);
+        deduplicator.releaseAfterCommit(alert.getType(), alert.subjectId());
+        dashboardService.invalidate();
+
+        eventPublisher.publishEvent(
+                new AlertChangedEvent(AlertChangedEvent.Change.RESOLVED, alert)
+        );
+    }
+
+    /* =====================================================
+       RESOLVE ALERTS OF A DELETED MACHINE
+       Nothing can act on them any more; their dedup keys
+       are released once the delete commits.
+       ===================================================== */
+    public void resolveForDeletedMachine(Long machineId) {
+        List<Alert> open = alertRepository.findByMachineIdAndResolvedFalse(machineId);
+        if (open.isEmpty()) return;
+
+        for (Alert alert : open) {
+            alert.setResolved(true);
+            deduplicator.releaseAfterCommit(alert.getType(), alert.subjectId());
+        }
+        alertRepository.saveAll(open);
+        dashboardService.invalidate();
+
+        for (Alert alert : open) {
+            eventPublisher.publishEvent(
+                    new AlertChangedEvent(AlertChangedEvent.Change.RESOLVED, alert)
+            );
+        }
     }
 
     /* =====================================================
@@ -96,6 +209,17 @@ public class AlertService {
        ===================================================== */
     @Transactional
     public void clearAll() {
+        // Alerts still queued in the writer would refill the cleared table
+        alertPipeline.discardBefore(LocalDateTime.now());
+        // Discarded alerts keep their claims if the clear fails: re-read the open set
+        TransactionHooks.afterRollback(deduplicator::rebuild);
+
         alertRepository.deleteAll();
+        deduplicator.clearAfterCommit();
+        dashboardService.invalidate();
+
+        eventPublisher.publishEvent(
+                new AlertChangedEvent(AlertChangedEvent.Change.CLEARED, null)
+        );
     }
 }
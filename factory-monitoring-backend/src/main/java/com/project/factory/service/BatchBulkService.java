@@ -0,0 +1,228 @@
+package com.project.factory.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.dto.BulkBatchResult;
+import com.project.factory.model.*;
+import com.project.factory.repository.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class BatchBulkService {
+
+    private final BatchRepository batchRepository;
+    private final MachineRepository machineRepository;
+    private final MaterialRepository materialRepository;
+    private final UserRepository userRepository;
+    private final StockReservationService stockReservationService;
+    private final DashboardService dashboardService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BatchBulkService(
+            BatchRepository batchRepository,
+            MachineRepository machineRepository,
+            MaterialRepository materialRepository,
+            UserRepository userRepository,
+            StockReservationService stockReservationService,
+            DashboardService dashboardService
+    ) {
+        this.batchRepository = batchRepository;
+        this.machineRepository = machineRepository;
+        this.materialRepository = materialRepository;
+        this.userRepository = userRepository;
+        this.stockReservationService = stockReservationService;
+        this.dashboardService = dashboardService;
+    }
+
+    /* =====================================================
+       BULK SCHEDULE
+       1. one prefetch each: machines, busy machines,
+          operators, materials
+       2. validate every item in memory, tracking the stock
+          still available after earlier accepted items
+       3. reserve stock for all accepted items in one
+          conditional JDBC batch (all-or-nothing)
+       4. persist through Hibernate JDBC batching
+       Same rules as BatchService.createBatch. A rejected
+       item does not stop the others.
+       ===================================================== */
+    @Transactional
+    public List<BulkBatchResult> createBatches(List<Batch> batches) {
+
+        Map<Long, Machine> machines = byId(
+                machineRepository.findAllById(collectIds(batches,
+                        b -> b.getMachine() == null ? null : b.getMachine().getId())),
+                Machine::getId
+        );
+
+        Set<Long> busyMachines = new HashSet<>(
+                machines.isEmpty()
+                        ? List.of()
+                        : batchRepository.findMachineIdsWithStatusIn(
+                                machines.keySet(),
+                                List.of(BatchStatus.IN_PROGRESS, BatchStatus.PAUSED)
+                          )
+        );
+
+        Set<Long> operators = byId(
+                userRepository.findAllById(collectIds(batches,
+                        b -> b.getOperator() == null ? null : b.getOperator().getId())),
+                User::getId
+        ).keySet();
+
+        Set<Long> materialIds = new HashSet<>();
+        for (Batch b : batches) {
+            if (b.getMaterials() == null) continue;
+            for (BatchMaterial bm : b.getMaterials()) {
+                if (bm.getMaterial() != null && bm.getMaterial().getId() != null) {
+                    materialIds.add(bm.getMaterial().getId());
+                }
+            }
+        }
+        Map<Long, Material> materials = byId(
+                materialRepository.findAllById(materialIds),
+                Material::getId
+        );
+
+        Map<Long, Integer> available = new HashMap<>();
+        materials.forEach((id, m) -> available.put(id, m.getStock()));
+
+        /* ---------- validate in memory ---------- */
+
+        List<BulkBatchResult> results = new ArrayList<>(batches.size());
+        List<Batch> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<BatchMaterial> reservations = new ArrayList<>();
+
+        for (int i = 0; i < batches.size(); i++) {
+            Batch batch = batches.get(i);
+            String error = validate(batch, machines, busyMachines, operators, materials, available);
+
+            if (error != null) {
+                results.add(BulkBatchResult.rejected(i, error));
+                continue;
+            }
+
+            batch.setMachine(machines.get(batch.getMachine().getId()));
+            batch.setOperator(userRepository.getReferenceById(batch.getOperator().getId()));
+            batch.setStatus(BatchStatus.SCHEDULED);
+
+            if (batch.getMaterials() != null) {
+                for (BatchMaterial bm : batch.getMaterials()) {
+                    bm.setBatch(batch);
+                    bm.setMaterial(materials.get(bm.getMaterial().getId()));
+                    reservations.add(bm);
+                }
+            }
+
+            accepted.add(batch);
+            acceptedIndexes.add(i);
+            results.add(null);      // filled in after insert
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        /* ---------- reserve + persist ---------- */
+
+        // Rechecked atomically in SQL: a concurrent scheduler that took
+        // the same stock since the prefetch fails the whole import.
+        stockReservationService.reserve(reservations);
+
+        batchRepository.saveAll(accepted);
+        entityManager.flush();
+
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            results.set(index, BulkBatchResult.created(index, accepted.get(k).getId()));
+        }
+
+        dashboardService.invalidate();
+        return results;
+    }
+
+    /* ================= VALIDATION ================= */
+
+    private String validate(
+            Batch batch,
+            Map<Long, Machine> machines,
+            Set<Long> busyMachines,
+            Set<Long> operators,
+            Map<Long, Material> materials,
+            Map<Long, Integer> available
+    ) {
+        if (batch.getMachine() == null || batch.getMachine().getId() == null) {
+            return "Machine is required";
+        }
+        Machine machine = machines.get(batch.getMachine().getId());
+        if (machine == null) {
+            return "Machine not found";
+        }
+        if (machine.getStatus() != MachineStatus.AVAILABLE) {
+            return "Machine not AVAILABLE";
+        }
+        if (busyMachines.contains(machine.getId())) {
+            return "Machine already has active batch";
+        }
+        if (batch.getOperator() == null
+                || !operators.contains(batch.getOperator().getId())) {
+            return "Operator not found";
+        }
+
+        if (batch.getMaterials() == null) {
+            return null;
+        }
+
+        Map<Long, Integer> needed = new HashMap<>();
+        for (BatchMaterial bm : batch.getMaterials()) {
+            if (bm.getMaterial() == null || !materials.containsKey(bm.getMaterial().getId())) {
+                return "Material not found";
+            }
+            if (bm.getQuantity() == null || bm.getQuantity() <= 0) {
+                return "Material quantity must be positive";
+            }
+            needed.merge(bm.getMaterial().getId(), bm.getQuantity(), Integer::sum);
+        }
+
+        for (Map.Entry<Long, Integer> e : needed.entrySet()) {
+            if (available.get(e.getKey()) < e.getValue()) {
+                return "Insufficient stock for material: "
+                        + materials.get(e.getKey()).getName();
+            }
+        }
+
+        // Accepted: later items in the same import see the reduced stock
+        needed.forEach((id, qty) -> available.merge(id, -qty, Integer::sum));
+        return null;
+    }
+
+    /* ================= HELPERS ================= */
+
+    private Set<Long> collectIds(List<Batch> batches, Function<Batch, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for (Batch b : batches) {
+            Long value = id.apply(b);
+            if (value != null) ids.add(value);
+        }
+        return ids;
+    }
+
+    private <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
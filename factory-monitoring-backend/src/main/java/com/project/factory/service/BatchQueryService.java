@@ -0,0 +1,103 @@
+package com.project.factory.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.dto.BatchMaterialRow;
+import com.project.factory.dto.BatchPage;
+import com.project.factory.dto.BatchView;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.repository.BatchRepository;
+
+/* =====================================================
+   BATCH READ MODEL
+   Every listing costs a fixed number of round trips:
+   one projection query for the batches (machine and
+   operator joined in), plus one IN query per
+   MATERIAL_CHUNK batches for their materials.
+   ===================================================== */
+@Service
+@Transactional(readOnly = true)
+public class BatchQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Keeps the IN list well under packet / plan-cache limits
+    private static final int MATERIAL_CHUNK = 1000;
+
+    private final BatchRepository batchRepository;
+
+    public BatchQueryService(BatchRepository batchRepository) {
+        this.batchRepository = batchRepository;
+    }
+
+    /* ================= LIST (UNPAGED) ================= */
+
+    public List<BatchView> list(BatchStatus status, Long machineId) {
+        List<BatchView> views = batchRepository.findViews(
+                status, machineId, null, Pageable.unpaged()
+        );
+        attachMaterials(views);
+        return views;
+    }
+
+    /* ================= KEYSET PAGE ================= */
+
+    public BatchPage page(BatchStatus status, Long machineId, Long afterId, Integer size) {
+
+        int limit = size == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        List<BatchView> rows = batchRepository.findViews(
+                status, machineId, afterId, PageRequest.of(0, limit + 1)
+        );
+
+        boolean hasMore = rows.size() > limit;
+        List<BatchView> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        attachMaterials(items);
+
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new BatchPage(items, nextCursor, items.size());
+    }
+
+    /* ================= SINGLE ================= */
+
+    public BatchView get(Long batchId) {
+        BatchView view = batchRepository.findViewById(batchId)
+                .orElseThrow(() -> new RuntimeException("Batch not found"));
+        attachMaterials(List.of(view));
+        return view;
+    }
+
+    /* ================= MATERIALS ================= */
+
+    private void attachMaterials(List<BatchView> views) {
+        if (views.isEmpty()) return;
+
+        Map<Long, BatchView> byId = new HashMap<>(views.size() * 2);
+        for (BatchView v : views) {
+            byId.put(v.getId(), v);
+        }
+
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += MATERIAL_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MATERIAL_CHUNK, ids.size()));
+
+            for (BatchMaterialRow row : batchRepository.findMaterialRows(chunk)) {
+                byId.get(row.getBatchId())
+                        .getMaterials()
+                        .add(new BatchView.MaterialLine(row));
+            }
+        }
+    }
+}
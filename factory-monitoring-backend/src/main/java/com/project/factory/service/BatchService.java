@@ -1,7 +1,10 @@
 package com.project.factory.service;
 
+import com.project.factory.dto.MachineView;
+import com.project.factory.event.BatchTransitionEvent;
 import com.project.factory.model.*;
 import com.project.factory.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,19 +19,34 @@ public class BatchService {
     private final MaterialRepository materialRepository;
     private final MachineService machineService;
     private final ProductionLogService productionLogService; // ✅ ADDED
+    private final DashboardService dashboardService;
+    private final StockReservationService stockReservationService;
+    private final StockLedger stockLedger;
+    private final OptimisticRetry optimisticRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BatchService(
             BatchRepository batchRepository,
             MachineRepository machineRepository,
             MaterialRepository materialRepository,
             MachineService machineService,
-            ProductionLogService productionLogService // ✅ ADDED
+            ProductionLogService productionLogService, // ✅ ADDED
+            DashboardService dashboardService,
+            StockReservationService stockReservationService,
+            StockLedger stockLedger,
+            OptimisticRetry optimisticRetry,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.batchRepository = batchRepository;
         this.machineRepository = machineRepository;
         this.materialRepository = materialRepository;
         this.machineService = machineService;
         this.productionLogService = productionLogService; // ✅ ADDED
+        this.dashboardService = dashboardService;
+        this.stockReservationService = stockReservationService;
+        this.stockLedger = stockLedger;
+        this.optimisticRetry = optimisticRetry;
+        this.eventPublisher = eventPublisher;
     }
 
     /* =====================================================
@@ -38,9 +56,8 @@ public class BatchService {
     @Transactional
     public Batch createBatch(Batch batch) {
 
-        Machine machine = machineRepository.findById(
-                batch.getMachine().getId()
-        ).orElseThrow(() -> new RuntimeException("Machine not found"));
+        // Status read from the machine registry, not MySQL
+        MachineView machine = machineService.getMachine(batch.getMachine().getId());
 
         if (machine.getStatus() != MachineStatus.AVAILABLE) {
             throw new RuntimeException("Machine not AVAILABLE");
@@ -48,7 +65,7 @@ public class BatchService {
 
         List<Batch> active =
                 batchRepository.findByMachineAndStatusIn(
-                        machine,
+                        machineRepository.getReferenceById(machine.getId()),
                         List.of(BatchStatus.IN_PROGRESS, BatchStatus.PAUSED)
                 );
 
@@ -57,27 +74,20 @@ public class BatchService {
         }
 
         if (batch.getMaterials() != null) {
-            for (BatchMaterial bm : batch.getMaterials()) {
-
-                Material material = materialRepository.findById(
-                        bm.getMaterial().getId()
-                ).orElseThrow(() -> new RuntimeException("Material not found"));
-
-                if (material.getStock() < bm.getQuantity()) {
-                    throw new RuntimeException(
-                            "Insufficient stock for material: " + material.getName()
-                    );
-                }
-
-                material.setStock(material.getStock() - bm.getQuantity());
-                materialRepository.save(material);
 
+            for (BatchMaterial bm : batch.getMaterials()) {
                 bm.setBatch(batch);
-                bm.setMaterial(material);
+                bm.setMaterial(
+                        materialRepository.getReferenceById(bm.getMaterial().getId())
+                );
             }
+
+            // Atomic, all-or-nothing stock reservation (one JDBC batch)
+            stockReservationService.reserve(batch.getMaterials());
         }
 
         batch.setStatus(BatchStatus.SCHEDULED);
+        dashboardService.invalidate();
         return batchRepository.save(batch);
     }
 
@@ -85,8 +95,11 @@ public class BatchService {
        UPDATE BATCH
        ===================================================== */
 
-    @Transactional
     public Batch updateBatch(Long batchId, Batch updated) {
+        return optimisticRetry.execute(() -> doUpdateBatch(batchId, updated));
+    }
+
+    private Batch doUpdateBatch(Long batchId, Batch updated) {
 
         Batch existing = getBatch(batchId);
 
@@ -99,50 +112,49 @@ public class BatchService {
         existing.setEstimatedStartTime(updated.getEstimatedStartTime());
         existing.setEstimatedEndTime(updated.getEstimatedEndTime());
 
-        if (existing.getMaterials() != null) {
-            for (BatchMaterial oldBm : existing.getMaterials()) {
-                Material material = oldBm.getMaterial();
-                material.setStock(material.getStock() + oldBm.getQuantity());
-                materialRepository.save(material);
-            }
-        }
+        // Net old vs new quantities and apply them atomically
+        stockReservationService.rebalance(
+                existing,
+                existing.getMaterials(),
+                updated.getMaterials()
+        );
 
         existing.getMaterials().clear();
 
         if (updated.getMaterials() != null) {
             for (BatchMaterial newBm : updated.getMaterials()) {
 
-                Material material = materialRepository.findById(
-                        newBm.getMaterial().getId()
-                ).orElseThrow(() -> new RuntimeException("Material not found"));
-
-                if (material.getStock() < newBm.getQuantity()) {
-                    throw new RuntimeException(
-                            "Insufficient stock for material: " + material.getName()
-                    );
-                }
-
-                material.setStock(material.getStock() - newBm.getQuantity());
-                materialRepository.save(material);
-
                 BatchMaterial bm = new BatchMaterial();
                 bm.setBatch(existing);
-                bm.setMaterial(material);
+                bm.setMaterial(
+                        materialRepository.getReferenceById(newBm.getMaterial().getId())
+                );
                 bm.setQuantity(newBm.getQuantity());
 
                 existing.getMaterials().add(bm);
             }
         }
 
+        dashboardService.invalidate();
         return batchRepository.save(existing);
     }
 
+    /* =====================================================
+       STATE TRANSITIONS
+       Versioned Batch / Machine rows + OptimisticRetry: a
+       concurrent double-click loses the version check, is
+       retried, and then fails the status guard cleanly.
+       ===================================================== */
+
     /* =====================================================
        START / RESUME
        ===================================================== */
 
-    @Transactional
     public void startBatch(Long batchId) {
+        optimisticRetry.run(() -> doStartBatch(batchId));
+    }
+
+    private void doStartBatch(Long batchId) {
         Batch batch = getBatch(batchId);
 
         if (batch.getStatus() != BatchStatus.SCHEDULED &&
@@ -154,18 +166,24 @@ public class BatchService {
             batch.setActualStartTime(LocalDateTime.now());
         }
 
+        BatchStatus previous = batch.getStatus();
         batch.setStatus(BatchStatus.IN_PROGRESS);
         batchRepository.save(batch);
+        publishTransition(batch, previous);
 
         machineService.markRunning(batch.getMachine().getId());
+        dashboardService.invalidate();
     }
 
     /* =====================================================
        PAUSE
        ===================================================== */
 
-    @Transactional
     public void pauseBatch(Long batchId) {
+        optimisticRetry.run(() -> doPauseBatch(batchId));
+    }
+
+    private void doPauseBatch(Long batchId) {
         Batch batch = getBatch(batchId);
 
         if (batch.getStatus() != BatchStatus.IN_PROGRESS) {
@@ -174,16 +192,21 @@ public class BatchService {
 
         batch.setStatus(BatchStatus.PAUSED);
         batchRepository.save(batch);
+        publishTransition(batch, BatchStatus.IN_PROGRESS);
 
         machineService.markPaused(batch.getMachine().getId());
+        dashboardService.invalidate();
     }
 
     /* =====================================================
        COMPLETE (✅ PRODUCTION LOG CREATED HERE)
        ===================================================== */
 
-    @Transactional
     public void completeBatch(Long batchId) {
+        optimisticRetry.run(() -> doCompleteBatch(batchId));
+    }
+
+    private void doCompleteBatch(Long batchId) {
         Batch batch = getBatch(batchId);
 
         if (batch.getStatus() != BatchStatus.IN_PROGRESS) {
@@ -195,17 +218,23 @@ public class BatchService {
 
         // ✅ CREATE PRODUCTION LOG
         productionLogService.createFromBatch(batch);
+        stockLedger.consumed(batch);
 
         batchRepository.save(batch);
+        publishTransition(batch, BatchStatus.IN_PROGRESS);
         machineService.markAvailable(batch.getMachine().getId());
+        dashboardService.invalidate();
     }
 
     /* =====================================================
        FAIL (RESTORE MATERIAL + PRODUCTION LOG)
        ===================================================== */
 
-    @Transactional
     public void failBatch(Long batchId, String reason) {
+        optimisticRetry.run(() -> doFailBatch(batchId, reason));
+    }
+
+    private void doFailBatch(Long batchId, String reason) {
         Batch batch = getBatch(batchId);
 
         if (batch.getStatus() != BatchStatus.IN_PROGRESS &&
@@ -213,14 +242,9 @@ public class BatchService {
             throw new RuntimeException("Batch cannot fail");
         }
 
-        if (batch.getMaterials() != null) {
-            for (BatchMaterial bm : batch.getMaterials()) {
-                Material material = bm.getMaterial();
-                material.setStock(material.getStock() + bm.getQuantity());
-                materialRepository.save(material);
-            }
-        }
+        stockReservationService.release(batch.getMaterials());
 
+        BatchStatus previous = batch.getStatus();
         batch.setStatus(BatchStatus.FAILED);
         batch.setFailureReason(reason);
         batch.setActualEndTime(LocalDateTime.now());
@@ -229,19 +253,30 @@ public class BatchService {
         productionLogService.createFromBatch(batch);
 
         batchRepository.save(batch);
+        publishTransition(batch, previous);
         machineService.markError(batch.getMachine().getId());
+        dashboardService.invalidate();
     }
 
     /* =====================================================
        HELPERS
        ===================================================== */
 
+    // Consumed after commit by the alert rule engine
+    private void publishTransition(Batch batch, BatchStatus previous) {
+        eventPublisher.publishEvent(new BatchTransitionEvent(
+                batch.getId(),
+                batch.getMachine().getId(),
+                batch.getProductName(),
+                previous,
+                batch.getStatus(),
+                batch.getEstimatedEndTime(),
+                LocalDateTime.now()
+        ));
+    }
+
     public Batch getBatch(Long id) {
         return batchRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Batch not found"));
     }
-
-    public List<Batch> getAllBatches() {
-        return batchRepository.findAll();
-    }
 }
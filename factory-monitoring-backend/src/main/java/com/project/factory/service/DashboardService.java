@@ -0,0 +1,171 @@
+package com.project.factory.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.dto.DashboardSnapshot;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.model.MachineStatus;
+import com.project.factory.repository.AlertRepository;
+import com.project.factory.repository.BatchRepository;
+import com.project.factory.repository.MachineRepository;
+import com.project.factory.repository.MaterialRepository;
+import com.project.factory.repository.ProductionRollupRepository;
+import com.project.factory.repository.SupplierRepository;
+
+@Service
+public class DashboardService {
+
+    private final MachineRepository machineRepo;
+    private final BatchRepository batchRepo;
+    private final AlertRepository alertRepo;
+    private final MaterialRepository materialRepo;
+    private final SupplierRepository supplierRepo;
+    private final ProductionRollupRepository rollupRepo;
+    // Provider: the monitor raises alerts through AlertService, which depends on this service
+    private final ObjectProvider<LowStockMonitor> lowStockMonitor;
+    // Read-only transaction for rebuilds only; cache hits never open one
+    private final TransactionTemplate readOnlyTx;
+
+    /* ===== CACHE STATE ===== */
+    private volatile DashboardSnapshot cached;
+    private volatile LocalDate cachedDay;
+    // Bumped on every invalidation; a snapshot built while the
+    // generation moved on is returned but not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    public DashboardService(
+            MachineRepository machineRepo,
+            BatchRepository batchRepo,
+            AlertRepository alertRepo,
+            MaterialRepository materialRepo,
+            SupplierRepository supplierRepo,
+            ProductionRollupRepository rollupRepo,
+            ObjectProvider<LowStockMonitor> lowStockMonitor,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.machineRepo = machineRepo;
+        this.batchRepo = batchRepo;
+        this.alertRepo = alertRepo;
+        this.materialRepo = materialRepo;
+        this.supplierRepo = supplierRepo;
+        this.rollupRepo = rollupRepo;
+        this.lowStockMonitor = lowStockMonitor;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /* =====================================================
+       GET SNAPSHOT (CACHED)
+       ===================================================== */
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot snapshot = cached;
+        LocalDate today = LocalDate.now();
+
+        if (snapshot != null && today.equals(cachedDay)) {
+            return snapshot;
+        }
+
+        long gen = generation.get();
+        snapshot = readOnlyTx.execute(status -> build(today));
+
+        synchronized (this) {
+            if (generation.get() == gen) {
+                cached = snapshot;
+                cachedDay = today;
+            }
+        }
+        return snapshot;
+    }
+
+    /* =====================================================
+       INVALIDATE (CALLED BY SERVICE-LAYER MUTATIONS)
+       ===================================================== */
+    public void invalidate() {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                generation.incrementAndGet();
+                cached = null;
+            }
+        });
+    }
+
+    /* =====================================================
+       BUILD (AGGREGATE QUERIES ONLY, NO findAll)
+       ===================================================== */
+    private DashboardSnapshot build(LocalDate today) {
+        DashboardSnapshot s = new DashboardSnapshot();
+
+        Map<String, Long> machines = zeroed(MachineStatus.values());
+        fill(machines, machineRepo.countGroupedByStatus());
+        s.setMachinesByStatus(machines);
+        s.setTotalMachines(sum(machines));
+        s.setMaintenanceDueMachines(
+                machineRepo.countByNextMaintenanceDueLessThanEqual(today)
+        );
+
+        Map<String, Long> batches = zeroed(BatchStatus.values());
+        fill(batches, batchRepo.countGroupedByStatus());
+        s.setBatchesByStatus(batches);
+
+        Map<String, Long> alerts = new LinkedHashMap<>();
+        alerts.put("HIGH", 0L);
+        alerts.put("MEDIUM", 0L);
+        alerts.put("LOW", 0L);
+        fill(alerts, alertRepo.countActiveGroupedBySeverity());
+        s.setActiveAlertsBySeverity(alerts);
+        s.setActiveAlerts(sum(alerts));
+
+        s.setTotalMaterials(materialRepo.count());
+        s.setLowStockMaterials(lowStockMonitor.getObject().getLowStock());
+        s.setTotalSuppliers(supplierRepo.count());
+
+        List<Object[]> totals = rollupRepo.totalsForDay(today);
+        if (!totals.isEmpty()) {
+            Object[] t = totals.get(0);
+            s.setTodayProducedQty(asLong(t[0]));
+            s.setTodayCompletedBatches(asLong(t[1]));
+            s.setTodayFailedBatches(asLong(t[2]));
+        }
+
+        s.setGeneratedAt(LocalDateTime.now());
+        return s;
+    }
+
+    /* ================= HELPERS ================= */
+
+    private Map<String, Long> zeroed(Enum<?>[] keys) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Enum<?> key : keys) {
+            map.put(key.name(), 0L);
+        }
+        return map;
+    }
+
+    private void fill(Map<String, Long> target, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            target.put(String.valueOf(row[0]), asLong(row[1]));
+        }
+    }
+
+    private long sum(Map<String, Long> counts) {
+        long total = 0;
+        for (Long v : counts.values()) {
+            total += v;
+        }
+        return total;
+    }
+
+    private long asLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,197 @@
+package com.project.factory.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.dto.MaterialStockLevel;
+import com.project.factory.model.Material;
+import com.project.factory.repository.MaterialRepository;
+
+/* =====================================================
+   LOW-STOCK MONITOR (INCREMENTAL)
+
+   Every material's stock and reorder threshold is held
+   in memory, loaded once at startup. StockLedger passes
+   each transaction's net stock change per material just
+   before commit; only those materials are re-evaluated,
+   as a map lookup and a compare, so batch creation pays
+   no query for it. Below threshold raises a LOW_STOCK
+   alert, deduplicated per material by AlertService.
+
+   Deltas are applied to the map after commit: they
+   commute, so the map converges on the table whatever
+   order commits land in. A transaction sees its own
+   deltas on top of the committed ones; a concurrent
+   commit still in flight may be missed for that one
+   evaluation. A material first seen in a transaction
+   (created elsewhere) is read once.
+
+   GET /api/materials/low-stock is served from a list
+   rebuilt only after a change (stamp, as for the
+   machine fleet).
+   ===================================================== */
+@Component
+public class LowStockMonitor implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    public static final String ALERT_TYPE = "LOW_STOCK";
+
+    private final MaterialRepository materialRepo;
+    private final AlertService alertService;
+    private final int defaultThreshold;
+
+    private final ConcurrentHashMap<Long, MaterialStockLevel> levels = new ConcurrentHashMap<>();
+    private final AtomicLong stamp = new AtomicLong();
+
+    private volatile LowStockList lowStock;
+
+    public LowStockMonitor(
+            MaterialRepository materialRepo,
+            AlertService alertService,
+            @Value("${materials.default-reorder-threshold:10}") int defaultThreshold
+    ) {
+        this.materialRepo = materialRepo;
+        this.alertService = alertService;
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Material m : materialRepo.findAll()) {
+            levels.put(m.getId(), level(m));
+        }
+        stamp.incrementAndGet();
+        log.info("Low-stock monitor loaded {} materials", levels.size());
+    }
+
+    // Once the alert dedup set is loaded: raise what was already low
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweep() {
+        for (MaterialStockLevel level : levels.values()) {
+            if (level.isLow()) raise(level);
+        }
+    }
+
+    /* =====================================================
+       STOCK CHANGED (StockLedger, BEFORE COMMIT)
+       net: material id -> summed delta of the transaction
+       ===================================================== */
+    public void stockChanged(Map<Long, Integer> net, Map<Long, Material> materials) {
+        Map<Long, Integer> known = new HashMap<>();
+        List<MaterialStockLevel> fresh = new ArrayList<>();
+
+        net.forEach((id, delta) -> {
+            MaterialStockLevel current = levels.get(id);
+            MaterialStockLevel next;
+
+            if (current != null) {
+                next = current.withStock(current.getStock() + delta);
+                known.put(id, delta);
+            } else {
+                // Read inside the transaction: already includes this delta
+                next = level(materials.get(id));
+                fresh.add(next);
+            }
+
+            if (next.isLow()) raise(next);
+        });
+
+        TransactionHooks.afterCommit(() -> {
+            known.forEach((id, delta) ->
+                    levels.computeIfPresent(id, (k, v) -> v.withStock(v.getStock() + delta)));
+            for (MaterialStockLevel level : fresh) {
+                levels.putIfAbsent(level.getMaterialId(), level);
+            }
+            stamp.incrementAndGet();
+        });
+    }
+
+    /* =====================================================
+       THRESHOLD CHANGED (MaterialService, IN TRANSACTION)
+       ===================================================== */
+    public void thresholdChanged(Material material) {
+        MaterialStockLevel current = levels.get(material.getId());
+        MaterialStockLevel next = current != null
+                ? current.withReorderThreshold(threshold(material))
+                : level(material);
+
+        if (next.isLow()) raise(next);
+
+        TransactionHooks.afterCommit(() -> {
+            levels.compute(next.getMaterialId(), (k, v) ->
+                    v != null ? v.withReorderThreshold(next.getReorderThreshold()) : next);
+            stamp.incrementAndGet();
+        });
+    }
+
+    /* ================= READS ================= */
+
+    // Lowest stock first
+    public List<MaterialStockLevel> getLowStock() {
+        // Stamp first: the list may be newer than its label, never older
+        long current = stamp.get();
+        LowStockList list = lowStock;
+        if (list != null && list.stamp == current) {
+            return list.materials;
+        }
+
+        List<MaterialStockLevel> low = new ArrayList<>();
+        for (MaterialStockLevel level : levels.values()) {
+            if (level.isLow()) low.add(level);
+        }
+        low.sort(Comparator.comparingLong(MaterialStockLevel::getStock)
+                .thenComparing(MaterialStockLevel::getMaterialId));
+
+        list = new LowStockList(current, List.copyOf(low));
+        lowStock = list;
+        return list.materials;
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void raise(MaterialStockLevel level) {
+        alertService.addMaterialAlert(
+                ALERT_TYPE,
+                level.getStock() <= 0 ? "HIGH" : "MEDIUM",
+                level.getMaterialId(),
+                "Low stock: " + level.getName()
+                        + " (grade " + level.getGrade() + ", " + level.getLocation() + ") at "
+                        + level.getStock() + ", reorder threshold " + level.getReorderThreshold()
+        );
+    }
+
+    private MaterialStockLevel level(Material m) {
+        return new MaterialStockLevel(
+                m.getId(), m.getName(), m.getGrade(), m.getLocation(), m.getStock(), threshold(m)
+        );
+    }
+
+    private int threshold(Material m) {
+        return m.getReorderThreshold() != null ? m.getReorderThreshold() : defaultThreshold;
+    }
+
+    private static final class LowStockList {
+
+        private final long stamp;
+        private final List<MaterialStockLevel> materials;
+
+        private LowStockList(long stamp, List<MaterialStockLevel> materials) {
+            this.stamp = stamp;
+            this.materials = materials;
+        }
+    }
+}
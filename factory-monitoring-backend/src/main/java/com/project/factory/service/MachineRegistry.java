@@ -0,0 +1,208 @@
+package com.project.factory.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.dto.MachineView;
+import com.project.factory.model.Machine;
+import com.project.factory.model.MachineStatus;
+import com.project.factory.repository.MachineRepository;
+
+/* =====================================================
+   IN-MEMORY MACHINE REGISTRY (WRITE-THROUGH)
+
+   The whole fleet (a few hundred rows) is loaded once at
+   startup and held as immutable MachineView snapshots.
+   Reads never touch MySQL.
+
+   Writes go to the database first; the registry entry is
+   replaced only after commit, and only by a snapshot with
+   a higher @Version, so out-of-order commit hooks cannot
+   roll an entry back. Status transitions are a single
+   conditional UPDATE against the cached version: a miss
+   means another writer (or another instance) got there
+   first, the entry is evicted and the caller's optimistic
+   retry re-reads it from the database.
+
+   Every change bumps the fleet stamp used as the ETag of
+   GET /api/machines.
+   ===================================================== */
+@Component
+public class MachineRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MachineRegistry.class);
+
+    // Unknown ids are answered from memory for this long before re-checking
+    private static final long UNKNOWN_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int UNKNOWN_MAX = 10_000;
+
+    private final MachineRepository machineRepository;
+
+    private final ConcurrentHashMap<Long, MachineView> machines = new ConcurrentHashMap<>();
+    private final AtomicLong stamp = new AtomicLong();
+
+    // machine id -> System.nanoTime() until which it counts as unknown
+    private final ConcurrentHashMap<Long, Long> unknown = new ConcurrentHashMap<>();
+
+    // Distinguishes stamps across restarts so old ETags never match
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Fleet fleet;
+
+    public MachineRegistry(MachineRepository machineRepository) {
+        this.machineRepository = machineRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /* ================= LOAD ================= */
+
+    public void reload() {
+        List<Machine> all = machineRepository.findAll();
+        machines.clear();
+        for (Machine m : all) {
+            machines.put(m.getId(), MachineView.of(m));
+        }
+        stamp.incrementAndGet();
+        log.info("Machine registry loaded {} machines", all.size());
+    }
+
+    /* ================= READS ================= */
+
+    public MachineView get(Long machineId) {
+        MachineView view = machines.get(machineId);
+        if (view != null) {
+            return view;
+        }
+
+        // Evicted after a conflict (or created elsewhere): read through once
+        Machine machine = machineRepository.findById(machineId)
+                .orElseThrow(() -> new RuntimeException("Machine not found"));
+        return cache(MachineView.of(machine));
+    }
+
+    // Hot-path existence check (telemetry ingest). A miss reads through
+    // once (the entry may have been evicted after a conflict); ids that
+    // are not in the database are then refused from memory for a while,
+    // so a device sending a bad id cannot put a query on every request.
+    public boolean contains(Long machineId) {
+        if (machines.containsKey(machineId)) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        Long until = unknown.get(machineId);
+        if (until != null && now - until < 0) {
+            return false;
+        }
+
+        boolean found = machineRepository.findById(machineId)
+                .map(m -> cache(MachineView.of(m)) != null)
+                .orElse(false);
+        if (!found) {
+            if (unknown.size() >= UNKNOWN_MAX) {
+                unknown.clear();                    // bounded: junk ids just re-check
+            }
+            unknown.put(machineId, now + UNKNOWN_TTL_NANOS);
+        }
+        return found;
+    }
+
+    public Fleet fleet() {
+        // Read the stamp first: the list may be newer than its label,
+        // never older, so a client can only over-refresh.
+        long current = stamp.get();
+        Fleet f = fleet;
+        if (f != null && f.stamp == current) {
+            return f;
+        }
+
+        List<MachineView> list = new ArrayList<>(machines.values());
+        list.sort(Comparator.comparing(MachineView::getId));
+
+        f = new Fleet(current, "\"" + bootId + "-" + current + "\"", List.copyOf(list));
+        fleet = f;
+        return f;
+    }
+
+    /* ================= WRITE-THROUGH ================= */
+
+    // Caller must be in a transaction; the entry changes after commit
+    public MachineView updateStatus(MachineView current, MachineStatus status) {
+        Long machineId = current.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = machineRepository.updateStatusIfVersion(
+                machineId, current.getVersion(), status, now
+        );
+
+        if (updated == 0) {
+            machines.remove(machineId);
+            stamp.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Machine.class, machineId);
+        }
+
+        MachineView next = current.withStatus(status, now);
+        TransactionHooks.afterCommit(() -> cache(next));
+        return next;
+    }
+
+    // Snapshot is taken after commit, once version / updatedAt are flushed
+    public void putAfterCommit(Machine machine) {
+        TransactionHooks.afterCommit(() -> cache(MachineView.of(machine)));
+    }
+
+    // Call after the delete has committed (MachineService does, with the rule state)
+    public void remove(Long machineId) {
+        machines.remove(machineId);
+        stamp.incrementAndGet();
+    }
+
+    private MachineView cache(MachineView view) {
+        unknown.remove(view.getId());
+        MachineView winner = machines.merge(
+                view.getId(),
+                view,
+                (old, fresh) -> fresh.getVersion() >= old.getVersion() ? fresh : old
+        );
+        stamp.incrementAndGet();
+        return winner;
+    }
+
+    /* ================= FLEET SNAPSHOT ================= */
+
+    public static final class Fleet {
+
+        private final long stamp;
+        private final String etag;
+        private final List<MachineView> machines;
+
+        Fleet(long stamp, String etag, List<MachineView> machines) {
+            this.stamp = stamp;
+            this.etag = etag;
+            this.machines = machines;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public List<MachineView> getMachines() {
+            return machines;
+        }
+    }
+}
@@ -1,43 +1,61 @@
 package com.project.factory.service;
 
+import com.project.factory.dto.MachineView;
+import com.project.factory.event.MachineStatusChangedEvent;
 import com.project.factory.model.Machine;
 import com.project.factory.model.MachineStatus;
 import com.project.factory.repository.MachineRepository;
+import com.project.factory.rules.RuleEngine;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @Service
 public class MachineService {
 
     private final MachineRepository machineRepository;
+    private final MachineRegistry machineRegistry;
+    private final MachineStatusHistoryService statusHistory;
     private final AlertService alertService;
+    private final DashboardService dashboardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
+    private final RuleEngine ruleEngine;
 
     /* ================= CONSTRUCTOR ================= */
 
     public MachineService(
             MachineRepository machineRepository,
-            AlertService alertService
+            MachineRegistry machineRegistry,
+            MachineStatusHistoryService statusHistory,
+            AlertService alertService,
+            DashboardService dashboardService,
+            ApplicationEventPublisher eventPublisher,
+            OptimisticRetry optimisticRetry,
+            RuleEngine ruleEngine
     ) {
         this.machineRepository = machineRepository;
+        this.machineRegistry = machineRegistry;
+        this.statusHistory = statusHistory;
         this.alertService = alertService;
+        this.dashboardService = dashboardService;
+        this.eventPublisher = eventPublisher;
+        this.optimisticRetry = optimisticRetry;
+        this.ruleEngine = ruleEngine;
     }
 
-    /* ================= GET ALL MACHINES ================= */
+    /* ================= GET ALL MACHINES (REGISTRY) ================= */
 
-    @Transactional(readOnly = true)
-    public List<Machine> getAllMachines() {
-        return machineRepository.findAll();
+    public MachineRegistry.Fleet getFleet() {
+        return machineRegistry.fleet();
     }
 
-    /* ================= GET MACHINE ================= */
+    /* ================= GET MACHINE (REGISTRY) ================= */
 
-    @Transactional(readOnly = true)
-    public Machine getMachine(Long id) {
-        return machineRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Machine not found"));
+    public MachineView getMachine(Long id) {
+        return machineRegistry.get(id);
     }
 
     /* ================= CREATE MACHINE ================= */
@@ -58,6 +76,9 @@ public class MachineService {
         // 🔔 MAINTENANCE ALERT CHECK ON CREATE
         checkMaintenanceAlert(saved);
 
+        machineRegistry.putAfterCommit(saved);
+        dashboardService.invalidate();
+
         return saved;
     }
 
@@ -65,7 +86,8 @@ public class MachineService {
 
     @Transactional
     public Machine updateMachine(Long id, Machine updated) {
-        Machine existing = getMachine(id);
+        Machine existing = machineRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Machine not found"));
 
         existing.setName(updated.getName());
         existing.setManufactureDate(updated.getManufactureDate());
@@ -82,30 +104,45 @@ public class MachineService {
         // 🔔 MAINTENANCE ALERT CHECK ON UPDATE
         checkMaintenanceAlert(saved);
 
+        machineRegistry.putAfterCommit(saved);
+        dashboardService.invalidate();
+
         return saved;
     }
 
     /* ================= UPDATE STATUS ================= */
 
+    // Entry point for direct (non-batch) status changes: retried on
+    // version conflicts. Batch flows call updateStatus inside their own
+    // retried transaction instead.
+    public MachineView transitionStatus(Long machineId, MachineStatus status) {
+        return optimisticRetry.execute(() -> updateStatus(machineId, status));
+    }
+
+    // Served from the registry: one conditional UPDATE, no SELECT
     @Transactional
-    public Machine updateStatus(Long machineId, MachineStatus status) {
-        Machine machine = getMachine(machineId);
-        machine.setStatus(status);
+    public MachineView updateStatus(Long machineId, MachineStatus status) {
+        MachineView current = machineRegistry.get(machineId);
+        MachineStatus previous = current.getStatus();
+        MachineView machine = machineRegistry.updateStatus(current, status);
 
-        Machine saved = machineRepository.save(machine);
+        // Single append: the interval the machine just left
+        statusHistory.closeInterval(current, machine.getStatusChangedAt());
 
-        // 🔔 MACHINE FAILURE ALERT
-        if (status == MachineStatus.ERROR) {
-            alertService.addAlert(
-                    "MACHINE_FAILURE",
-                    "HIGH",
-                    machine.getId(),      // ✅ FIX: pass machineId
-                    machine.getName(),
-                    "Machine failed"
-            );
-        }
+        // 📡 TRANSITION EVENT (pushed to /api/machines/stream after commit)
+        eventPublisher.publishEvent(new MachineStatusChangedEvent(
+                machine.getId(),
+                machine.getName(),
+                previous,
+                status,
+                machine.getUpdatedAt()
+        ));
 
-        return saved;
+        // 🔔 MACHINE_FAILURE is raised by the rule engine from the event above
+
+        dashboardService.invalidate();
+
+        return machine;
     }
 
     /* ================= DELETE MACHINE ================= */
@@ -113,6 +150,14 @@ public class MachineService {
     @Transactional
     public void deleteMachine(Long id) {
         machineRepository.deleteById(id);
+        alertService.resolveForDeletedMachine(id);
+
+        // Registry entry and rule-engine state go together once the delete commits
+        TransactionHooks.afterCommit(() -> {
+            machineRegistry.remove(id);
+            ruleEngine.forget(id);
+        });
+        dashboardService.invalidate();
     }
 
     /* ================= STATUS SHORTCUTS ================= */
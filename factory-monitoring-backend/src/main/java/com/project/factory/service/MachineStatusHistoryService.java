@@ -0,0 +1,110 @@
+package com.project.factory.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.dto.MachineStateTotals;
+import com.project.factory.dto.MachineView;
+import com.project.factory.model.MachineStatus;
+import com.project.factory.model.MachineStatusInterval;
+import com.project.factory.repository.MachineStatusIntervalRepository;
+
+/* =====================================================
+   MACHINE STATUS HISTORY
+   Write: one INSERT per transition, closing the interval
+   the machine was in. Read: SQL sums the closed
+   intervals clipped to the window (covering index only),
+   then the open interval is added from the registry.
+   ===================================================== */
+@Service
+public class MachineStatusHistoryService {
+
+    private final MachineStatusIntervalRepository intervalRepository;
+    private final MachineRegistry machineRegistry;
+
+    public MachineStatusHistoryService(
+            MachineStatusIntervalRepository intervalRepository,
+            MachineRegistry machineRegistry
+    ) {
+        this.intervalRepository = intervalRepository;
+        this.machineRegistry = machineRegistry;
+    }
+
+    /* ================= APPEND (IN CALLER'S TRANSACTION) ================= */
+
+    public void closeInterval(MachineView before, LocalDateTime changedAt) {
+        LocalDateTime since = before.getStatusChangedAt();
+        if (since == null || !since.isBefore(changedAt)) {
+            return;
+        }
+        intervalRepository.save(new MachineStatusInterval(
+                before.getId(), before.getStatus(), since, changedAt
+        ));
+    }
+
+    /* ================= TIME IN STATE ================= */
+
+    @Transactional(readOnly = true)
+    public MachineStateTotals timeInState(Long machineId, LocalDateTime from, LocalDateTime to) {
+        MachineView machine = machineRegistry.get(machineId);
+        MachineStateTotals totals = new MachineStateTotals(machineId, machine.getName(), from, to);
+
+        for (Object[] row : intervalRepository.sumTimeInState(machineId, from, to)) {
+            totals.add(MachineStatus.valueOf((String) row[1]), toLong(row[2]));
+        }
+        addOpenInterval(totals, machine, from, to);
+        return totals;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MachineStateTotals> fleetTimeInState(LocalDateTime from, LocalDateTime to) {
+        Map<Long, MachineStateTotals> byMachine = new LinkedHashMap<>();
+
+        for (MachineView m : machineRegistry.fleet().getMachines()) {
+            MachineStateTotals totals = new MachineStateTotals(m.getId(), m.getName(), from, to);
+            addOpenInterval(totals, m, from, to);
+            byMachine.put(m.getId(), totals);
+        }
+
+        for (Object[] row : intervalRepository.sumFleetTimeInState(from, to)) {
+            Long machineId = ((Number) row[0]).longValue();
+            // Deleted machines keep their history, without a name
+            byMachine.computeIfAbsent(machineId, id -> new MachineStateTotals(id, null, from, to))
+                    .add(MachineStatus.valueOf((String) row[1]), toLong(row[2]));
+        }
+        return new ArrayList<>(byMachine.values());
+    }
+
+    private void addOpenInterval(
+            MachineStateTotals totals,
+            MachineView machine,
+            LocalDateTime from,
+            LocalDateTime to
+    ) {
+        LocalDateTime since = machine.getStatusChangedAt();
+        if (since == null) return;
+
+        LocalDateTime start = since.isAfter(from) ? since : from;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.isBefore(to) ? now : to;
+
+        if (start.isBefore(end)) {
+            totals.add(machine.getStatus(), Duration.between(start, end).getSeconds());
+        }
+    }
+
+    // MySQL sum() over integers comes back as BigDecimal
+    private static long toLong(Object v) {
+        if (v == null) return 0;
+        if (v instanceof BigDecimal d) return d.longValue();
+        return ((Number) v).longValue();
+    }
+}
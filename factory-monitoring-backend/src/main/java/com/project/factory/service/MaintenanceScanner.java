@@ -0,0 +1,91 @@
+package com.project.factory.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.model.JobWatermark;
+import com.project.factory.model.Machine;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.MachineRepository;
+
+/* =====================================================
+   MAINTENANCE-DUE SCANNER
+
+   Raises MAINTENANCE alerts for machines whose
+   next_maintenance_due has arrived, without anyone
+   having to edit them.
+
+   Each run only looks at due dates in
+   (processedThrough, today] -- an index range on
+   next_maintenance_due -- then moves the watermark to
+   today in the same transaction. A restart, or a few
+   missed days, resume from the stored watermark. The
+   very first run has no watermark and takes everything
+   already due; the dedup set keeps that idempotent.
+
+   Due dates edited into the past are behind the
+   watermark: MachineService still checks those on
+   create / update.
+   ===================================================== */
+@Component
+public class MaintenanceScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceScanner.class);
+
+    static final String JOB_NAME = "maintenance-due-scan";
+
+    private final MachineRepository machineRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final AlertService alertService;
+
+    public MaintenanceScanner(
+            MachineRepository machineRepository,
+            JobWatermarkRepository watermarkRepository,
+            AlertService alertService
+    ) {
+        this.machineRepository = machineRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.alertService = alertService;
+    }
+
+    @Scheduled(
+            initialDelayString = "${maintenance.scan.initial-delay-ms:60000}",
+            fixedDelayString = "${maintenance.scan.interval-ms:3600000}"
+    )
+    @Transactional
+    public void scan() {
+        LocalDate today = LocalDate.now();
+
+        JobWatermark watermark = watermarkRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobWatermark(JOB_NAME));
+
+        LocalDate after = watermark.getProcessedThrough();
+
+        if (after != null && !after.isBefore(today)) {
+            return;     // already scanned through today
+        }
+
+        List<Machine> due = after == null
+                ? machineRepository.findByNextMaintenanceDueLessThanEqual(today)
+                : machineRepository
+                        .findByNextMaintenanceDueGreaterThanAndNextMaintenanceDueLessThanEqual(after, today);
+
+        int raised = due.isEmpty()
+                ? 0
+                : alertService.addAlerts("MAINTENANCE", "MEDIUM", due, "Maintenance due");
+
+        watermark.setProcessedThrough(today);
+        watermark.setLastRunAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+
+        log.info("Maintenance scan through {}: {} due, {} alerts queued",
+                today, due.size(), raised);
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.factory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.project.factory.repository.MaterialRepository;
+
+/* =====================================================
+   MATERIAL KEY -> ID (READ-THROUGH, AFTER COMMIT)
+
+   A material's key never changes once the row exists
+   and rows are never deleted, so entries never go stale.
+   Misses probe the material_key unique index; ids read
+   or created inside a transaction are cached only once
+   it commits, so a rolled-back insert is never cached.
+   Absent keys are not cached: the caller inserts them.
+   ===================================================== */
+@Component
+public class MaterialKeyCache {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final MaterialRepository materialRepo;
+
+    private final ConcurrentHashMap<String, Long> ids = new ConcurrentHashMap<>();
+
+    public MaterialKeyCache(MaterialRepository materialRepo) {
+        this.materialRepo = materialRepo;
+    }
+
+    // null when no material has this key
+    public Long idOf(String key) {
+        Long id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        id = materialRepo.findIdByMaterialKey(key).orElse(null);
+        if (id != null) {
+            putAfterCommit(key, id);
+        }
+        return id;
+    }
+
+    // Cached ids plus one IN query per LOOKUP_CHUNK misses
+    public Map<String, Long> idsOf(Collection<String> keys) {
+        Map<String, Long> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String key : keys) {
+            Long id = ids.get(key);
+            if (id != null) {
+                found.put(key, id);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        for (int i = 0; i < missing.size(); i += LOOKUP_CHUNK) {
+            List<String> chunk = missing.subList(i, Math.min(i + LOOKUP_CHUNK, missing.size()));
+            for (Object[] row : materialRepo.findIdsByMaterialKeyIn(chunk)) {
+                String key = (String) row[1];
+                Long id = ((Number) row[0]).longValue();
+                found.put(key, id);
+                putAfterCommit(key, id);
+            }
+        }
+        return found;
+    }
+
+    public void putAfterCommit(String key, Long id) {
+        TransactionHooks.afterCommit(() -> ids.put(key, id));
+    }
+}
@@ -1,20 +1,40 @@
 package com.project.factory.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.project.factory.dto.MaterialStockLevel;
+import com.project.factory.dto.StockBalance;
 import com.project.factory.model.Material;
+import com.project.factory.model.StockMovement;
 import com.project.factory.repository.MaterialRepository;
 
 @Service
 public class MaterialService {
 
     private final MaterialRepository materialRepo;
+    private final DashboardService dashboardService;
+    private final OptimisticRetry optimisticRetry;
+    private final StockLedger stockLedger;
+    private final MaterialKeyCache materialKeys;
+    private final LowStockMonitor lowStockMonitor;
 
-    public MaterialService(MaterialRepository materialRepo) {
+    public MaterialService(
+            MaterialRepository materialRepo,
+            DashboardService dashboardService,
+            OptimisticRetry optimisticRetry,
+            StockLedger stockLedger,
+            MaterialKeyCache materialKeys,
+            LowStockMonitor lowStockMonitor
+    ) {
         this.materialRepo = materialRepo;
+        this.dashboardService = dashboardService;
+        this.optimisticRetry = optimisticRetry;
+        this.stockLedger = stockLedger;
+        this.materialKeys = materialKeys;
+        this.lowStockMonitor = lowStockMonitor;
     }
 
     /* =====================================================
@@ -27,24 +47,69 @@ public class MaterialService {
     /* =====================================================
        ADD OR UPDATE MATERIAL (STOCK INCREMENT)
        ===================================================== */
-    @Transactional
     public Material addOrUpdateMaterial(Material input) {
+        // Stock is versioned: retry if a reservation raced this increment
+        return optimisticRetry.execute(() -> doAddOrUpdateMaterial(input));
+    }
+
+    private Material doAddOrUpdateMaterial(Material input) {
+
+        dashboardService.invalidate();
+
+        // Key cache, else one probe of the material_key unique index
+        String key = Material.key(input.getName(), input.getGrade(), input.getLocation());
+        Long id = materialKeys.idOf(key);
+
+        Material saved;
+        if (id != null) {
+            Material existing = materialRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Material not found"));
+            existing.setStock(existing.getStock() + input.getStock());
+            saved = materialRepo.save(existing);
+        } else {
+            saved = materialRepo.save(input);
+            materialKeys.putAfterCommit(key, saved.getId());
+        }
+
+        stockLedger.receipt(saved, input.getStock());
+        return saved;
+    }
+
+    /* =====================================================
+       REORDER THRESHOLD (null = default threshold)
+       ===================================================== */
+    public Material setReorderThreshold(Long materialId, Integer threshold) {
+        if (threshold != null && threshold < 0) {
+            throw new RuntimeException("Reorder threshold must not be negative");
+        }
+        return optimisticRetry.execute(() -> {
+            Material material = materialRepo.findById(materialId)
+                .orElseThrow(() -> new RuntimeException("Material not found"));
+
+            material.setReorderThreshold(threshold);
+            Material saved = materialRepo.save(material);
+
+            lowStockMonitor.thresholdChanged(saved);
+            dashboardService.invalidate();
+            return saved;
+        });
+    }
+
+    /* =====================================================
+       LOW STOCK (IN-MEMORY, NO QUERY)
+       ===================================================== */
+    public List<MaterialStockLevel> getLowStock() {
+        return lowStockMonitor.getLowStock();
+    }
+
+    /* =====================================================
+       STOCK HISTORY (LEDGER)
+       ===================================================== */
+    public StockBalance getStockAt(Long materialId, LocalDateTime at) {
+        return stockLedger.balanceAt(materialId, at);
+    }
 
-        return materialRepo
-            .findByNameIgnoreCaseAndGradeAndLocation(
-                input.getName(),
-                input.getGrade(),
-                input.getLocation()
-            )
-            .map(existing -> {
-                existing.setStock(
-                    existing.getStock() + input.getStock()
-                );
-                return materialRepo.save(existing);
-            })
-            .orElseGet(() -> {
-                input.setStock(input.getStock());
-                return materialRepo.save(input);
-            });
+    public List<StockMovement> getMovements(Long materialId, LocalDateTime from, LocalDateTime to) {
+        return stockLedger.movements(materialId, from, to);
     }
 }
@@ -0,0 +1,143 @@
+package com.project.factory.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.dto.OeeFigures;
+import com.project.factory.dto.OeeReport;
+import com.project.factory.model.Batch;
+import com.project.factory.model.ProductionLog;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+import com.project.factory.repository.OeeBucketRepository;
+import com.project.factory.repository.ProductionLogRepository;
+
+@Service
+public class OeeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OeeService.class);
+
+    private final OeeBucketRepository oeeRepo;
+    private final ProductionLogRepository logRepo;
+    private final ProductionLogArchive archive;
+    private final TransactionTemplate transactionTemplate;
+
+    public OeeService(
+            OeeBucketRepository oeeRepo,
+            ProductionLogRepository logRepo,
+            ProductionLogArchive archive,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.oeeRepo = oeeRepo;
+        this.logRepo = logRepo;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /* =====================================================
+       INCREMENTAL UPDATE (CALLED PER NEW PRODUCTION LOG)
+       ===================================================== */
+    @Transactional
+    public void record(ProductionLog entry, Batch batch) {
+        boolean completed = entry.getStatus() == ProductionStatus.COMPLETED;
+        long run = seconds(entry.getStartTime(), entry.getEndTime());
+
+        // No estimate: count the batch as running exactly to plan
+        long ideal = batch.getEstimatedStartTime() != null && batch.getEstimatedEndTime() != null
+                ? seconds(batch.getEstimatedStartTime(), batch.getEstimatedEndTime())
+                : run;
+
+        oeeRepo.increment(
+                entry.getMachine().getId(),
+                entry.getStartTime().toLocalDate(),
+                entry.getShift().name(),
+                run,
+                completed ? run : 0,
+                completed ? ideal : 0,
+                completed ? entry.getProducedQty() : 0,
+                entry.getProducedQty()
+        );
+    }
+
+    /* =====================================================
+       REBUILD (BACKFILL FROM LIVE LOGS)
+       Days before the archive horizon are kept as they are:
+       their logs have moved to segment files.
+       ===================================================== */
+    @Transactional
+    public int rebuild() {
+        return doRebuild();
+    }
+
+    // Self-invocation bypasses the proxy, so the transaction is explicit
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (oeeRepo.count() == 0 && logRepo.count() > 0) {
+            transactionTemplate.execute(status -> doRebuild());
+        }
+    }
+
+    private int doRebuild() {
+        LocalDateTime horizon = archive.horizon();
+        oeeRepo.deleteFrom(horizon.toLocalDate());
+        int rows = oeeRepo.backfillFromLogs(horizon);
+        log.info("Rebuilt OEE buckets: {} buckets", rows);
+        return rows;
+    }
+
+    /* =====================================================
+       ONE MACHINE: total, per shift, per day, per bucket
+       One indexed range read; grouping happens in memory
+       over at most 3 buckets per day.
+       ===================================================== */
+    @Transactional(readOnly = true)
+    public OeeReport getMachineOee(Long machineId, LocalDate from, LocalDate to) {
+        List<OeeFigures> buckets = oeeRepo.findMachineBuckets(machineId, from, to);
+
+        OeeFigures total = OeeFigures.empty(machineId, null, null);
+        Map<Shift, OeeFigures> byShift = new EnumMap<>(Shift.class);
+        Map<LocalDate, OeeFigures> byDay = new LinkedHashMap<>();   // buckets arrive day-ordered
+
+        for (OeeFigures b : buckets) {
+            total.add(b);
+            byShift.computeIfAbsent(b.getShift(), s -> OeeFigures.empty(machineId, null, s)).add(b);
+            byDay.computeIfAbsent(b.getDay(), d -> OeeFigures.empty(machineId, d, null)).add(b);
+        }
+
+        return new OeeReport(
+                machineId, from, to, total,
+                new ArrayList<>(byShift.values()),
+                new ArrayList<>(byDay.values()),
+                buckets
+        );
+    }
+
+    /* =====================================================
+       WHOLE FLEET: one row per machine, summed in SQL
+       ===================================================== */
+    @Transactional(readOnly = true)
+    public List<OeeFigures> getFleetOee(LocalDate from, LocalDate to) {
+        return oeeRepo.summarizeFleet(from, to);
+    }
+
+    private static long seconds(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) return 0;
+        return Math.max(0, Duration.between(start, end).getSeconds());
+    }
+}
@@ -0,0 +1,89 @@
+package com.project.factory.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.OptimisticLockException;
+
+/* =====================================================
+   RETRY-ON-CONFLICT FOR VERSIONED STATE TRANSITIONS
+
+   Runs the action in its own transaction. If a @Version
+   check fails at flush / commit, the whole attempt is
+   rolled back, then the action is re-run against fresh
+   rows after a short jittered exponential backoff.
+   Business checks (e.g. "Batch not running") therefore
+   see the winner's state on the retry and fail cleanly
+   instead of applying the same transition twice.
+
+   When already inside a transaction the action runs once:
+   retrying inside a stale persistence context cannot
+   succeed, so the outermost caller owns the retry.
+   ===================================================== */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            @Value("${retry.optimistic.max-attempts:4}") int maxAttempts,
+            @Value("${retry.optimistic.base-backoff-ms:10}") long baseBackoffMillis,
+            @Value("${retry.optimistic.max-backoff-ms:200}") long maxBackoffMillis
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Version conflict, retrying (attempt {}/{})",
+                        attempt + 1, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", ie);
+        }
+    }
+}
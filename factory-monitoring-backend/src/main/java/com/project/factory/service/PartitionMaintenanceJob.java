@@ -0,0 +1,89 @@
+package com.project.factory.service;
+
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.repository.PartitionAdmin;
+
+/* =====================================================
+   MONTHLY PARTITION ROLL-FORWARD AND RETENTION
+
+   Nightly, after the production log archiver:
+     - both log tables get partitions through
+       months-ahead past today, so pmax stays empty
+     - production_logs: months wholly behind the archive
+       horizon are dropped once the archiver has emptied
+       them (a late row keeps its partition until the
+       next archive run takes it)
+     - supplier_stock_logs: months older than
+       retain-months are dropped outright (0 = keep all)
+   Dropping a partition removes its file; no rows are
+   deleted one by one.
+   ===================================================== */
+@Component
+public class PartitionMaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    static final String PRODUCTION_LOGS = "production_logs";
+    static final String SUPPLIER_STOCK_LOGS = "supplier_stock_logs";
+
+    private final PartitionAdmin partitions;
+    private final ProductionLogArchive archive;
+    private final int monthsAhead;
+    private final int stockLogRetainMonths;
+
+    public PartitionMaintenanceJob(
+            PartitionAdmin partitions,
+            ProductionLogArchive archive,
+            @Value("${partitions.months-ahead:3}") int monthsAhead,
+            @Value("${partitions.supplier-stock-logs.retain-months:0}") int stockLogRetainMonths
+    ) {
+        this.partitions = partitions;
+        this.archive = archive;
+        this.monthsAhead = monthsAhead;
+        this.stockLogRetainMonths = stockLogRetainMonths;
+    }
+
+    @Scheduled(cron = "${partitions.cron:0 0 4 * * *}")
+    public void run() {
+        YearMonth through = YearMonth.now().plusMonths(monthsAhead);
+
+        if (partitions.isPartitioned(PRODUCTION_LOGS)) {
+            partitions.addMonthsThrough(PRODUCTION_LOGS, through);
+
+            // Month m is behind the horizon when m + 1 starts at or before it
+            YearMonth archivedBefore = YearMonth.from(archive.horizon());
+            dropEmptyBefore(PRODUCTION_LOGS, archivedBefore);
+        }
+
+        if (partitions.isPartitioned(SUPPLIER_STOCK_LOGS)) {
+            partitions.addMonthsThrough(SUPPLIER_STOCK_LOGS, through);
+
+            if (stockLogRetainMonths > 0) {
+                YearMonth keepFrom = YearMonth.now().minusMonths(stockLogRetainMonths);
+                for (YearMonth m : partitions.months(SUPPLIER_STOCK_LOGS)) {
+                    if (!m.isBefore(keepFrom)) break;
+                    partitions.drop(SUPPLIER_STOCK_LOGS, m);
+                    log.info("Dropped expired partition {} of {}", m, SUPPLIER_STOCK_LOGS);
+                }
+            }
+        }
+    }
+
+    private void dropEmptyBefore(String table, YearMonth before) {
+        for (YearMonth m : partitions.months(table)) {
+            if (!m.isBefore(before)) break;
+            // The first partition also holds anything older; keep it if not empty
+            if (!partitions.isEmpty(table, m)) break;
+            partitions.drop(table, m);
+            log.info("Dropped archived partition {} of {}", m, table);
+        }
+    }
+}
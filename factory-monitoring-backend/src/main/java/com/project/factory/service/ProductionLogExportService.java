@@ -0,0 +1,184 @@
+package com.project.factory.service;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.archive.ArchiveCursor;
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.repository.ProductionLogRepository;
+
+import tools.jackson.databind.json.JsonMapper;
+
+@Service
+public class ProductionLogExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    // Push bytes to the client every N rows so the download starts
+    // while the cursor is still being read.
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER =
+            "id,batch_id,product_name,produced_qty,machine_id,machine_name,"
+            + "operator_id,operator_name,start_time,end_time,shift,status";
+
+    private final ProductionLogRepository repository;
+    private final ProductionLogArchive archive;
+    private final JsonMapper jsonMapper;
+
+    public ProductionLogExportService(
+            ProductionLogRepository repository,
+            ProductionLogArchive archive,
+            JsonMapper jsonMapper
+    ) {
+        this.repository = repository;
+        this.archive = archive;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /* =====================================================
+       STREAM EXPORT [from, to] (DATES INCLUSIVE)
+       Must run inside a transaction: the JPA stream keeps
+       the JDBC cursor open until it is closed.
+       Archived months are written first, straight off the
+       mapped segments, then live rows from the horizon on.
+       ===================================================== */
+    @Transactional(readOnly = true)
+    public void export(
+            LocalDate from,
+            LocalDate to,
+            Format format,
+            OutputStream out
+    ) throws IOException {
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8)
+        );
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        LocalDateTime horizon = archive.horizon();
+        int count = 0;
+
+        if (start.isBefore(horizon)) {
+            ProductionLogFilter range = new ProductionLogFilter();
+            range.setFrom(start);
+            range.setTo(end);
+
+            ArchiveCursor cursor = archive.cursor(range, horizon);
+            while (cursor.next()) {
+                count = write(writer, cursor.toRow(), format, count);
+            }
+            start = horizon;
+        }
+
+        if (start.isBefore(end)) {
+            try (Stream<ProductionLogRow> rows = repository.streamRows(start, end)) {
+                Iterator<ProductionLogRow> it = rows.iterator();
+                while (it.hasNext()) {
+                    count = write(writer, it.next(), format, count);
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
+    private int write(Writer writer, ProductionLogRow row, Format format, int count)
+            throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(writer, row);
+        } else {
+            writeJson(writer, row);
+        }
+
+        if (++count % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+        return count;
+    }
+
+    /* =============================
+       CSV
+       ============================= */
+    private void writeCsv(Writer w, ProductionLogRow r) throws IOException {
+        w.write(String.valueOf(r.getId()));
+        w.write(',');
+        w.write(String.valueOf(r.getBatchId()));
+        w.write(',');
+        w.write(csv(r.getProductName()));
+        w.write(',');
+        w.write(String.valueOf(r.getProducedQty()));
+        w.write(',');
+        w.write(String.valueOf(r.getMachineId()));
+        w.write(',');
+        w.write(csv(r.getMachineName()));
+        w.write(',');
+        w.write(String.valueOf(r.getOperatorId()));
+        w.write(',');
+        w.write(csv(r.getOperatorName()));
+        w.write(',');
+        w.write(r.getStartTime() != null ? r.getStartTime().toString() : "");
+        w.write(',');
+        w.write(r.getEndTime() != null ? r.getEndTime().toString() : "");
+        w.write(',');
+        w.write(r.getShift().name());
+        w.write(',');
+        w.write(r.getStatus().name());
+        w.write('\n');
+    }
+
+    private String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /* =============================
+       NDJSON (ONE OBJECT PER LINE)
+       Same serializer as the JSON API; the wrapper keeps
+       Jackson from closing (or flushing) the response.
+       ============================= */
+    private void writeJson(Writer w, ProductionLogRow r) throws IOException {
+        jsonMapper.writeValue(new NonClosingWriter(w), r);
+        w.write('\n');
+    }
+
+    private static final class NonClosingWriter extends FilterWriter {
+
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void flush() {
+            // export() flushes every FLUSH_EVERY rows
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -1,22 +1,46 @@
 package com.project.factory.service;
 
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogPage;
+import com.project.factory.dto.ProductionLogRow;
 import com.project.factory.model.*;
 import com.project.factory.repository.ProductionLogRepository;
 import com.project.factory.model.Batch;
 import com.project.factory.model.BatchStatus;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 public class ProductionLogService {
 
-    private final ProductionLogRepository repository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 
-    public ProductionLogService(ProductionLogRepository repository) {
+    private final ProductionLogRepository repository;
+    private final ProductionRollupService rollupService;
+    private final OeeService oeeService;
+    private final ProductionLogArchive archive;
+
+    public ProductionLogService(
+            ProductionLogRepository repository,
+            ProductionRollupService rollupService,
+            OeeService oeeService,
+            ProductionLogArchive archive
+    ) {
         this.repository = repository;
+        this.rollupService = rollupService;
+        this.oeeService = oeeService;
+        this.archive = archive;
     }
 
     /* =====================================================
@@ -39,7 +63,7 @@ public class ProductionLogService {
         log.setStartTime(batch.getActualStartTime());
         log.setEndTime(batch.getActualEndTime());
 
-        log.setShift(resolveShift(batch.getActualStartTime()));
+        log.setShift(Shift.of(batch.getActualStartTime()));
 
         log.setStatus(
                 batch.getStatus() == BatchStatus.COMPLETED
@@ -48,32 +72,116 @@ public class ProductionLogService {
         );
 
         repository.save(log);
+
+        // Keep shift/day/machine counters in step with the log table
+        rollupService.record(log);
+        oeeService.record(log, batch);
     }
 
     /* =============================
-       REPORTS
+       REPORTS (COMPLETED, ARCHIVE + LIVE)
+       Deprecated: first keyset page only (at most
+       MAX_PAGE_SIZE rows); use getReportPage and its cursor.
        ============================= */
-    public List<ProductionLog> getCompletedLogs(
+    @Deprecated
+    @Transactional(readOnly = true)
+    public List<ProductionLogRow> getCompletedLogs(
             LocalDate from,
             LocalDate to
     ) {
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setStatus(ProductionStatus.COMPLETED);
         if (from != null && to != null) {
-            return repository.findByStatusAndStartTimeBetween(
-                    ProductionStatus.COMPLETED,
-                    from.atStartOfDay(),
-                    to.atTime(23, 59, 59)
-            );
+            filter.setFrom(from.atStartOfDay());
+            filter.setTo(to.plusDays(1).atStartOfDay());
         }
-        return repository.findByStatus(ProductionStatus.COMPLETED);
+
+        return getReportPage(filter, null, MAX_PAGE_SIZE).getItems();
     }
 
     /* =============================
-       SHIFT RESOLUTION
+       REPORTS (KEYSET PAGINATED)
+       Archived rows all start before the horizon and live
+       rows at or after it, so a page is read from the
+       archive first and topped up from MySQL; the cursor
+       format is the same on both sides.
        ============================= */
-    private Shift resolveShift(LocalDateTime time) {
-        int hour = time.getHour();
-        if (hour >= 6 && hour < 14) return Shift.MORNING;
-        if (hour >= 14 && hour < 22) return Shift.EVENING;
-        return Shift.NIGHT;
+    @Transactional(readOnly = true)
+    public ProductionLogPage getReportPage(
+            ProductionLogFilter filter,
+            String cursor,
+            Integer size
+    ) {
+        int pageSize = size == null
+                ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        if (cursor != null && !cursor.isBlank()) {
+            applyCursor(filter, cursor);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        int limit = pageSize + 1;
+        List<ProductionLogRow> rows = new ArrayList<>(limit);
+
+        // One horizon for both halves, even if the archiver moves it meanwhile
+        LocalDateTime horizon = archive.horizon();
+        if (horizon.isAfter(ProductionLogArchive.NOTHING_ARCHIVED)) {
+            if (startsBefore(filter, horizon)) {
+                archive.readPage(filter, horizon, limit, rows);
+            }
+            if (filter.getFrom() == null || filter.getFrom().isBefore(horizon)) {
+                filter.setFrom(horizon);
+            }
+        }
+
+        boolean liveInRange = filter.getTo() == null
+                || filter.getFrom() == null
+                || filter.getTo().isAfter(filter.getFrom());
+        if (rows.size() < limit && liveInRange) {
+            rows.addAll(repository.findReportPage(filter, limit - rows.size()));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ProductionLogRow last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getStartTime(), last.getId());
+        }
+
+        return new ProductionLogPage(List.copyOf(rows), nextCursor, pageSize);
+    }
+
+    // Can any row the filter still wants lie before the horizon?
+    private boolean startsBefore(ProductionLogFilter filter, LocalDateTime horizon) {
+        return (filter.getFrom() == null || filter.getFrom().isBefore(horizon))
+                && (filter.getAfterTime() == null || filter.getAfterTime().isBefore(horizon));
+    }
+
+    /* =============================
+       CURSOR ENCODING
+       Opaque to clients: base64url("startTime|id")
+       ============================= */
+    private String encodeCursor(LocalDateTime startTime, Long id) {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void applyCursor(ProductionLogFilter filter, String cursor) {
+        try {
+            String raw = new String(
+                    Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8
+            );
+            int sep = raw.lastIndexOf('|');
+            filter.setAfterTime(LocalDateTime.parse(raw.substring(0, sep)));
+            filter.setAfterId(Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid cursor"
+            );
+        }
     }
 }
@@ -0,0 +1,113 @@
+package com.project.factory.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.dto.ProductionSummaryRow;
+import com.project.factory.model.ProductionLog;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.repository.ProductionLogRepository;
+import com.project.factory.repository.ProductionRollupRepository;
+
+@Service
+public class ProductionRollupService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(ProductionRollupService.class);
+
+    private final ProductionRollupRepository rollupRepo;
+    private final ProductionLogRepository logRepo;
+    private final ProductionLogArchive archive;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductionRollupService(
+            ProductionRollupRepository rollupRepo,
+            ProductionLogRepository logRepo,
+            ProductionLogArchive archive,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.rollupRepo = rollupRepo;
+        this.logRepo = logRepo;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /* =====================================================
+       INCREMENTAL UPDATE (CALLED PER NEW PRODUCTION LOG)
+       ===================================================== */
+    @Transactional
+    public void record(ProductionLog entry) {
+        boolean completed = entry.getStatus() == ProductionStatus.COMPLETED;
+
+        long duration = entry.getEndTime() == null
+                ? 0
+                : Math.max(0, Duration.between(
+                        entry.getStartTime(), entry.getEndTime()
+                  ).getSeconds());
+
+        rollupRepo.increment(
+                entry.getStartTime().toLocalDate(),
+                entry.getShift().name(),
+                entry.getMachine().getId(),
+                entry.getProductName(),
+                completed ? 1 : 0,
+                completed ? 0 : 1,
+                completed ? entry.getProducedQty() : 0,
+                duration
+        );
+    }
+
+    /* =====================================================
+       REBUILD (BACKFILL FROM LIVE LOGS)
+       Days before the archive horizon are kept as they are:
+       their logs have moved to segment files.
+       ===================================================== */
+    @Transactional
+    public int rebuild() {
+        return doRebuild();
+    }
+
+    // First start after deploy: rollups are empty but logs already exist.
+    // Self-invocation bypasses the proxy, so the transaction is explicit.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepo.count() == 0 && logRepo.count() > 0) {
+            transactionTemplate.execute(status -> doRebuild());
+        }
+    }
+
+    private int doRebuild() {
+        LocalDateTime horizon = archive.horizon();
+        rollupRepo.deleteFrom(horizon.toLocalDate());
+        int rows = rollupRepo.backfillFromLogs(horizon);
+        log.info("Rebuilt production rollups: {} buckets", rows);
+        return rows;
+    }
+
+    /* =====================================================
+       SUMMARY (READS ROLLUPS ONLY)
+       ===================================================== */
+    @Transactional(readOnly = true)
+    public List<ProductionSummaryRow> getSummary(
+            LocalDate from,
+            LocalDate to,
+            Long machineId
+    ) {
+        if (machineId != null) {
+            return rollupRepo.summarizeMachine(machineId, from, to);
+        }
+        return rollupRepo.summarize(from, to);
+    }
+}
@@ -0,0 +1,261 @@
+package com.project.factory.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.dto.StockBalance;
+import com.project.factory.model.Batch;
+import com.project.factory.model.BatchMaterial;
+import com.project.factory.model.Material;
+import com.project.factory.model.StockMovement;
+import com.project.factory.model.StockMovementType;
+import com.project.factory.model.StockSnapshot;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.StockMovementRepository;
+import com.project.factory.repository.StockSnapshotRepository;
+
+/* =====================================================
+   APPEND-ONLY STOCK LEDGER
+
+   Every change to Material.stock also records a movement.
+   Movements are collected per transaction and inserted
+   just before commit with one JDBC batch: insert-only, no
+   reads, no row locks beyond the stock update the caller
+   already holds. Ids of batches / materials persisted in
+   the same transaction are resolved at that point.
+
+   Material.stock stays the materialised current balance;
+   the ledger answers "what was it at time T" as
+   snapshot + sum(delta) (see StockSnapshotCompactor).
+   The net change per material is also handed to the
+   LowStockMonitor, which re-checks only those materials.
+   ===================================================== */
+@Service
+public class StockLedger implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final String INSERT_SQL =
+            "insert into stock_movements "
+            + "(material_id, batch_id, type, quantity, delta, created_at) "
+            + "values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LowStockMonitor lowStockMonitor;
+    private final JobWatermarkRepository watermarkRepository;
+
+    public StockLedger(
+            JdbcTemplate jdbcTemplate,
+            StockMovementRepository movementRepository,
+            StockSnapshotRepository snapshotRepository,
+            PlatformTransactionManager transactionManager,
+            LowStockMonitor lowStockMonitor,
+            JobWatermarkRepository watermarkRepository
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lowStockMonitor = lowStockMonitor;
+        this.watermarkRepository = watermarkRepository;
+    }
+
+    // First start with the ledger: today's counters become the opening balances
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (snapshotRepository.count() == 0) {
+                int rows = snapshotRepository.seedFromMaterials(LocalDateTime.now());
+                log.info("Stock ledger opened with {} material balances", rows);
+            }
+        });
+    }
+
+    /* ================= RECORDING ================= */
+
+    public void receipt(Material material, int quantity) {
+        pending().add(new Movement(StockMovementType.RECEIPT, material, null, quantity, quantity));
+    }
+
+    public void reserved(List<BatchMaterial> lines) {
+        for (BatchMaterial bm : lines) {
+            reserved(bm.getBatch(), bm.getMaterial(), bm.getQuantity());
+        }
+    }
+
+    public void reserved(Batch batch, Material material, int quantity) {
+        pending().add(new Movement(StockMovementType.RESERVATION, material, batch, quantity, -quantity));
+    }
+
+    public void released(List<BatchMaterial> lines) {
+        for (BatchMaterial bm : lines) {
+            released(bm.getBatch(), bm.getMaterial(), bm.getQuantity());
+        }
+    }
+
+    public void released(Batch batch, Material material, int quantity) {
+        pending().add(new Movement(StockMovementType.RELEASE, material, batch, quantity, quantity));
+    }
+
+    // Reserved stock used up: no change to available stock
+    public void consumed(Batch batch) {
+        for (BatchMaterial bm : batch.getMaterials()) {
+            pending().add(new Movement(
+                    StockMovementType.CONSUMPTION, bm.getMaterial(), batch, bm.getQuantity(), 0
+            ));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Movement> pending() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new RuntimeException("Stock movements must be recorded inside a transaction");
+        }
+
+        List<Movement> movements = (List<Movement>) TransactionSynchronizationManager.getResource(this);
+        if (movements != null) {
+            return movements;
+        }
+
+        List<Movement> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockLedger.this);
+            }
+        });
+        return created;
+    }
+
+    private void write(List<Movement> movements) {
+        if (movements.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Movement m = movements.get(i);
+                ps.setLong(1, m.material.getId());
+                if (m.batch != null) ps.setLong(2, m.batch.getId());
+                else ps.setNull(2, Types.BIGINT);
+                ps.setString(3, m.type.name());
+                ps.setInt(4, m.quantity);
+                ps.setInt(5, m.delta);
+                ps.setTimestamp(6, Timestamp.valueOf(m.at));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return movements.size();
+            }
+        });
+
+        Map<Long, Integer> net = new LinkedHashMap<>();
+        Map<Long, Material> materials = new HashMap<>();
+        for (Movement m : movements) {
+            if (m.delta == 0) continue;
+            net.merge(m.material.getId(), m.delta, Integer::sum);
+            materials.putIfAbsent(m.material.getId(), m.material);
+        }
+        if (!net.isEmpty()) {
+            lowStockMonitor.stockChanged(net, materials);
+        }
+    }
+
+    /* ================= READS ================= */
+
+    @Transactional(readOnly = true)
+    public StockBalance balanceAt(Long materialId, LocalDateTime at) {
+        // Movements before the retention start are gone
+        LocalDateTime retained = watermarkRepository.findById(StockSnapshotCompactor.RETENTION_JOB)
+                .map(w -> w.getProcessedThrough().plusDays(1).atStartOfDay())
+                .orElse(null);
+        if (retained != null && at.isBefore(retained)) {
+            throw new RuntimeException("Stock history starts at " + retained);
+        }
+
+        StockSnapshot snapshot = snapshotRepository
+                .findFirstByMaterialIdAndAsOfLessThanEqualOrderByAsOfDesc(materialId, at)
+                .orElse(null);
+
+        LocalDateTime from;
+        long base;
+        if (snapshot != null) {
+            from = snapshot.getAsOf();
+            base = snapshot.getBalance();
+        } else {
+            // No snapshot yet for this material: fine only if it was created under the ledger
+            LocalDateTime opened = snapshotRepository.findEarliestAsOf();
+            if (opened == null || at.isBefore(opened)) {
+                throw new RuntimeException("Stock history starts at " + opened);
+            }
+            from = opened;
+            base = 0;
+        }
+
+        Object[] sum = movementRepository.sumDelta(materialId, from, at).get(0);
+        long delta = ((Number) sum[0]).longValue();
+        long applied = ((Number) sum[1]).longValue();
+
+        return new StockBalance(materialId, at, base + delta, from, applied);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockMovement> movements(Long materialId, LocalDateTime from, LocalDateTime to) {
+        return movementRepository.findForMaterial(materialId, from, to);
+    }
+
+    /* ================= PENDING MOVEMENT ================= */
+
+    private static final class Movement {
+
+        private final StockMovementType type;
+        private final Material material;      // id may be assigned later in the transaction
+        private final Batch batch;            // same
+        private final int quantity;
+        private final int delta;
+        private final LocalDateTime at = LocalDateTime.now();
+
+        private Movement(
+                StockMovementType type,
+                Material material,
+                Batch batch,
+                int quantity,
+                int delta
+        ) {
+            this.type = type;
+            this.material = material;
+            this.batch = batch;
+            this.quantity = quantity;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.factory.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.model.Batch;
+import com.project.factory.model.BatchMaterial;
+import com.project.factory.model.Material;
+import com.project.factory.repository.MaterialRepository;
+
+/* =====================================================
+   MATERIAL STOCK RESERVATION ENGINE
+
+   Stock is never read-checked-written in Java. Each batch
+   reserves all of its materials with one JDBC batch of
+   conditional decrements:
+
+       update materials set stock = stock - ?
+       where id = ? and stock >= ?
+
+   A row that does not match means "not enough stock". The
+   caller's transaction is then rolled back, so the result
+   is all-or-nothing. Both statements bump the @Version
+   column so JPA writers of Material detect the change.
+   Material ids are processed in
+   ascending order so concurrent schedulers always take row
+   locks in the same order and cannot deadlock.
+   Every applied change is also appended to StockLedger.
+   ===================================================== */
+@Service
+public class StockReservationService {
+
+    private static final String RESERVE_SQL =
+            "update materials set stock = stock - ?, version = version + 1"
+            + " where id = ? and stock >= ?";
+
+    private static final String RELEASE_SQL =
+            "update materials set stock = stock + ?, version = version + 1"
+            + " where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MaterialRepository materialRepository;
+    private final StockLedger ledger;
+
+    public StockReservationService(
+            JdbcTemplate jdbcTemplate,
+            MaterialRepository materialRepository,
+            StockLedger ledger
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.materialRepository = materialRepository;
+        this.ledger = ledger;
+    }
+
+    /* =====================================================
+       RESERVE (ALL OR NOTHING)
+       Lines must already point at their batch.
+       ===================================================== */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(List<BatchMaterial> materials) {
+        reserveQuantities(totals(materials));
+        if (materials != null) ledger.reserved(materials);
+    }
+
+    /* =====================================================
+       RELEASE (RETURN STOCK)
+       ===================================================== */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(List<BatchMaterial> materials) {
+        releaseQuantities(totals(materials));
+        if (materials != null) ledger.released(materials);
+    }
+
+    /* =====================================================
+       REBALANCE (EDIT A SCHEDULED BATCH)
+       Nets old vs new quantities per material, so unchanged
+       lines cost nothing and only real increases are checked.
+       ===================================================== */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(
+            Batch batch,
+            List<BatchMaterial> released,
+            List<BatchMaterial> reserved
+    ) {
+        Map<Long, Integer> net = totals(reserved);
+        totals(released).forEach((id, qty) -> net.merge(id, -qty, Integer::sum));
+
+        Map<Long, Integer> toReserve = new TreeMap<>();
+        Map<Long, Integer> toRelease = new TreeMap<>();
+        net.forEach((id, qty) -> {
+            if (qty > 0) toReserve.put(id, qty);
+            if (qty < 0) toRelease.put(id, -qty);
+        });
+
+        releaseQuantities(toRelease);
+        reserveQuantities(toReserve);
+
+        toRelease.forEach((id, qty) ->
+                ledger.released(batch, materialRepository.getReferenceById(id), qty));
+        toReserve.forEach((id, qty) ->
+                ledger.reserved(batch, materialRepository.getReferenceById(id), qty));
+    }
+
+    /* ================= INTERNALS ================= */
+
+    private void reserveQuantities(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(quantities.entrySet());
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                RESERVE_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i)
+                            throws SQLException {
+                        Map.Entry<Long, Integer> row = rows.get(i);
+                        ps.setInt(1, row.getValue());
+                        ps.setLong(2, row.getKey());
+                        ps.setInt(3, row.getValue());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }
+        );
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw shortage(rows.get(i).getKey());
+            }
+        }
+    }
+
+    private void releaseQuantities(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((id, qty) -> args.add(new Object[] { qty, id }));
+
+        jdbcTemplate.batchUpdate(RELEASE_SQL, args);
+    }
+
+    // Only reached on failure, so the extra lookup is off the hot path
+    private RuntimeException shortage(Long materialId) {
+        Material material = materialRepository.findById(materialId)
+                .orElseThrow(() -> new RuntimeException("Material not found"));
+
+        return new RuntimeException(
+                "Insufficient stock for material: " + material.getName()
+        );
+    }
+
+    private Map<Long, Integer> totals(List<BatchMaterial> materials) {
+        Map<Long, Integer> totals = new TreeMap<>();
+        if (materials == null) return totals;
+
+        for (BatchMaterial bm : materials) {
+            if (bm.getQuantity() == null || bm.getQuantity() <= 0) {
+                throw new RuntimeException("Material quantity must be positive");
+            }
+            totals.merge(bm.getMaterial().getId(), bm.getQuantity(), Integer::sum);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.factory.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.factory.model.JobWatermark;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.StockMovementRepository;
+import com.project.factory.repository.StockSnapshotRepository;
+
+/* =====================================================
+   STOCK SNAPSHOT COMPACTION + RETENTION
+
+   Periodically folds the movements since the previous
+   snapshot into a new balance row for each material that
+   moved, so a point-in-time read sums at most one
+   interval of movements instead of the whole ledger.
+   Idle materials get no row: their latest snapshot is
+   still their balance.
+
+   The new snapshot is taken "lag" behind now: a movement
+   is stamped when it is recorded and commits a moment
+   later, and nothing may commit behind a snapshot that
+   already claims to cover it.
+
+   Retention (daily): movements older than retention-days
+   are deleted back to the latest snapshot time before
+   that day, together with the snapshots it supersedes.
+   Point-in-time reads then start at that day (recorded
+   in the "stock-ledger-retention" watermark).
+   ===================================================== */
+@Component
+public class StockSnapshotCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(StockSnapshotCompactor.class);
+
+    public static final String RETENTION_JOB = "stock-ledger-retention";
+
+    private static final int DELETE_SLICE = 10_000;
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockMovementRepository movementRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long lagSeconds;
+    private final int retentionDays;
+
+    public StockSnapshotCompactor(
+            StockSnapshotRepository snapshotRepository,
+            StockMovementRepository movementRepository,
+            JobWatermarkRepository watermarkRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.snapshot.lag-seconds:300}") long lagSeconds,
+            @Value("${ledger.retention-days:90}") int retentionDays
+    ) {
+        this.snapshotRepository = snapshotRepository;
+        this.movementRepository = movementRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lagSeconds = lagSeconds;
+        this.retentionDays = Math.max(1, retentionDays);
+    }
+
+    @Scheduled(cron = "${ledger.snapshot.cron:0 0 * * * *}")
+    @Transactional
+    public void compact() {
+        LocalDateTime prev = snapshotRepository.findLatestAsOf();
+        LocalDateTime asOf = LocalDateTime.now().minusSeconds(lagSeconds);
+
+        if (prev == null || !asOf.isAfter(prev)) {
+            return;     // ledger not opened yet, or ran very recently
+        }
+
+        // prev only advances when something moved; the re-read interval is then empty
+        int rows = snapshotRepository.compact(prev, asOf);
+        log.info("Stock snapshot as of {}: {} materials moved", asOf, rows);
+    }
+
+    /* =====================================================
+       RETENTION
+       The cutoff is a compaction run time, so every movement
+       before it is already folded into some snapshot.
+       ===================================================== */
+    @Scheduled(cron = "${ledger.retention.cron:0 30 3 * * *}")
+    public void prune() {
+        LocalDate historyStart = LocalDate.now().minusDays(retentionDays);
+        LocalDateTime cutoff = snapshotRepository.findLatestAsOfAtOrBefore(historyStart.atStartOfDay());
+        if (cutoff == null) {
+            return;     // ledger younger than the retention window
+        }
+
+        // Reads must refuse to reach behind the new start before anything goes
+        transactionTemplate.executeWithoutResult(status -> {
+            JobWatermark watermark = watermarkRepository.findById(RETENTION_JOB)
+                    .orElseGet(() -> new JobWatermark(RETENTION_JOB));
+            watermark.setProcessedThrough(historyStart.minusDays(1));
+            watermark.setLastRunAt(LocalDateTime.now());
+            watermarkRepository.save(watermark);
+        });
+
+        // Bounded slices: no long-held locks on the insert path
+        long movements = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(
+                    status -> movementRepository.deleteBefore(cutoff, DELETE_SLICE)
+            );
+            movements += deleted;
+        } while (deleted == DELETE_SLICE);
+
+        int snapshots = transactionTemplate.execute(
+                status -> snapshotRepository.deleteSupersededBefore(cutoff)
+        );
+
+        log.info("Stock ledger pruned before {}: {} movements, {} snapshots",
+                cutoff, movements, snapshots);
+    }
+}
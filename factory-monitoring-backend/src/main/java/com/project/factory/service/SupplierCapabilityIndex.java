@@ -0,0 +1,190 @@
+package com.project.factory.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.dto.CapableSupplier;
+import com.project.factory.model.Supplier;
+import com.project.factory.model.SupplierMaterial;
+import com.project.factory.repository.SupplierMaterialRepository;
+import com.project.factory.repository.SupplierRepository;
+
+/* =====================================================
+   IN-MEMORY SUPPLIER CAPABILITY INDEX
+
+   Which supplier may deliver which (material, grade),
+   loaded once at startup with two queries:
+     - capabilities: (supplierId, normalised name, grade)
+     - bySupplier:   supplierId -> name (existence + logs)
+     - byMaterial:   (normalised name, grade) -> suppliers
+   Names are normalised as lower(trim(name)), so stock
+   validation is a hash lookup with no database round
+   trip and no lazy SupplierMaterial collection.
+
+   SupplierService keeps it current; entries change only
+   after commit (TransactionHooks), like MachineRegistry.
+   ===================================================== */
+@Component
+public class SupplierCapabilityIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierCapabilityIndex.class);
+
+    private final SupplierRepository supplierRepo;
+    private final SupplierMaterialRepository supplierMaterialRepo;
+
+    private final Set<Capability> capabilities = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, String> bySupplier = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Capability, Set<Long>> byMaterial = new ConcurrentHashMap<>();
+
+    public SupplierCapabilityIndex(
+            SupplierRepository supplierRepo,
+            SupplierMaterialRepository supplierMaterialRepo
+    ) {
+        this.supplierRepo = supplierRepo;
+        this.supplierMaterialRepo = supplierMaterialRepo;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /* ================= LOAD ================= */
+
+    public void reload() {
+        capabilities.clear();
+        bySupplier.clear();
+        byMaterial.clear();
+
+        for (Object[] row : supplierRepo.findIdNames()) {
+            bySupplier.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        for (Object[] row : supplierMaterialRepo.findCapabilityRows()) {
+            add(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).intValue());
+        }
+        log.info("Supplier capability index loaded {} suppliers, {} capabilities",
+                bySupplier.size(), capabilities.size());
+    }
+
+    /* ================= READS ================= */
+
+    // null when the supplier does not exist
+    public String supplierName(Long supplierId) {
+        return bySupplier.get(supplierId);
+    }
+
+    public boolean canSupply(Long supplierId, String materialName, Integer grade) {
+        return supplierId != null && materialName != null && grade != null
+                && capabilities.contains(new Capability(supplierId, normalize(materialName), grade));
+    }
+
+    public List<CapableSupplier> suppliersFor(String materialName, Integer grade) {
+        Set<Long> ids = byMaterial.get(new Capability(null, normalize(materialName), grade));
+        List<CapableSupplier> result = new ArrayList<>();
+        if (ids == null) {
+            return result;
+        }
+        for (Long id : ids) {
+            String name = bySupplier.get(id);
+            if (name != null) {
+                result.add(new CapableSupplier(id, name));
+            }
+        }
+        result.sort(Comparator.comparing(CapableSupplier::getSupplierId));
+        return result;
+    }
+
+    /* ================= WRITE-THROUGH (AFTER COMMIT) ================= */
+
+    // Supplier with its whole material list (create)
+    public void putAfterCommit(Supplier supplier) {
+        Long id = supplier.getId();
+        String name = supplier.getName();
+        List<SupplierMaterial> materials = List.copyOf(supplier.getMaterials());
+
+        TransactionHooks.afterCommit(() -> {
+            bySupplier.put(id, name);
+            for (SupplierMaterial m : materials) {
+                add(id, m.getMaterialName(), m.getGrade());
+            }
+        });
+    }
+
+    public void renameAfterCommit(Long supplierId, String name) {
+        TransactionHooks.afterCommit(() -> bySupplier.replace(supplierId, name));
+    }
+
+    public void addAfterCommit(Long supplierId, SupplierMaterial material) {
+        String materialName = material.getMaterialName();
+        Integer grade = material.getGrade();
+        TransactionHooks.afterCommit(() -> add(supplierId, materialName, grade));
+    }
+
+    public void removeAfterCommit(Long supplierId) {
+        TransactionHooks.afterCommit(() -> {
+            bySupplier.remove(supplierId);
+            capabilities.removeIf(c -> {
+                if (!c.supplierId.equals(supplierId)) return false;
+                Set<Long> ids = byMaterial.get(c.withoutSupplier());
+                if (ids != null) ids.remove(supplierId);
+                return true;
+            });
+        });
+    }
+
+    private void add(Long supplierId, String materialName, int grade) {
+        Capability c = new Capability(supplierId, normalize(materialName), grade);
+        capabilities.add(c);
+        byMaterial.computeIfAbsent(c.withoutSupplier(), k -> ConcurrentHashMap.newKeySet())
+                .add(supplierId);
+    }
+
+    static String normalize(String materialName) {
+        return materialName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /* ================= KEY ================= */
+
+    // supplierId is null in byMaterial keys
+    private static final class Capability {
+
+        private final Long supplierId;
+        private final String materialName;
+        private final int grade;
+
+        private Capability(Long supplierId, String materialName, int grade) {
+            this.supplierId = supplierId;
+            this.materialName = materialName;
+            this.grade = grade;
+        }
+
+        private Capability withoutSupplier() {
+            return new Capability(null, materialName, grade);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Capability)) return false;
+            Capability c = (Capability) o;
+            return grade == c.grade
+                    && Objects.equals(supplierId, c.supplierId)
+                    && materialName.equals(c.materialName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(supplierId, materialName, grade);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.project.factory.dto.CapableSupplier;
 import com.project.factory.model.Supplier;
 import com.project.factory.model.SupplierMaterial;
 import com.project.factory.repository.SupplierRepository;
@@ -13,9 +14,17 @@ import com.project.factory.repository.SupplierRepository;
 public class SupplierService {
 
     private final SupplierRepository supplierRepo;
-
-    public SupplierService(SupplierRepository supplierRepo) {
+    private final DashboardService dashboardService;
+    private final SupplierCapabilityIndex capabilityIndex;
+
+    public SupplierService(
+            SupplierRepository supplierRepo,
+            DashboardService dashboardService,
+            SupplierCapabilityIndex capabilityIndex
+    ) {
         this.supplierRepo = supplierRepo;
+        this.dashboardService = dashboardService;
+        this.capabilityIndex = capabilityIndex;
     }
 
     /* =====================================================
@@ -25,6 +34,13 @@ public class SupplierService {
         return supplierRepo.findAll();
     }
 
+    /* =====================================================
+       WHO CAN DELIVER (MATERIAL, GRADE) — FROM THE INDEX
+       ===================================================== */
+    public List<CapableSupplier> getCapableSuppliers(String materialName, Integer grade) {
+        return capabilityIndex.suppliersFor(materialName, grade);
+    }
+
     /* =====================================================
        CREATE SUPPLIER (WITH MATERIALS)
        ===================================================== */
@@ -35,7 +51,11 @@ public class SupplierService {
             supplier.getStatus() == null ? "ACTIVE" : supplier.getStatus()
         );
 
-        return supplierRepo.save(supplier);
+        Supplier saved = supplierRepo.save(supplier);
+        capabilityIndex.putAfterCommit(saved);
+
+        dashboardService.invalidate();
+        return saved;
     }
 
     /* =====================================================
@@ -50,6 +70,7 @@ public class SupplierService {
         existing.setName(updated.getName());
         existing.setRating(updated.getRating());
         existing.setStatus(updated.getStatus());
+        capabilityIndex.renameAfterCommit(id, updated.getName());
 
         return supplierRepo.save(existing);
     }
@@ -64,6 +85,7 @@ public class SupplierService {
             .orElseThrow(() -> new RuntimeException("Supplier not found"));
 
         supplier.getMaterials().add(material);
+        capabilityIndex.addAfterCommit(supplierId, material);
 
         return supplierRepo.save(supplier);
     }
@@ -71,7 +93,10 @@ public class SupplierService {
     /* =====================================================
        DELETE SUPPLIER
        ===================================================== */
+    @Transactional
     public void deleteSupplier(Long id) {
         supplierRepo.deleteById(id);
+        capabilityIndex.removeAfterCommit(id);
+        dashboardService.invalidate();
     }
 }
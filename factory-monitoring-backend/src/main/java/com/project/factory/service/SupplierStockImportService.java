@@ -0,0 +1,438 @@
+package com.project.factory.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.project.factory.dto.StockReceiptImportResult;
+import com.project.factory.dto.StockReceiptImportResult.LineError;
+import com.project.factory.dto.StockReceiptLine;
+import com.project.factory.model.Material;
+import com.project.factory.repository.MaterialRepository;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* =====================================================
+   BULK SUPPLIER STOCK RECEIPTS (STREAMED CSV / NDJSON)
+
+   The upload is read line by line and never held whole:
+     - each line is checked against the in-memory
+       SupplierCapabilityIndex (no query per line)
+     - valid lines are merged per (supplier, material,
+       grade, location); once chunk-size distinct keys
+       are pending they are written and forgotten
+   Each chunk is its own transaction:
+     1. material upserts, one JDBC batch of
+        insert ... on duplicate key update stock + n
+        (sorted by key, so concurrent imports lock rows
+        in the same order)
+     2. material ids from MaterialKeyCache, one IN
+        query on material_key for the misses
+     3. ledger RECEIPT movements + supplier_stock_logs
+        rows, one JDBC batch each
+   Memory is bounded by chunk-size, whatever the number
+   of lines. Bad lines are skipped and reported (first
+   MAX_ERRORS), good ones still land. A chunk that fails
+   to write (quantity overflow, database error) is rolled
+   back, counted and reported, and the stream goes on:
+   the result always says exactly what was committed.
+   ===================================================== */
+@Service
+public class SupplierStockImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierStockImportService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    public static final int MAX_ERRORS = 100;
+
+    private static final String UPSERT_MATERIAL_SQL =
+            "insert into materials (name, grade, location, material_key, stock, version) "
+            + "values (?, ?, ?, ?, ?, 0) "
+            + "on duplicate key update stock = stock + values(stock), version = version + 1";
+
+    private static final String INSERT_LOG_SQL =
+            "insert into supplier_stock_logs "
+            + "(supplier_id, supplier_name, material_name, grade, location, quantity, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] CSV_COLUMNS =
+            { "supplierid", "materialname", "grade", "location", "quantity" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MaterialRepository materialRepo;
+    private final MaterialKeyCache materialKeys;
+    private final SupplierCapabilityIndex capabilityIndex;
+    private final StockLedger stockLedger;
+    private final DashboardService dashboardService;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SupplierStockImportService(
+            JdbcTemplate jdbcTemplate,
+            MaterialRepository materialRepo,
+            MaterialKeyCache materialKeys,
+            SupplierCapabilityIndex capabilityIndex,
+            StockLedger stockLedger,
+            DashboardService dashboardService,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${supplier-stock.import.chunk-size:2000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.materialRepo = materialRepo;
+        this.materialKeys = materialKeys;
+        this.capabilityIndex = capabilityIndex;
+        this.stockLedger = stockLedger;
+        this.dashboardService = dashboardService;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /* =====================================================
+       IMPORT
+       ===================================================== */
+    public StockReceiptImportResult importReceipts(InputStream in, Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16
+        );
+
+        Map<String, Receipt> pending = new LinkedHashMap<>();
+        Progress progress = new Progress();
+        long lineNo = 0;
+        int[] columns = null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            if (format == Format.CSV && columns == null) {
+                columns = csvHeader(line);
+                continue;
+            }
+
+            String error;
+            StockReceiptLine r = null;
+            try {
+                r = format == Format.CSV
+                        ? csvLine(line, columns)
+                        : jsonMapper.readValue(line, StockReceiptLine.class);
+                error = validate(r);
+            } catch (RuntimeException e) {
+                error = "Malformed line";
+            }
+
+            if (error == null) {
+                error = merge(pending, r);
+            }
+            if (error != null) {
+                progress.rejected++;
+                progress.error(lineNo, error);
+                continue;
+            }
+            progress.chunkLines++;
+
+            if (pending.size() >= chunkSize) {
+                flushChunk(pending, progress, lineNo);
+            }
+        }
+
+        flushChunk(pending, progress, lineNo);
+
+        if (progress.accepted > 0) {
+            dashboardService.invalidate();
+        }
+        return new StockReceiptImportResult(
+                lineNo,
+                progress.accepted,
+                progress.rejected,
+                progress.failed,
+                progress.failedChunks,
+                progress.materialUpserts,
+                progress.stockLogs,
+                progress.errors
+        );
+    }
+
+    // One chunk, one transaction; a failure is reported, not rethrown
+    private void flushChunk(Map<String, Receipt> pending, Progress progress, long lineNo) {
+        if (pending.isEmpty()) return;
+
+        try {
+            flush(pending, progress);
+            progress.accepted += progress.chunkLines;
+        } catch (RuntimeException e) {
+            progress.failed += progress.chunkLines;
+            progress.failedChunks++;
+            progress.error(lineNo, "Chunk of " + progress.chunkLines
+                    + " lines ending here not imported: " + e.getMessage());
+            log.warn("Supplier stock import chunk ending at line {} failed", lineNo, e);
+        } finally {
+            pending.clear();
+            progress.chunkLines = 0;
+        }
+    }
+
+    /* ================= VALIDATION + MERGE ================= */
+
+    private String validate(StockReceiptLine r) {
+        if (r.getSupplierId() == null || r.getMaterialName() == null || r.getMaterialName().isBlank()
+                || r.getGrade() == null || r.getLocation() == null || r.getLocation().isBlank()
+                || r.getQuantity() == null) {
+            return "supplierId, materialName, grade, location and quantity are required";
+        }
+        if (r.getQuantity() <= 0) {
+            return "Quantity must be positive";
+        }
+        if (capabilityIndex.supplierName(r.getSupplierId()) == null) {
+            return "Supplier not found";
+        }
+        if (!capabilityIndex.canSupply(r.getSupplierId(), r.getMaterialName(), r.getGrade())) {
+            return "Supplier not allowed to supply this material";
+        }
+        return null;
+    }
+
+    private String merge(Map<String, Receipt> pending, StockReceiptLine r) {
+        String materialKey = Material.key(r.getMaterialName(), r.getGrade(), r.getLocation());
+        Receipt receipt = pending.computeIfAbsent(
+                r.getSupplierId() + "#" + materialKey,
+                k -> new Receipt(
+                        r.getSupplierId(),
+                        capabilityIndex.supplierName(r.getSupplierId()),
+                        materialKey,
+                        r.getMaterialName().trim(),
+                        r.getGrade(),
+                        r.getLocation().trim()
+                )
+        );
+        try {
+            receipt.quantity = Math.addExact(receipt.quantity, r.getQuantity());
+            return null;
+        } catch (ArithmeticException e) {
+            return "Quantity overflow";
+        }
+    }
+
+    /* ================= WRITE ONE CHUNK ================= */
+
+    private void flush(Map<String, Receipt> pending, Progress progress) {
+        List<Receipt> receipts = new ArrayList<>(pending.values());
+
+        // Several suppliers may deliver the same material: one upsert each
+        TreeMap<String, Receipt> byMaterial = new TreeMap<>();
+        for (Receipt r : receipts) {
+            byMaterial.merge(r.materialKey, r.copy(), (a, b) -> {
+                a.quantity = Math.addExact(a.quantity, b.quantity);
+                return a;
+            });
+        }
+        List<Receipt> materials = new ArrayList<>(byMaterial.values());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPSERT_MATERIAL_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Receipt r = materials.get(i);
+                    ps.setString(1, r.materialName);
+                    ps.setInt(2, r.grade);
+                    ps.setString(3, r.location);
+                    ps.setString(4, r.materialKey);
+                    ps.setInt(5, r.quantity);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return materials.size();
+                }
+            });
+
+            Map<String, Long> ids = resolveIds(materials);
+            for (Receipt r : materials) {
+                stockLedger.receipt(materialRepo.getReferenceById(ids.get(r.materialKey)), r.quantity);
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_LOG_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Receipt r = receipts.get(i);
+                    ps.setLong(1, r.supplierId);
+                    ps.setString(2, r.supplierName);
+                    ps.setString(3, r.materialName);
+                    ps.setInt(4, r.grade);
+                    ps.setString(5, r.location);
+                    ps.setInt(6, r.quantity);
+                    ps.setTimestamp(7, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return receipts.size();
+                }
+            });
+        });
+
+        progress.materialUpserts += materials.size();
+        progress.stockLogs += receipts.size();
+    }
+
+    // materialKey -> id: key cache, then material_key IN (...) for the rest
+    private Map<String, Long> resolveIds(List<Receipt> materials) {
+        List<String> keys = new ArrayList<>(materials.size());
+        for (Receipt r : materials) keys.add(r.materialKey);
+
+        Map<String, Long> ids = materialKeys.idsOf(keys);
+
+        for (Receipt r : materials) {
+            if (!ids.containsKey(r.materialKey)) {
+                throw new RuntimeException("Material not found after upsert: " + r.materialName);
+            }
+        }
+        return ids;
+    }
+
+    /* ================= CSV ================= */
+
+    // Column positions of CSV_COLUMNS in this file
+    private int[] csvHeader(String line) {
+        List<String> header = splitCsv(line);
+        int[] positions = new int[CSV_COLUMNS.length];
+        for (int c = 0; c < CSV_COLUMNS.length; c++) {
+            positions[c] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+                if (name.equals(CSV_COLUMNS[c])) positions[c] = i;
+            }
+            if (positions[c] < 0) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "CSV header must contain supplierId, materialName, grade, location, quantity"
+                );
+            }
+        }
+        return positions;
+    }
+
+    private StockReceiptLine csvLine(String line, int[] columns) {
+        List<String> cells = splitCsv(line);
+        StockReceiptLine r = new StockReceiptLine();
+        r.setSupplierId(Long.valueOf(cells.get(columns[0]).trim()));
+        r.setMaterialName(cells.get(columns[1]));
+        r.setGrade(Integer.valueOf(cells.get(columns[2]).trim()));
+        r.setLocation(cells.get(columns[3]));
+        r.setQuantity(Integer.valueOf(cells.get(columns[4]).trim()));
+        return r;
+    }
+
+    // RFC 4180 cells on one line ("" escapes a quote inside quotes)
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(ch);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /* ================= COUNTERS ================= */
+
+    private static final class Progress {
+
+        private long accepted;          // committed
+        private long rejected;          // invalid lines
+        private long failed;            // valid lines in a failed chunk
+        private long failedChunks;
+        private long materialUpserts;
+        private long stockLogs;
+        private long chunkLines;        // valid lines merged into the pending chunk
+        private final List<LineError> errors = new ArrayList<>();
+
+        private void error(long line, String message) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new LineError(line, message));
+            }
+        }
+    }
+
+    /* ================= MERGED RECEIPT ================= */
+
+    private static final class Receipt {
+
+        private final Long supplierId;
+        private final String supplierName;
+        private final String materialKey;
+        private final String materialName;    // as first seen (trimmed)
+        private final Integer grade;
+        private final String location;
+        private int quantity;
+
+        private Receipt(
+                Long supplierId,
+                String supplierName,
+                String materialKey,
+                String materialName,
+                Integer grade,
+                String location
+        ) {
+            this.supplierId = supplierId;
+            this.supplierName = supplierName;
+            this.materialKey = materialKey;
+            this.materialName = materialName;
+            this.grade = grade;
+            this.location = location;
+        }
+
+        private Receipt copy() {
+            Receipt r = new Receipt(supplierId, supplierName, materialKey, materialName, grade, location);
+            r.quantity = quantity;
+            return r;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.project.factory.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,24 +13,35 @@ import com.project.factory.repository.*;
 @Service
 public class SupplierStockService {
 
-    private final SupplierRepository supplierRepo;
+    private final SupplierCapabilityIndex capabilityIndex;
     private final MaterialRepository materialRepo;
     private final SupplierStockLogRepository logRepo;
+    private final DashboardService dashboardService;
+    private final OptimisticRetry optimisticRetry;
+    private final StockLedger stockLedger;
+    private final MaterialKeyCache materialKeys;
 
     public SupplierStockService(
-            SupplierRepository supplierRepo,
+            SupplierCapabilityIndex capabilityIndex,
             MaterialRepository materialRepo,
-            SupplierStockLogRepository logRepo
+            SupplierStockLogRepository logRepo,
+            DashboardService dashboardService,
+            OptimisticRetry optimisticRetry,
+            StockLedger stockLedger,
+            MaterialKeyCache materialKeys
     ) {
-        this.supplierRepo = supplierRepo;
+        this.capabilityIndex = capabilityIndex;
         this.materialRepo = materialRepo;
         this.logRepo = logRepo;
+        this.dashboardService = dashboardService;
+        this.optimisticRetry = optimisticRetry;
+        this.stockLedger = stockLedger;
+        this.materialKeys = materialKeys;
     }
 
     /* =====================================================
        ADD STOCK VIA SUPPLIER (CORE LOGIC)
        ===================================================== */
-    @Transactional
     public void addStock(
             Long supplierId,
             String materialName,
@@ -36,48 +49,59 @@ public class SupplierStockService {
             String location,
             Integer quantity
     ) {
+        // Stock is versioned: retry if a reservation raced this receipt
+        optimisticRetry.run(() -> doAddStock(
+                supplierId, materialName, grade, location, quantity
+        ));
+    }
 
-        // 1️⃣ Validate supplier
-        Supplier supplier = supplierRepo.findById(supplierId)
-            .orElseThrow(() -> new RuntimeException("Supplier not found"));
+    private void doAddStock(
+            Long supplierId,
+            String materialName,
+            Integer grade,
+            String location,
+            Integer quantity
+    ) {
 
-        // 2️⃣ Validate supplier capability
-        boolean allowed = supplier.getMaterials().stream()
-            .anyMatch(m ->
-                m.getMaterialName().equalsIgnoreCase(materialName)
-                && m.getGrade().equals(grade)
-            );
+        // 1️⃣ Validate supplier (capability index, no query)
+        String supplierName = capabilityIndex.supplierName(supplierId);
+        if (supplierName == null) {
+            throw new RuntimeException("Supplier not found");
+        }
 
-        if (!allowed) {
+        // 2️⃣ Validate supplier capability
+        if (!capabilityIndex.canSupply(supplierId, materialName, grade)) {
             throw new RuntimeException(
                 "Supplier not allowed to supply this material"
             );
         }
 
-        // 3️⃣ Upsert material
-        Material material = materialRepo
-            .findByNameIgnoreCaseAndGradeAndLocation(
-                materialName, grade, location
-            )
-            .map(existing -> {
-                existing.setStock(existing.getStock() + quantity);
-                return existing;
-            })
-            .orElseGet(() -> {
-                Material m = new Material();
-                m.setName(materialName);
-                m.setGrade(grade);
-                m.setLocation(location);
-                m.setStock(quantity);
-                return m;
-            });
-
-        materialRepo.save(material);
+        // 3️⃣ Upsert material (key cache, else one unique-index probe)
+        String key = Material.key(materialName, grade, location);
+        Long id = materialKeys.idOf(key);
+
+        Material material;
+        if (id != null) {
+            material = materialRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Material not found"));
+            material.setStock(material.getStock() + quantity);
+            materialRepo.save(material);
+        } else {
+            material = new Material();
+            material.setName(materialName);
+            material.setGrade(grade);
+            material.setLocation(location);
+            material.setStock(quantity);
+            materialRepo.save(material);
+            materialKeys.putAfterCommit(key, material.getId());
+        }
+
+        stockLedger.receipt(material, quantity);
 
         // 4️⃣ Log supplier stock entry
         SupplierStockLog log = new SupplierStockLog();
-        log.setSupplierId(supplier.getId());
-        log.setSupplierName(supplier.getName());
+        log.setSupplierId(supplierId);
+        log.setSupplierName(supplierName);
         log.setMaterialName(materialName);
         log.setGrade(grade);
         log.setLocation(location);
@@ -85,5 +109,20 @@ public class SupplierStockService {
         log.setCreatedAt(LocalDateTime.now());
 
         logRepo.save(log);
+
+        dashboardService.invalidate();
+    }
+
+    /* =====================================================
+       STOCK RECEIPT HISTORY [from, to] (DATES INCLUSIVE)
+       ===================================================== */
+    @Transactional(readOnly = true)
+    public List<SupplierStockLog> getLogs(LocalDate from, LocalDate to, Long supplierId) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        return supplierId != null
+                ? logRepo.findSupplierInRange(supplierId, start, end)
+                : logRepo.findInRange(start, end);
     }
 }
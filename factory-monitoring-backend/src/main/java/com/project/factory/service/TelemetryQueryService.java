@@ -0,0 +1,75 @@
+package com.project.factory.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.factory.dto.TelemetryBucket;
+import com.project.factory.repository.MachineTelemetryRepository;
+
+/* =====================================================
+   TELEMETRY READS
+   Raw samples are never returned; callers pick a bucket
+   width and get min / max / avg per bucket. The bucket
+   count is capped so a wide window with a tiny bucket
+   cannot turn into a raw dump.
+   ===================================================== */
+@Service
+@Transactional(readOnly = true)
+public class TelemetryQueryService {
+
+    public static final int MAX_BUCKETS = 5000;
+
+    private final MachineTelemetryRepository telemetryRepository;
+
+    public TelemetryQueryService(MachineTelemetryRepository telemetryRepository) {
+        this.telemetryRepository = telemetryRepository;
+    }
+
+    public List<TelemetryBucket> downsample(
+            Long machineId,
+            LocalDateTime from,
+            LocalDateTime to,
+            int bucketSeconds
+    ) {
+        if (bucketSeconds <= 0) {
+            throw new RuntimeException("bucketSeconds must be positive");
+        }
+
+        // Samples carry epoch ms; request times are server-local like the rest of the API
+        ZoneId zone = ZoneId.systemDefault();
+        long fromMs = from.atZone(zone).toInstant().toEpochMilli();
+        long toMs = to.atZone(zone).toInstant().toEpochMilli();
+        long bucketMs = bucketSeconds * 1000L;
+
+        if (toMs <= fromMs) {
+            throw new RuntimeException("to must be after from");
+        }
+        if ((toMs - fromMs) / bucketMs > MAX_BUCKETS) {
+            throw new RuntimeException("Too many buckets, use a larger bucketSeconds");
+        }
+
+        List<Object[]> rows = telemetryRepository.downsample(machineId, fromMs, toMs, bucketMs);
+        List<TelemetryBucket> buckets = new ArrayList<>(rows.size());
+
+        for (Object[] r : rows) {
+            buckets.add(new TelemetryBucket(
+                    Instant.ofEpochMilli(((Number) r[0]).longValue()),
+                    ((Number) r[1]).longValue(),
+                    toDouble(r[2]), toDouble(r[3]), toDouble(r[4]),
+                    toDouble(r[5]), toDouble(r[6]), toDouble(r[7]),
+                    r[8] != null ? ((Number) r[8]).longValue() : null
+            ));
+        }
+        return buckets;
+    }
+
+    private static Double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : null;
+    }
+}
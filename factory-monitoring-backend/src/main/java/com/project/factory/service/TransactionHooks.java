@@ -0,0 +1,47 @@
+package com.project.factory.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/* =====================================================
+   RUN SIDE EFFECTS ONLY ONCE THE DATA IS VISIBLE
+   In-memory caches must not be touched before commit,
+   otherwise a concurrent reader can re-cache old rows.
+   ===================================================== */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            action.run();
+                        }
+                    }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    // Undo optimistic in-memory claims when the data never lands.
+    // Outside a transaction there is nothing to roll back: no-op.
+    public static void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status != STATUS_COMMITTED) {
+                                action.run();
+                            }
+                        }
+                    }
+            );
+        }
+    }
+}
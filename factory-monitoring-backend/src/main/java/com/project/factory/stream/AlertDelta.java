@@ -0,0 +1,29 @@
+package com.project.factory.stream;
+
+import com.project.factory.event.AlertChangedEvent;
+import com.project.factory.model.Alert;
+
+public class AlertDelta {
+
+    private final long seq;
+    private final AlertChangedEvent.Change change;
+    private final Alert alert;
+
+    public AlertDelta(long seq, AlertChangedEvent.Change change, Alert alert) {
+        this.seq = seq;
+        this.change = change;
+        this.alert = alert;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public AlertChangedEvent.Change getChange() {
+        return change;
+    }
+
+    public Alert getAlert() {
+        return alert;
+    }
+}
@@ -0,0 +1,190 @@
+package com.project.factory.stream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.factory.event.AlertChangedEvent;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* =====================================================
+   ALERT PUSH CHANNEL (/api/alerts/stream)
+
+   - Every committed change gets a sequence number. SSE
+     ids are "<bootId>-<seq>", so an id from before a
+     restart never matches and always gets a "sync".
+   - Changes are coalesced for a short window and sent as
+     one "alerts" frame whose SSE id is the last sequence.
+     Several changes to the same alert in one window
+     collapse to the latest one.
+   - On reconnect the browser sends Last-Event-ID, and the
+     missed frames are replayed from a bounded history.
+     If that history no longer reaches back far enough
+     (or the id is from another boot), a "sync" event
+     tells the client to reload GET /api/alerts once.
+   ===================================================== */
+@Component
+public class AlertStream {
+
+    private final SseBroadcaster broadcaster;
+    private final int historySize;
+
+    // Distinguishes ids across restarts (like the fleet ETag in MachineRegistry)
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+
+    /* ===== guarded by "this" ===== */
+    private long sequence;
+    private long lastFlushedSeq;
+    private final Map<Long, AlertDelta> pending = new LinkedHashMap<>();
+    private AlertDelta pendingClear;
+    private final Deque<AlertDelta> history = new ArrayDeque<>();
+
+    public AlertStream(
+            SseSenderPool senderPool,
+            @Value("${stream.alerts.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${stream.alerts.client-buffer:64}") int bufferSize,
+            @Value("${stream.alerts.history:1000}") int historySize,
+            JsonMapper jsonMapper
+    ) {
+        this.broadcaster = new SseBroadcaster(
+                timeoutMillis, bufferSize, senderPool::execute, jsonMapper);
+        this.historySize = historySize;
+    }
+
+    /* ================= SUBSCRIBE / RESUME ================= */
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = broadcaster.subscribe();
+
+        // Under the lock so no flush can slip between replay and live frames
+        synchronized (this) {
+            List<AlertDelta> missed = missedSince(lastEventId);
+            if (missed == null) {
+                broadcaster.sendTo(emitter, syncEvent());
+            } else if (!missed.isEmpty()) {
+                broadcaster.sendTo(emitter, frame(missed, lastFlushedSeq));
+            }
+        }
+        return emitter;
+    }
+
+    // Flushed deltas after the client's id; null = it must sync instead
+    synchronized List<AlertDelta> missedSince(String lastEventId) {
+        long seq = seqOf(lastEventId);
+        if (seq < 0 || seq > lastFlushedSeq || !historyCovers(seq)) {
+            return null;
+        }
+
+        List<AlertDelta> missed = new ArrayList<>();
+        for (AlertDelta d : history) {
+            if (d.getSeq() > seq && d.getSeq() <= lastFlushedSeq) {
+                missed.add(d);
+            }
+        }
+        return missed;
+    }
+
+    // Id a client holds after the latest frame
+    synchronized String lastEventId() {
+        return eventId(lastFlushedSeq);
+    }
+
+    /* ================= COLLECT ================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAlertChanged(AlertChangedEvent event) {
+        AlertDelta delta = new AlertDelta(
+                ++sequence, event.getChange(), event.getAlert()
+        );
+
+        history.addLast(delta);
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+
+        if (event.getChange() == AlertChangedEvent.Change.CLEARED) {
+            // Everything queued before a clear is moot
+            pending.clear();
+            pendingClear = delta;
+        } else {
+            pending.remove(event.getAlert().getId());
+            pending.put(event.getAlert().getId(), delta);
+        }
+    }
+
+    /* ================= FLUSH (ONE FRAME PER WINDOW) ================= */
+
+    @Scheduled(fixedDelayString = "${stream.alerts.coalesce-ms:250}")
+    public synchronized void flush() {
+        if (pending.isEmpty() && pendingClear == null) {
+            return;
+        }
+
+        List<AlertDelta> deltas = new ArrayList<>(pending.size() + 1);
+        if (pendingClear != null) {
+            deltas.add(pendingClear);
+        }
+        deltas.addAll(pending.values());
+
+        pending.clear();
+        pendingClear = null;
+        lastFlushedSeq = sequence;
+
+        broadcaster.publish(frame(deltas, lastFlushedSeq));
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    /* ================= HELPERS ================= */
+
+    // Sequence of an id from this boot, or -1 (missing, malformed, other boot)
+    private long seqOf(String eventId) {
+        if (eventId == null) return -1;
+        int dash = eventId.lastIndexOf('-');
+        if (dash != bootId.length() || !eventId.startsWith(bootId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long seq) {
+        return bootId + "-" + seq;
+    }
+
+    private boolean historyCovers(long lastEventId) {
+        if (lastEventId == lastFlushedSeq) return true;
+        AlertDelta oldest = history.peekFirst();
+        return oldest != null && oldest.getSeq() <= lastEventId + 1;
+    }
+
+    private SseEmitter.SseEventBuilder frame(List<AlertDelta> deltas, long toSeq) {
+        return broadcaster.json("alerts", deltas)
+                .id(eventId(toSeq));
+    }
+
+    private SseEmitter.SseEventBuilder syncEvent() {
+        return SseEmitter.event()
+                .name("sync")
+                .id(eventId(lastFlushedSeq))
+                .data(lastFlushedSeq);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.factory.stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.factory.event.MachineStatusChangedEvent;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* =====================================================
+   MACHINE STATUS PUSH CHANNEL (/api/machines/stream)
+   Events are only fanned out once the status change has
+   committed, so clients never see a rolled-back state.
+   ===================================================== */
+@Component
+public class MachineStatusStream {
+
+    private final SseBroadcaster broadcaster;
+
+    public MachineStatusStream(
+            SseSenderPool senderPool,
+            @Value("${stream.machines.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${stream.machines.client-buffer:64}") int bufferSize,
+            JsonMapper jsonMapper
+    ) {
+        this.broadcaster = new SseBroadcaster(
+                timeoutMillis, bufferSize, senderPool::execute, jsonMapper);
+    }
+
+    public SseEmitter subscribe() {
+        return broadcaster.subscribe();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(MachineStatusChangedEvent event) {
+        broadcaster.publish(broadcaster.json("machine-status", event));
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+}
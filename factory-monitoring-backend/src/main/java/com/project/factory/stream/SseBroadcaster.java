@@ -0,0 +1,166 @@
+package com.project.factory.stream;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* =====================================================
+   FAN-OUT OF SERVER-SENT EVENTS TO MANY CLIENTS
+
+   - Idle connections cost no thread: they are servlet
+     async requests parked in the container.
+   - Each client has a bounded buffer. Publishing only
+     offers to the buffers and never blocks on a socket.
+   - A client whose buffer is full is evicted; the browser
+     EventSource reconnects and reloads current state.
+   - Buffers are drained on a small shared executor, at
+     most one drain task per client at a time.
+   - An event is rendered once and the same frame is
+     queued for every client: payloads go through
+     json(), which serialises them to a String up front,
+     so no client's send runs the JSON converter again.
+   ===================================================== */
+public class SseBroadcaster {
+
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Executor sender;
+    private final JsonMapper jsonMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SseBroadcaster(
+            long timeoutMillis,
+            int bufferSize,
+            Executor sender,
+            JsonMapper jsonMapper
+    ) {
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.sender = sender;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /* ================= EVENTS ================= */
+
+    // Named event whose data is the payload, serialised once here
+    public SseEventBuilder json(String name, Object payload) {
+        return SseEmitter.event()
+                .name(name)
+                .data(jsonMapper.writeValueAsString(payload));
+    }
+
+    /* ================= SUBSCRIBE ================= */
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Client client = new Client(emitter, bufferSize);
+
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(e -> remove(client));
+
+        clients.add(client);
+        return emitter;
+    }
+
+    // Queue an event for one freshly subscribed client only (e.g. replay)
+    public void sendTo(SseEmitter emitter, SseEventBuilder event) {
+        for (Client client : clients) {
+            if (client.emitter == emitter) {
+                offer(client, event.build());
+                return;
+            }
+        }
+    }
+
+    /* ================= PUBLISH ================= */
+
+    public void publish(SseEventBuilder event) {
+        Set<DataWithMediaType> frame = event.build();
+        for (Client client : clients) {
+            offer(client, frame);
+        }
+    }
+
+    // Keeps proxies from closing idle connections and detects dead peers
+    public void heartbeat() {
+        publish(SseEmitter.event().comment("keep-alive"));
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /* ================= INTERNALS ================= */
+
+    private void offer(Client client, Set<DataWithMediaType> frame) {
+        if (!client.buffer.offer(frame)) {
+            // Slow consumer: drop the connection rather than grow memory
+            evictions.incrementAndGet();
+            remove(client);
+            return;
+        }
+        scheduleDrain(client);
+    }
+
+    private void scheduleDrain(Client client) {
+        if (client.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            Set<DataWithMediaType> next;
+            while ((next = client.buffer.poll()) != null) {
+                client.emitter.send(next);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(client);
+            return;
+        } finally {
+            client.draining.set(false);
+        }
+
+        // An event may have arrived between the last poll and the reset
+        if (!client.buffer.isEmpty()) {
+            scheduleDrain(client);
+        }
+    }
+
+    private void remove(Client client) {
+        if (clients.remove(client)) {
+            client.buffer.clear();
+            client.emitter.complete();
+        }
+    }
+
+    private static final class Client {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Client(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.factory.stream;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/* =====================================================
+   SHARED SSE SENDER THREADS
+   Drains per-client buffers for every push channel.
+   Deliberately not an Executor bean, so Spring Boot's
+   applicationTaskExecutor (MVC async) stays configured.
+   ===================================================== */
+@Component
+public class SseSenderPool {
+
+    private final ExecutorService executor;
+
+    public SseSenderPool(@Value("${stream.sender-threads:4}") int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "sse-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
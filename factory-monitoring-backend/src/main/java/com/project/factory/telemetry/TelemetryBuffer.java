@@ -0,0 +1,142 @@
+package com.project.factory.telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/* =====================================================
+   LOCK-FREE STRIPED SAMPLE BUFFER
+
+   A machine always maps to the same stripe, so its
+   samples stay in order and different machines rarely
+   contend on one counter. An append is one
+   getAndIncrement on the stripe's current chunk; when a
+   chunk fills, the writer that notices swaps a fresh one
+   in with a single CAS and queues the full one for the
+   flusher.
+
+   Chunks come from a free pool and return after being
+   written, so steady-state ingest allocates nothing. The
+   pool grows to at most maxChunks; beyond that offers
+   are refused (counted as dropped by the caller) rather
+   than growing the heap while the database lags.
+   ===================================================== */
+final class TelemetryBuffer {
+
+    private final int chunkSize;
+    private final int maxChunks;
+    private final int mask;
+
+    private final AtomicReferenceArray<TelemetryChunk> stripes;
+    private final ConcurrentLinkedQueue<TelemetryChunk> sealed = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<TelemetryChunk> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    TelemetryBuffer(int stripeCount, int chunkSize, int maxChunks) {
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;   // next power of two
+        this.mask = n - 1;
+        this.chunkSize = chunkSize;
+        this.maxChunks = Math.max(maxChunks, n * 2);
+        this.stripes = new AtomicReferenceArray<>(n);
+        for (int i = 0; i < n; i++) {
+            allocated.incrementAndGet();
+            stripes.set(i, new TelemetryChunk(chunkSize));
+        }
+    }
+
+    /* ================= WRITERS ================= */
+
+    boolean offer(long machineId, long ts, long cycles, double temp, double load) {
+        int s = stripe(machineId);
+
+        while (true) {
+            TelemetryChunk chunk = stripes.get(s);
+            if (chunk.tryAppend(machineId, ts, cycles, temp, load)) {
+                return true;
+            }
+            if (stripes.get(s) != chunk) {
+                continue;                           // someone already rotated it
+            }
+            if (!rotate(s, chunk)) {
+                return false;                       // saturated
+            }
+        }
+    }
+
+    private int stripe(long machineId) {
+        long h = machineId * 0x9E3779B97F4A7C15L;   // spread sequential ids
+        return (int) (h >>> 40) & mask;
+    }
+
+    // Replace "current" on stripe s; false only when the pool is exhausted
+    private boolean rotate(int s, TelemetryChunk current) {
+        TelemetryChunk fresh = acquire();
+        if (fresh == null) {
+            return false;
+        }
+        if (stripes.compareAndSet(s, current, fresh)) {
+            sealed.add(current);
+        } else {
+            // Never published; flushing it (usually empty) is the safe way back
+            sealed.add(fresh);
+        }
+        return true;
+    }
+
+    /* ================= FLUSHER ================= */
+
+    // Rotates every non-empty stripe and returns all chunks to write
+    List<TelemetryChunk> drain() {
+        for (int s = 0; s < stripes.length(); s++) {
+            TelemetryChunk current = stripes.get(s);
+            if (current.isEmpty()) continue;
+
+            if (!rotate(s, current)) {
+                // Pool exhausted: flush it where it is and reopen it afterwards
+                current.inPlace = true;
+                sealed.add(current);
+            }
+        }
+
+        List<TelemetryChunk> out = new ArrayList<>();
+        TelemetryChunk c;
+        while ((c = sealed.poll()) != null) {
+            out.add(c);
+        }
+        return out;
+    }
+
+    void release(TelemetryChunk chunk) {
+        if (chunk.inPlace) {
+            chunk.reset();                          // still current: reopen for writers
+        } else {
+            free.add(chunk);
+        }
+    }
+
+    int pendingChunks() {
+        return sealed.size();
+    }
+
+    int allocatedChunks() {
+        return allocated.get();
+    }
+
+    /* ================= POOL ================= */
+
+    // Reset only here, right before the chunk can become current again
+    private TelemetryChunk acquire() {
+        TelemetryChunk c = free.poll();
+        if (c != null) {
+            c.reset();
+            return c;
+        }
+        if (allocated.incrementAndGet() > maxChunks) {
+            allocated.decrementAndGet();
+            return null;
+        }
+        return new TelemetryChunk(chunkSize);
+    }
+}
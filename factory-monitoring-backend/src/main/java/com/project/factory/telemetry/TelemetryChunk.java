@@ -0,0 +1,100 @@
+package com.project.factory.telemetry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* =====================================================
+   FIXED-SIZE COLUMNAR SAMPLE BLOCK (RECYCLED)
+
+   Writers reserve a slot with claimed.getAndIncrement(),
+   fill the primitive columns, then bump "written".
+   Sealing jumps "claimed" past capacity so every later
+   claim fails; the sealer records how many slots were
+   handed out and the flusher waits for "written" to
+   reach that count before reading the columns.
+
+   A chunk is reset only when it is taken from the pool
+   to become a stripe's current chunk, so a writer still
+   holding a stale reference either hits the seal or
+   lands in a chunk that will be flushed.
+   ===================================================== */
+final class TelemetryChunk {
+
+    static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final int SEAL = 1 << 30;
+
+    final long[] machineIds;
+    final long[] timestamps;
+    final long[] cycleCounts;        // NO_VALUE when absent
+    final double[] temperatures;     // NaN when absent
+    final double[] spindleLoads;     // NaN when absent
+
+    private final int capacity;
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger sealedRows = new AtomicInteger(-1);
+
+    // Flushed while still a stripe's current chunk (pool exhausted)
+    boolean inPlace;
+
+    TelemetryChunk(int capacity) {
+        this.capacity = capacity;
+        this.machineIds = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.cycleCounts = new long[capacity];
+        this.temperatures = new double[capacity];
+        this.spindleLoads = new double[capacity];
+    }
+
+    // false = full or sealed; caller moves to the stripe's current chunk
+    boolean tryAppend(long machineId, long ts, long cycles, double temp, double load) {
+        int i = claimed.getAndIncrement();
+        if (i >= capacity) {
+            return false;
+        }
+        machineIds[i] = machineId;
+        timestamps[i] = ts;
+        cycleCounts[i] = cycles;
+        temperatures[i] = temp;
+        spindleLoads[i] = load;
+        written.incrementAndGet();
+        return true;
+    }
+
+    boolean isEmpty() {
+        return claimed.get() == 0;
+    }
+
+    // Idempotent; returns how many rows the chunk holds once writers finish
+    int seal() {
+        while (true) {
+            int c = claimed.get();
+            if (c >= SEAL) {
+                int rows;
+                while ((rows = sealedRows.get()) < 0) {
+                    Thread.onSpinWait();             // the other sealer is publishing
+                }
+                return rows;
+            }
+            if (claimed.compareAndSet(c, SEAL)) {
+                int rows = Math.min(c, capacity);
+                sealedRows.set(rows);
+                return rows;
+            }
+        }
+    }
+
+    // After seal(): wait out writers still filling their slots
+    void awaitWritten(int rows) {
+        while (written.get() < rows) {
+            Thread.onSpinWait();
+        }
+    }
+
+    void reset() {
+        inPlace = false;
+        written.set(0);
+        sealedRows.set(-1);
+        claimed.set(0);
+    }
+}
@@ -0,0 +1,258 @@
+package com.project.factory.telemetry;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.factory.dto.TelemetryIngestResult;
+import com.project.factory.dto.TelemetrySample;
+import com.project.factory.dto.TelemetryStats;
+import com.project.factory.service.MachineRegistry;
+
+/* =====================================================
+   TELEMETRY INGEST + FLUSHER
+
+   Request threads copy samples into the striped
+   TelemetryBuffer and return; nothing on that path takes
+   a lock or touches the database. A "telemetry-flusher"
+   thread wakes every flush-ms (or as soon as a chunk
+   fills), rotates the stripes and writes each chunk as
+   one JDBC batch straight from its primitive columns
+   (rewriteBatchedStatements turns it into multi-row
+   inserts). Chunks then go back to the pool.
+
+   "insert ignore" makes client retries idempotent: a
+   repeated (machine_id, ts) is skipped, not an error.
+   A failed chunk is counted and discarded; telemetry is
+   lossy by nature and must not back up the buffer.
+   ===================================================== */
+@Component
+public class TelemetryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryWriter.class);
+
+    private static final String INSERT_SQL =
+            "insert ignore into machine_telemetry "
+            + "(machine_id, ts, cycle_count, temperature, spindle_load) "
+            + "values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MachineRegistry machineRegistry;
+    private final TelemetryBuffer buffer;
+    private final long flushMillis;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    /* ===== metrics ===== */
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    public TelemetryWriter(
+            JdbcTemplate jdbcTemplate,
+            MachineRegistry machineRegistry,
+            @Value("${telemetry.stripes:16}") int stripes,
+            @Value("${telemetry.chunk-size:4096}") int chunkSize,
+            @Value("${telemetry.max-chunks:256}") int maxChunks,
+            @Value("${telemetry.flush-ms:500}") long flushMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.machineRegistry = machineRegistry;
+        this.buffer = new TelemetryBuffer(stripes, chunkSize, maxChunks);
+        this.flushMillis = flushMillis;
+    }
+
+    /* ================= INGEST (REQUEST THREADS) ================= */
+
+    public TelemetryIngestResult ingest(List<TelemetrySample> samples) {
+        int ok = 0;
+        int bad = 0;
+        int full = 0;
+
+        long now = System.currentTimeMillis();
+        Long lastChecked = null;                    // batches are usually grouped by machine
+        boolean lastKnown = false;
+
+        for (TelemetrySample s : samples) {
+            Long machineId = s.getMachineId();
+            if (machineId == null) {
+                bad++;
+                continue;
+            }
+            if (!machineId.equals(lastChecked)) {
+                lastChecked = machineId;
+                lastKnown = machineRegistry.contains(machineId);
+            }
+            if (!lastKnown) {
+                bad++;
+                continue;
+            }
+
+            boolean buffered = buffer.offer(
+                    machineId,
+                    s.getTs() != null ? s.getTs() : now,
+                    s.getCycleCount() != null ? s.getCycleCount() : TelemetryChunk.NO_VALUE,
+                    s.getTemperature() != null ? s.getTemperature() : Double.NaN,
+                    s.getSpindleLoad() != null ? s.getSpindleLoad() : Double.NaN
+            );
+            if (buffered) ok++;
+            else full++;
+        }
+
+        accepted.add(ok);
+        rejected.add(bad);
+        dropped.add(full);
+
+        if (full > 0 || buffer.pendingChunks() > 0) {
+            Thread t = flusher;
+            if (t != null) LockSupport.unpark(t);   // don't wait out flush-ms
+        }
+
+        return new TelemetryIngestResult(ok, bad, full);
+    }
+
+    /* ================= FLUSHER THREAD ================= */
+
+    private void runFlusher() {
+        // After stop() make one last pass so buffered samples are kept
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushMillis));
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<TelemetryChunk> chunks = buffer.drain();
+        if (chunks.isEmpty()) return;
+
+        long start = System.nanoTime();
+
+        for (TelemetryChunk chunk : chunks) {
+            int rows = chunk.seal();
+            chunk.awaitWritten(rows);
+            try {
+                if (rows > 0) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, new ChunkSetter(chunk, rows));
+                    written.add(rows);
+                }
+            } catch (RuntimeException e) {
+                failed.add(rows);
+                log.error("Telemetry flush failed, discarded {} samples", rows, e);
+            } finally {
+                buffer.release(chunk);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos = elapsed;
+    }
+
+    // Binds straight from the chunk's columns; no per-row objects
+    private static final class ChunkSetter implements BatchPreparedStatementSetter {
+
+        private final TelemetryChunk chunk;
+        private final int rows;
+
+        ChunkSetter(TelemetryChunk chunk, int rows) {
+            this.chunk = chunk;
+            this.rows = rows;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setLong(1, chunk.machineIds[i]);
+            ps.setLong(2, chunk.timestamps[i]);
+
+            long cycles = chunk.cycleCounts[i];
+            if (cycles == TelemetryChunk.NO_VALUE) ps.setNull(3, Types.BIGINT);
+            else ps.setLong(3, cycles);
+
+            double temp = chunk.temperatures[i];
+            if (Double.isNaN(temp)) ps.setNull(4, Types.DOUBLE);
+            else ps.setDouble(4, temp);
+
+            double load = chunk.spindleLoads[i];
+            if (Double.isNaN(load)) ps.setNull(5, Types.DOUBLE);
+            else ps.setDouble(5, load);
+        }
+
+        @Override
+        public int getBatchSize() {
+            return rows;
+        }
+    }
+
+    /* ================= LIFECYCLE ================= */
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        Thread t = new Thread(this::runFlusher, "telemetry-flusher");
+        t.setDaemon(true);
+        flusher = t;
+        t.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Thread t = flusher;
+        LockSupport.unpark(t);
+        try {
+            t.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Same ordering as AlertPipeline: up before and down after the web server
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /* ================= METRICS ================= */
+
+    public TelemetryStats stats() {
+        return new TelemetryStats(
+                accepted.sum(),
+                rejected.sum(),
+                dropped.sum(),
+                written.sum(),
+                failed.sum(),
+                buffer.pendingChunks(),
+                buffer.allocatedChunks(),
+                flushes.sum(),
+                lastFlushNanos / 1e6,
+                maxFlushNanos.get() / 1e6
+        );
+    }
+}
@@ -0,0 +1,179 @@
+package com.project.factory.archive;
+
+import static com.project.factory.archive.LogSegmentTest.assertSameRow;
+import static com.project.factory.archive.LogSegmentTest.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+
+/* Range, filter and keyset scans across several month segments */
+class ArchiveCursorTest {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    @TempDir
+    Path dir;
+
+    // Three months; February is empty and January ends on a start-time tie
+    private final List<ProductionLogRow> all = new ArrayList<>();
+    private final List<LogSegment> segments = new ArrayList<>();
+
+    @BeforeEach
+    void writeSegments() throws IOException {
+        long id = 1;
+        List<ProductionLogRow> jan = new ArrayList<>();
+        for (int day = 1; day <= 31; day += 3) {
+            jan.add(row(id++, LocalDateTime.of(2025, 1, day, 7, 0)));
+            jan.add(row(id++, LocalDateTime.of(2025, 1, day, 15, 0)));
+        }
+        // Same start, several ids: keyset must break the tie by id
+        LocalDateTime tie = LocalDateTime.of(2025, 1, 31, 23, 0);
+        jan.add(row(id++, tie));
+        jan.add(row(id++, tie));
+
+        List<ProductionLogRow> mar = new ArrayList<>();
+        for (int day = 1; day <= 31; day += 2) {
+            mar.add(row(id++, LocalDateTime.of(2025, 3, day, 23, 30)));
+        }
+
+        add(YearMonth.of(2025, 1), jan);
+        add(YearMonth.of(2025, 2), List.of());
+        add(YearMonth.of(2025, 3), mar);
+    }
+
+    @Test
+    void scansEverySegmentInOrder() {
+        assertRows(all, scan(new ProductionLogFilter(), NO_LIMIT));
+    }
+
+    @Test
+    void keysetPagesJoinUpAcrossSegments() {
+        // Page sizes chosen so boundaries land inside the tie and on segment edges
+        for (int pageSize : new int[] { 1, 2, 5, 23, 24, 25 }) {
+            List<ProductionLogRow> seen = new ArrayList<>();
+            ProductionLogFilter filter = new ProductionLogFilter();
+            while (true) {
+                List<ProductionLogRow> page = scan(filter, pageSize);
+                seen.addAll(page);
+                if (page.size() < pageSize) break;
+
+                ProductionLogRow last = page.get(page.size() - 1);
+                filter = new ProductionLogFilter();
+                filter.setAfterTime(last.getStartTime());
+                filter.setAfterId(last.getId());
+            }
+            assertRows(all, seen);
+        }
+    }
+
+    @Test
+    void keysetPositionPastASegmentSkipsIt() {
+        ProductionLogRow lastJan = all.get(23);
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setAfterTime(lastJan.getStartTime());
+        filter.setAfterId(lastJan.getId());
+
+        assertRows(all.subList(24, all.size()), scan(filter, NO_LIMIT));
+    }
+
+    @Test
+    void keysetInsideATieContinuesWithHigherIds() {
+        ProductionLogRow firstOfTie = all.get(22);
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setAfterTime(firstOfTie.getStartTime());
+        filter.setAfterId(firstOfTie.getId());
+
+        assertRows(all.subList(23, all.size()), scan(filter, NO_LIMIT));
+    }
+
+    @Test
+    void fromAndToBoundTheScanAcrossSegments() {
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setFrom(LocalDateTime.of(2025, 1, 28, 15, 0));       // inclusive
+        filter.setTo(LocalDateTime.of(2025, 3, 5, 23, 30));         // exclusive
+
+        List<ProductionLogRow> expected = all.stream()
+                .filter(r -> !r.getStartTime().isBefore(filter.getFrom())
+                        && r.getStartTime().isBefore(filter.getTo()))
+                .toList();
+        assertRows(expected, scan(filter, NO_LIMIT));
+    }
+
+    @Test
+    void horizonClampsTheUpperBound() {
+        LocalDateTime horizon = LocalDateTime.of(2025, 3, 10, 0, 0);
+        ArchiveCursor cursor = new ArchiveCursor(
+                segments, new ProductionLogFilter(), LogSegment.toMicros(horizon));
+
+        List<ProductionLogRow> got = drain(cursor, NO_LIMIT);
+        assertRows(all.stream().filter(r -> r.getStartTime().isBefore(horizon)).toList(), got);
+    }
+
+    @Test
+    void columnFiltersApplyWithKeyset() {
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setMachineId(2L);
+        filter.setShift(Shift.EVENING);
+        filter.setStatus(ProductionStatus.COMPLETED);
+        filter.setAfterTime(all.get(3).getStartTime());
+        filter.setAfterId(all.get(3).getId());
+
+        List<ProductionLogRow> expected = all.subList(4, all.size()).stream()
+                .filter(r -> r.getMachineId() == 2L && r.getShift() == Shift.EVENING)
+                .toList();
+        assertRows(expected, scan(filter, NO_LIMIT));
+    }
+
+    @Test
+    void keysetAfterTheLastRowIsEmpty() {
+        ProductionLogRow last = all.get(all.size() - 1);
+        ProductionLogFilter filter = new ProductionLogFilter();
+        filter.setAfterTime(last.getStartTime());
+        filter.setAfterId(last.getId());
+
+        assertFalse(new ArchiveCursor(segments, filter, Long.MAX_VALUE).next());
+    }
+
+    /* ================= HELPERS ================= */
+
+    private void add(YearMonth month, List<ProductionLogRow> rows) throws IOException {
+        Path file = dir.resolve(month + ".seg");
+        SegmentWriter.write(file, rows);
+        segments.add(LogSegment.open(month, file));
+        all.addAll(rows);
+    }
+
+    private List<ProductionLogRow> scan(ProductionLogFilter filter, long limit) {
+        return drain(new ArchiveCursor(segments, filter, Long.MAX_VALUE), limit);
+    }
+
+    private static List<ProductionLogRow> drain(ArchiveCursor cursor, long limit) {
+        List<ProductionLogRow> out = new ArrayList<>();
+        while (out.size() < limit && cursor.next()) {
+            out.add(cursor.toRow());
+        }
+        return out;
+    }
+
+    private static void assertRows(List<ProductionLogRow> expected, List<ProductionLogRow> actual) {
+        assertEquals(expected.size(), actual.size(), "row count");
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameRow(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.factory.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+
+/* SegmentWriter -> mapped LogSegment round trip, column by column */
+class LogSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryColumn() throws IOException {
+        List<ProductionLogRow> rows = List.of(
+                row(11, LocalDateTime.of(2025, 3, 1, 6, 0, 0, 123_456_000),
+                        LocalDateTime.of(2025, 3, 1, 9, 30), "Bolt M8", "Lathe 1", "alice",
+                        Shift.MORNING, ProductionStatus.COMPLETED),
+                // Open end time and null dictionary strings
+                row(12, LocalDateTime.of(2025, 3, 1, 14, 0), null, null, "Lathe 1", null,
+                        Shift.EVENING, ProductionStatus.FAILED),
+                // Repeated strings share one dictionary entry; non-ASCII survives
+                row(13, LocalDateTime.of(2025, 3, 31, 23, 59, 59, 999_999_000),
+                        LocalDateTime.of(2025, 4, 1, 1, 0), "Bolt M8", "Presse Süd", "alice",
+                        Shift.NIGHT, ProductionStatus.COMPLETED)
+        );
+
+        LogSegment segment = writeAndOpen(rows);
+
+        assertEquals(MONTH, segment.month());
+        assertEquals(3, segment.rows());
+        assertEquals(LogSegment.toMicros(rows.get(0).getStartTime()), segment.minStart());
+        assertEquals(LogSegment.toMicros(rows.get(2).getStartTime()), segment.maxStart());
+
+        for (int r = 0; r < rows.size(); r++) {
+            assertSameRow(rows.get(r), segment.toRow(r));
+        }
+        assertNull(segment.toRow(1).getEndTime());
+        assertNull(segment.toRow(1).getProductName());
+        assertNull(segment.toRow(1).getOperatorName());
+    }
+
+    @Test
+    void emptySegmentHasNoRows() throws IOException {
+        LogSegment segment = writeAndOpen(List.of());
+
+        assertEquals(0, segment.rows());
+        assertEquals(0, segment.lowerBound(0));
+        assertEquals(0, segment.after(0, 0));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSegments() throws IOException {
+        Path file = dir.resolve("junk.seg");
+        Files.write(file, new byte[LogSegment.HEADER_BYTES]);
+
+        assertThrows(RuntimeException.class, () -> LogSegment.open(MONTH, file));
+    }
+
+    @Test
+    void writeLeavesNoTempFile() throws IOException {
+        writeAndOpen(List.of(row(1, LocalDateTime.of(2025, 3, 2, 8, 0))));
+
+        try (var files = Files.list(dir)) {
+            assertFalse(files.anyMatch(f -> f.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void lowerBoundAndAfterFollowStartThenId() throws IOException {
+        LocalDateTime t1 = LocalDateTime.of(2025, 3, 5, 8, 0);
+        LocalDateTime t2 = LocalDateTime.of(2025, 3, 5, 9, 0);
+        LogSegment segment = writeAndOpen(List.of(
+                row(1, t1), row(4, t1), row(7, t1),     // same start, ids ascending
+                row(2, t2), row(9, t2)
+        ));
+        long m1 = LogSegment.toMicros(t1);
+        long m2 = LogSegment.toMicros(t2);
+
+        assertEquals(0, segment.lowerBound(m1 - 1));
+        assertEquals(0, segment.lowerBound(m1));
+        assertEquals(3, segment.lowerBound(m1 + 1));
+        assertEquals(3, segment.lowerBound(m2));
+        assertEquals(5, segment.lowerBound(m2 + 1));
+
+        assertEquals(0, segment.after(m1, 0));
+        assertEquals(1, segment.after(m1, 1));
+        assertEquals(2, segment.after(m1, 5));      // id between rows
+        assertEquals(3, segment.after(m1, 7));
+        assertEquals(5, segment.after(m2, 9));
+        assertEquals(3, segment.after(m1 + 1, 0));  // between starts: id is irrelevant
+    }
+
+    @Test
+    void microsRoundTripIncludingBeforeEpoch() {
+        for (LocalDateTime t : List.of(
+                LocalDateTime.of(2025, 3, 1, 6, 0, 0, 1_000),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000),
+                LocalDateTime.of(1970, 1, 1, 0, 0))) {
+            assertEquals(t, LogSegment.fromMicros(LogSegment.toMicros(t)));
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    private LogSegment writeAndOpen(List<ProductionLogRow> rows) throws IOException {
+        Path file = dir.resolve(MONTH + ".seg");
+        SegmentWriter.write(file, rows);
+        return LogSegment.open(MONTH, file);
+    }
+
+    static ProductionLogRow row(long id, LocalDateTime start) {
+        return row(id, start, start.plusHours(1), "P" + id, "M", "op",
+                Shift.of(start), ProductionStatus.COMPLETED);
+    }
+
+    static ProductionLogRow row(
+            long id, LocalDateTime start, LocalDateTime end,
+            String product, String machineName, String operatorName,
+            Shift shift, ProductionStatus status
+    ) {
+        return new ProductionLogRow(id, id * 10, product, (int) id * 3,
+                id % 3 + 1, machineName, id % 2 + 100, operatorName,
+                start, end, shift, status);
+    }
+
+    static void assertSameRow(ProductionLogRow expected, ProductionLogRow actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getBatchId(), actual.getBatchId());
+        assertEquals(expected.getProductName(), actual.getProductName());
+        assertEquals(expected.getProducedQty(), actual.getProducedQty());
+        assertEquals(expected.getMachineId(), actual.getMachineId());
+        assertEquals(expected.getMachineName(), actual.getMachineName());
+        assertEquals(expected.getOperatorId(), actual.getOperatorId());
+        assertEquals(expected.getOperatorName(), actual.getOperatorName());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+        assertEquals(expected.getShift(), actual.getShift());
+        assertEquals(expected.getStatus(), actual.getStatus());
+    }
+}
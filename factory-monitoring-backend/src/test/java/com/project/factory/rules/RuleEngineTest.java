@@ -0,0 +1,186 @@
+package com.project.factory.rules;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.factory.dto.MachineView;
+import com.project.factory.event.BatchTransitionEvent;
+import com.project.factory.event.MachineStatusChangedEvent;
+import com.project.factory.model.BatchStatus;
+import com.project.factory.model.MachineStatus;
+import com.project.factory.service.AlertService;
+import com.project.factory.service.BatchQueryService;
+import com.project.factory.service.MachineRegistry;
+
+/* Rules fire once per episode and re-arm when the episode ends */
+class RuleEngineTest {
+
+    private static final Long MACHINE = 1L;
+    private static final LocalDateTime SHIFT_TIME = LocalDateTime.of(2026, 10, 5, 9, 0);
+
+    private MachineRegistry machineRegistry;
+    private AlertService alertService;
+    private RuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        machineRegistry = mock(MachineRegistry.class);
+        alertService = mock(AlertService.class);
+        when(machineRegistry.get(MACHINE)).thenReturn(machine(MACHINE, MachineStatus.AVAILABLE));
+
+        engine = new RuleEngine(
+                List.of(
+                        new MachineFailureRule(),
+                        new BatchOverrunRule(),
+                        new PausedTooLongRule(30),
+                        new RepeatedBatchFailureRule(3)
+                ),
+                machineRegistry,
+                mock(BatchQueryService.class),
+                alertService
+        );
+    }
+
+    /* ================= BATCH OVERRUN ================= */
+
+    @Test
+    void overrunFiresOncePerBatch() {
+        LocalDateTime overdue = LocalDateTime.now().minusMinutes(5);
+        engine.onBatchTransition(batch(10L, "Bolts", BatchStatus.IN_PROGRESS, overdue));
+        engine.onBatchTransition(batch(11L, "Nuts", BatchStatus.IN_PROGRESS, overdue));
+
+        engine.tick();
+        engine.tick();
+        engine.tick();
+
+        verify(alertService).addAlert(eq("BATCH_OVERRUN"), eq("MEDIUM"), eq(MACHINE), anyString(), contains("Bolts"));
+        verify(alertService).addAlert(eq("BATCH_OVERRUN"), eq("MEDIUM"), eq(MACHINE), anyString(), contains("Nuts"));
+    }
+
+    @Test
+    void overrunWaitsForTheEstimatedEnd() {
+        engine.onBatchTransition(batch(10L, "Bolts", BatchStatus.IN_PROGRESS, LocalDateTime.now().plusHours(1)));
+
+        engine.tick();
+
+        verifyNoInteractions(alertService);
+    }
+
+    @Test
+    void overrunIsReArmedOnceTheBatchLeaves() {
+        LocalDateTime overdue = LocalDateTime.now().minusMinutes(5);
+        engine.onBatchTransition(batch(10L, "Bolts", BatchStatus.IN_PROGRESS, overdue));
+        engine.tick();
+
+        engine.onBatchTransition(batch(10L, "Bolts", BatchStatus.COMPLETED, overdue));
+        engine.tick();
+        verify(alertService, times(1)).addAlert(eq("BATCH_OVERRUN"), anyString(), anyLong(), anyString(), anyString());
+
+        // Same id tracked again (e.g. seeded back in): a fresh episode
+        engine.onBatchTransition(batch(10L, "Bolts", BatchStatus.IN_PROGRESS, overdue));
+        engine.tick();
+        verify(alertService, times(2)).addAlert(eq("BATCH_OVERRUN"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    /* ================= PAUSED TOO LONG ================= */
+
+    @Test
+    void longPauseFiresOncePerPause() {
+        engine.onMachineStatus(status(MachineStatus.PAUSED, LocalDateTime.now().minusMinutes(45)));
+
+        engine.tick();
+        engine.tick();
+
+        verify(alertService, times(1)).addAlert(
+                eq("MACHINE_PAUSED"), eq("MEDIUM"), eq(MACHINE), eq("Press 1"), anyString());
+
+        // Resume, then a new long pause: a new episode
+        engine.onMachineStatus(status(MachineStatus.RUNNING, LocalDateTime.now().minusMinutes(40)));
+        engine.onMachineStatus(status(MachineStatus.PAUSED, LocalDateTime.now().minusMinutes(35)));
+        engine.tick();
+
+        verify(alertService, times(2)).addAlert(
+                eq("MACHINE_PAUSED"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void shortPauseDoesNotFire() {
+        engine.onMachineStatus(status(MachineStatus.PAUSED, LocalDateTime.now().minusMinutes(5)));
+
+        engine.tick();
+
+        verify(alertService, never()).addAlert(
+                eq("MACHINE_PAUSED"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    /* ================= REPEATED FAILURE / MACHINE FAILURE ================= */
+
+    @Test
+    void repeatedFailuresFireOncePerShift() {
+        for (int i = 0; i < 5; i++) {
+            engine.onBatchTransition(failed(20L + i, SHIFT_TIME.plusMinutes(i)));
+        }
+
+        verify(alertService, times(1)).addAlert(
+                eq("REPEATED_BATCH_FAILURE"), eq("HIGH"), eq(MACHINE), anyString(), contains("3 failed batches"));
+
+        // Next shift starts counting from zero
+        LocalDateTime evening = SHIFT_TIME.withHour(15);
+        engine.onBatchTransition(failed(30L, evening));
+        engine.onBatchTransition(failed(31L, evening.plusMinutes(1)));
+        engine.onBatchTransition(failed(32L, evening.plusMinutes(2)));
+
+        verify(alertService, times(2)).addAlert(
+                eq("REPEATED_BATCH_FAILURE"), anyString(), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void errorStatusRaisesMachineFailure() {
+        engine.onMachineStatus(status(MachineStatus.ERROR, LocalDateTime.now()));
+
+        verify(alertService).addAlert("MACHINE_FAILURE", "HIGH", MACHINE, "Press 1", "Machine failed");
+    }
+
+    @Test
+    void forgottenMachineStopsTicking() {
+        engine.onMachineStatus(status(MachineStatus.PAUSED, LocalDateTime.now().minusMinutes(45)));
+
+        engine.forget(MACHINE);
+        engine.tick();
+
+        verifyNoInteractions(alertService);
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static MachineView machine(Long id, MachineStatus status) {
+        LocalDateTime at = LocalDateTime.now().minusDays(1);
+        return new MachineView(id, "Press " + id, null, null, null, status, at, 0, at, at);
+    }
+
+    private static MachineStatusChangedEvent status(MachineStatus status, LocalDateTime at) {
+        return new MachineStatusChangedEvent(MACHINE, "Press 1", null, status, at);
+    }
+
+    private static BatchTransitionEvent batch(Long id, String product, BatchStatus status, LocalDateTime estimatedEnd) {
+        return new BatchTransitionEvent(id, MACHINE, product, null, status, estimatedEnd, LocalDateTime.now());
+    }
+
+    private static BatchTransitionEvent failed(Long id, LocalDateTime at) {
+        return new BatchTransitionEvent(id, MACHINE, "Gears", BatchStatus.IN_PROGRESS, BatchStatus.FAILED, null, at);
+    }
+}
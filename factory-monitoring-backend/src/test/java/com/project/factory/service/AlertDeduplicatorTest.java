@@ -0,0 +1,121 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.factory.repository.AlertRepository;
+
+/* Open-alert claims: taken once, handed back on rollback, released on commit */
+class AlertDeduplicatorTest {
+
+    private AlertRepository alertRepository;
+    private AlertDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        when(alertRepository.findOpenKeys()).thenReturn(List.of());
+        deduplicator = new AlertDeduplicator(alertRepository);
+        deduplicator.rebuild();
+    }
+
+    @Test
+    void secondClaimForTheSameSubjectIsRefused() {
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isTrue();
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isFalse();
+
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 2L)).isTrue();
+        assertThat(deduplicator.claim("MAINTENANCE", 1L)).isTrue();
+    }
+
+    @Test
+    void unclaimFreesTheKey() {
+        deduplicator.claim("LOW_STOCK", 7L);
+
+        deduplicator.unclaim("LOW_STOCK", 7L);
+
+        assertThat(deduplicator.claim("LOW_STOCK", 7L)).isTrue();
+    }
+
+    @Test
+    void rebuildSeedsKeysFromOpenAlerts() {
+        when(alertRepository.findOpenKeys()).thenReturn(List.of(
+                new Object[] { "MACHINE_FAILURE", 3L },
+                new Object[] { "LOW_STOCK", 9L }
+        ));
+
+        deduplicator.rebuild();
+
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 3L)).isFalse();
+        assertThat(deduplicator.claim("LOW_STOCK", 9L)).isFalse();
+        assertThat(deduplicator.claim("LOW_STOCK", 3L)).isTrue();
+    }
+
+    @Test
+    void rolledBackClaimIsHandedBack() {
+        List<TransactionSynchronization> hooks = inTransaction(() ->
+                assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isTrue());
+
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isFalse();   // still held until completion
+
+        hooks.forEach(h -> h.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isTrue();
+    }
+
+    @Test
+    void committedClaimIsKept() {
+        List<TransactionSynchronization> hooks = inTransaction(() ->
+                deduplicator.claim("MACHINE_FAILURE", 1L));
+
+        hooks.forEach(h -> h.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(deduplicator.claim("MACHINE_FAILURE", 1L)).isFalse();
+    }
+
+    @Test
+    void releaseWaitsForCommit() {
+        deduplicator.claim("MAINTENANCE", 4L);
+
+        List<TransactionSynchronization> hooks = inTransaction(() ->
+                deduplicator.releaseAfterCommit("MAINTENANCE", 4L));
+
+        assertThat(deduplicator.claim("MAINTENANCE", 4L)).isFalse();
+        hooks.forEach(TransactionSynchronization::afterCommit);
+        assertThat(deduplicator.claim("MAINTENANCE", 4L)).isTrue();
+    }
+
+    @Test
+    void clearDropsEveryKeyAfterCommit() {
+        deduplicator.claim("MAINTENANCE", 4L);
+        deduplicator.claim("LOW_STOCK", 5L);
+
+        List<TransactionSynchronization> hooks = inTransaction(deduplicator::clearAfterCommit);
+
+        assertThat(deduplicator.claim("LOW_STOCK", 5L)).isFalse();
+        hooks.forEach(TransactionSynchronization::afterCommit);
+        assertThat(deduplicator.claim("MAINTENANCE", 4L)).isTrue();
+        assertThat(deduplicator.claim("LOW_STOCK", 5L)).isTrue();
+    }
+
+    /* ================= HELPERS ================= */
+
+    // Runs the body with synchronization active and returns what it registered
+    private static List<TransactionSynchronization> inTransaction(Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
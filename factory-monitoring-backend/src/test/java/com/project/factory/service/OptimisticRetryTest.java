@@ -0,0 +1,111 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.OptimisticLockException;
+
+/* Retries version conflicts in fresh transactions, nothing else */
+class OptimisticRetryTest {
+
+    private PlatformTransactionManager transactionManager;
+    private OptimisticRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        retry = new OptimisticRetry(transactionManager, 3, 1, 2);
+    }
+
+    @Test
+    void conflictIsRetriedInANewTransaction() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retry.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OptimisticLockingFailureException("stale version");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(calls).hasValue(2);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void jpaOptimisticLockExceptionIsAlsoRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        retry.run(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockException("stale version");
+            }
+        });
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void exhaustedAttemptsRethrowTheLastConflict() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("always stale");
+        }))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("always stale");
+
+        assertThat(calls).hasValue(3);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void businessFailuresAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("Batch not running");
+        })).hasMessage("Batch not running");
+
+        assertThat(calls).hasValue(1);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void insideAnActiveTransactionTheActionRunsOnceInPlace() {
+        AtomicInteger calls = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> retry.execute(() -> {
+                calls.incrementAndGet();
+                throw new OptimisticLockingFailureException("stale version");
+            })).isInstanceOf(OptimisticLockingFailureException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(calls).hasValue(1);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+}
@@ -0,0 +1,192 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.dto.ProductionLogFilter;
+import com.project.factory.dto.ProductionLogPage;
+import com.project.factory.dto.ProductionLogRow;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+import com.project.factory.repository.ProductionLogRepository;
+
+/* Keyset report pages: cursor round trip, page boundaries, archive + live split */
+class ProductionLogServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 6, 2, 8, 0);
+
+    private ProductionLogRepository repository;
+    private ProductionLogArchive archive;
+    private ProductionLogService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProductionLogRepository.class);
+        archive = mock(ProductionLogArchive.class);
+        when(archive.horizon()).thenReturn(ProductionLogArchive.NOTHING_ARCHIVED);
+        service = new ProductionLogService(
+                repository, mock(ProductionRollupService.class), mock(OeeService.class), archive);
+    }
+
+    @Test
+    void fullPageFetchesOneExtraRowAndHandsOutACursor() {
+        when(repository.findReportPage(any(), eq(3)))
+                .thenReturn(List.of(row(1, T0), row(2, T0), row(3, T0.plusMinutes(1))));
+
+        ProductionLogPage page = service.getReportPage(new ProductionLogFilter(), null, 2);
+
+        assertThat(page.getItems()).extracting(ProductionLogRow::getId).containsExactly(1L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    void cursorResumesStrictlyAfterTheLastRowOfThePage() {
+        when(repository.findReportPage(any(), eq(3)))
+                .thenReturn(List.of(row(1, T0), row(7, T0), row(8, T0)));
+        String cursor = service.getReportPage(new ProductionLogFilter(), null, 2).getNextCursor();
+
+        service.getReportPage(new ProductionLogFilter(), cursor, 2);
+
+        ArgumentCaptor<ProductionLogFilter> filter = ArgumentCaptor.forClass(ProductionLogFilter.class);
+        verify(repository, times(2)).findReportPage(filter.capture(), eq(3));
+        ProductionLogFilter resumed = filter.getAllValues().get(1);
+        assertThat(resumed.getAfterTime()).isEqualTo(T0);
+        assertThat(resumed.getAfterId()).isEqualTo(7L);
+    }
+
+    @Test
+    void cursorKeepsFractionalSeconds() {
+        LocalDateTime precise = T0.withNano(123_456_000);
+        when(repository.findReportPage(any(), eq(2)))
+                .thenReturn(List.of(row(5, precise), row(6, precise)));
+        String cursor = service.getReportPage(new ProductionLogFilter(), null, 1).getNextCursor();
+
+        ProductionLogFilter filter = new ProductionLogFilter();
+        service.getReportPage(filter, cursor, 1);
+
+        assertThat(filter.getAfterTime()).isEqualTo(precise);
+        assertThat(filter.getAfterId()).isEqualTo(5L);
+    }
+
+    @Test
+    void shortPageIsTheLastOne() {
+        when(repository.findReportPage(any(), eq(3))).thenReturn(List.of(row(1, T0), row(2, T0)));
+
+        ProductionLogPage page = service.getReportPage(new ProductionLogFilter(), null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        when(repository.findReportPage(any(), eq(3)))
+                .thenReturn(List.of(row(1, T0), row(2, T0), row(3, T0)));
+        ProductionLogPage first = service.getReportPage(new ProductionLogFilter(), null, 2);
+        when(repository.findReportPage(any(), eq(3))).thenReturn(List.of(row(3, T0)));
+
+        ProductionLogPage last = service.getReportPage(new ProductionLogFilter(), first.getNextCursor(), 2);
+
+        assertThat(last.getItems()).extracting(ProductionLogRow::getId).containsExactly(3L);
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        when(repository.findReportPage(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(service.getReportPage(new ProductionLogFilter(), null, null).getSize())
+                .isEqualTo(ProductionLogService.DEFAULT_PAGE_SIZE);
+        assertThat(service.getReportPage(new ProductionLogFilter(), null, 0).getSize()).isEqualTo(1);
+        assertThat(service.getReportPage(new ProductionLogFilter(), null, 100_000).getSize())
+                .isEqualTo(ProductionLogService.MAX_PAGE_SIZE);
+        verify(repository).findReportPage(any(), eq(ProductionLogService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        for (String cursor : List.of("not base64!", "Zm9v", "MjAyNS0wNi0wMlQwODowMHxhYmM")) {
+            assertThatThrownBy(() -> service.getReportPage(new ProductionLogFilter(), cursor, 10))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+    }
+
+    @Test
+    void archiveFillsThePageFirstAndLiveTopsItUpFromTheHorizon() {
+        LocalDateTime horizon = T0.withDayOfMonth(1);
+        when(archive.horizon()).thenReturn(horizon);
+        doAnswer(inv -> {
+            List<ProductionLogRow> out = inv.getArgument(3);
+            out.add(row(1, horizon.minusDays(3)));
+            out.add(row(2, horizon.minusDays(2)));
+            return 2;
+        }).when(archive).readPage(any(), eq(horizon), eq(4), any());
+        when(repository.findReportPage(any(), eq(2)))
+                .thenReturn(List.of(row(3, horizon), row(4, horizon.plusHours(1))));
+
+        ProductionLogFilter filter = new ProductionLogFilter();
+        ProductionLogPage page = service.getReportPage(filter, null, 3);
+
+        assertThat(page.getItems()).extracting(ProductionLogRow::getId).containsExactly(1L, 2L, 3L);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(filter.getFrom()).isEqualTo(horizon);      // live side never reads archived days
+    }
+
+    @Test
+    void cursorPastTheHorizonSkipsTheArchive() {
+        LocalDateTime horizon = T0.withDayOfMonth(1);
+        when(archive.horizon()).thenReturn(horizon);
+        when(repository.findReportPage(any(), anyInt()))
+                .thenReturn(List.of(row(10, T0), row(11, T0)), List.of());
+        String cursor = service.getReportPage(new ProductionLogFilter(), null, 1).getNextCursor();
+
+        service.getReportPage(new ProductionLogFilter(), cursor, 1);
+
+        verify(archive).readPage(any(), any(), anyInt(), any());    // first page only
+    }
+
+    @Test
+    void fullArchivePageNeverQueriesLiveRows() {
+        LocalDateTime horizon = T0.withDayOfMonth(1);
+        when(archive.horizon()).thenReturn(horizon);
+        doAnswer(inv -> {
+            List<ProductionLogRow> out = inv.getArgument(3);
+            for (int i = 1; i <= 3; i++) out.add(row(i, horizon.minusDays(i)));
+            return 3;
+        }).when(archive).readPage(any(), any(), anyInt(), any());
+
+        ProductionLogPage page = service.getReportPage(new ProductionLogFilter(), null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+        verify(repository, never()).findReportPage(any(), anyInt());
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static ProductionLogRow row(long id, LocalDateTime start) {
+        return new ProductionLogRow(id, id, "P" + id, 1, 1L, "M1", 1L, "op",
+                start, start.plusHours(1), Shift.of(start), ProductionStatus.COMPLETED);
+    }
+}
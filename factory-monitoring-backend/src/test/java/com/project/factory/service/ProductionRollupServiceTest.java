@@ -0,0 +1,136 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.project.factory.archive.ProductionLogArchive;
+import com.project.factory.model.Machine;
+import com.project.factory.model.ProductionLog;
+import com.project.factory.model.ProductionStatus;
+import com.project.factory.model.Shift;
+import com.project.factory.repository.ProductionLogRepository;
+import com.project.factory.repository.ProductionRollupRepository;
+
+/* Incremental rollup counters and the rebuild / startup backfill */
+class ProductionRollupServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 23, 30);
+
+    private ProductionRollupRepository rollupRepo;
+    private ProductionLogRepository logRepo;
+    private ProductionLogArchive archive;
+    private PlatformTransactionManager transactionManager;
+    private ProductionRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepo = mock(ProductionRollupRepository.class);
+        logRepo = mock(ProductionLogRepository.class);
+        archive = mock(ProductionLogArchive.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        service = new ProductionRollupService(rollupRepo, logRepo, archive, transactionManager);
+    }
+
+    @Test
+    void completedLogCountsQtyAndDurationInItsStartBucket() {
+        service.record(log(ProductionStatus.COMPLETED, 40, START.plusMinutes(90)));
+
+        // A night shift that runs past midnight stays on its start day
+        verify(rollupRepo).increment(
+                LocalDate.of(2025, 6, 2), "NIGHT", 7L, "Bolt", 1, 0, 40, 5400);
+    }
+
+    @Test
+    void failedLogCountsNoQty() {
+        service.record(log(ProductionStatus.FAILED, 40, START.plusMinutes(10)));
+
+        verify(rollupRepo).increment(
+                LocalDate.of(2025, 6, 2), "NIGHT", 7L, "Bolt", 0, 1, 0, 600);
+    }
+
+    @Test
+    void missingOrInvertedEndTimeCountsNoDuration() {
+        service.record(log(ProductionStatus.COMPLETED, 5, null));
+        service.record(log(ProductionStatus.COMPLETED, 5, START.minusMinutes(1)));
+
+        verify(rollupRepo, times(2)).increment(
+                LocalDate.of(2025, 6, 2), "NIGHT", 7L, "Bolt", 1, 0, 5, 0);
+    }
+
+    @Test
+    void rebuildReplacesOnlyDaysFromTheArchiveHorizon() {
+        LocalDateTime horizon = LocalDateTime.of(2025, 5, 1, 0, 0);
+        when(archive.horizon()).thenReturn(horizon);
+        when(rollupRepo.backfillFromLogs(horizon)).thenReturn(12);
+
+        assertThat(service.rebuild()).isEqualTo(12);
+
+        InOrder order = inOrder(rollupRepo);
+        order.verify(rollupRepo).deleteFrom(LocalDate.of(2025, 5, 1));
+        order.verify(rollupRepo).backfillFromLogs(horizon);
+    }
+
+    @Test
+    void startupBackfillRunsInItsOwnTransactionWhenRollupsAreEmpty() {
+        when(rollupRepo.count()).thenReturn(0L);
+        when(logRepo.count()).thenReturn(3L);
+        when(archive.horizon()).thenReturn(ProductionLogArchive.NOTHING_ARCHIVED);
+
+        service.backfillIfEmpty();
+
+        verify(transactionManager).getTransaction(any());
+        verify(rollupRepo).backfillFromLogs(ProductionLogArchive.NOTHING_ARCHIVED);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void startupBackfillSkipsWhenRollupsExistOrThereAreNoLogs() {
+        when(rollupRepo.count()).thenReturn(5L);
+        when(logRepo.count()).thenReturn(3L);
+        service.backfillIfEmpty();
+
+        when(rollupRepo.count()).thenReturn(0L);
+        when(logRepo.count()).thenReturn(0L);
+        service.backfillIfEmpty();
+
+        verify(rollupRepo, never()).backfillFromLogs(any());
+        verify(rollupRepo, never()).increment(
+                any(), anyString(), anyLong(), anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static ProductionLog log(ProductionStatus status, int qty, LocalDateTime end) {
+        Machine machine = new Machine();
+        machine.setId(7L);
+
+        ProductionLog log = new ProductionLog();
+        log.setMachine(machine);
+        log.setProductName("Bolt");
+        log.setProducedQty(qty);
+        log.setStartTime(START);
+        log.setEndTime(end);
+        log.setShift(Shift.of(START));
+        log.setStatus(status);
+        return log;
+    }
+}
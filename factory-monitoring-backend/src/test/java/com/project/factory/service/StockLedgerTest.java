@@ -0,0 +1,179 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.factory.dto.StockBalance;
+import com.project.factory.model.JobWatermark;
+import com.project.factory.model.Material;
+import com.project.factory.model.StockSnapshot;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.StockMovementRepository;
+import com.project.factory.repository.StockSnapshotRepository;
+
+/* Point-in-time balance = latest snapshot + movements since; one batch per commit */
+class StockLedgerTest {
+
+    private static final Long MATERIAL = 7L;
+    private static final LocalDateTime OPENED = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private StockMovementRepository movementRepository;
+    private StockSnapshotRepository snapshotRepository;
+    private LowStockMonitor lowStockMonitor;
+    private JobWatermarkRepository watermarkRepository;
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        movementRepository = mock(StockMovementRepository.class);
+        snapshotRepository = mock(StockSnapshotRepository.class);
+        lowStockMonitor = mock(LowStockMonitor.class);
+        watermarkRepository = mock(JobWatermarkRepository.class);
+        when(watermarkRepository.findById(StockSnapshotCompactor.RETENTION_JOB)).thenReturn(Optional.empty());
+        when(snapshotRepository.findEarliestAsOf()).thenReturn(OPENED);
+
+        ledger = new StockLedger(
+                jdbcTemplate,
+                movementRepository,
+                snapshotRepository,
+                mock(PlatformTransactionManager.class),
+                lowStockMonitor,
+                watermarkRepository
+        );
+    }
+
+    /* ================= BALANCE AT ================= */
+
+    @Test
+    void balanceIsSnapshotPlusLaterMovements() {
+        LocalDateTime asOf = LocalDateTime.of(2026, 10, 1, 12, 0);
+        LocalDateTime at = asOf.plusHours(3);
+        StockSnapshot snapshot = snapshot(asOf, 120L);
+        when(snapshotRepository.findFirstByMaterialIdAndAsOfLessThanEqualOrderByAsOfDesc(MATERIAL, at))
+                .thenReturn(Optional.of(snapshot));
+        when(movementRepository.sumDelta(MATERIAL, asOf, at)).thenReturn(sum(-25, 4));
+
+        StockBalance balance = ledger.balanceAt(MATERIAL, at);
+
+        assertThat(balance.getBalance()).isEqualTo(95);
+        assertThat(balance.getSnapshotAsOf()).isEqualTo(asOf);
+        assertThat(balance.getMovementsApplied()).isEqualTo(4);
+        assertThat(balance.getAt()).isEqualTo(at);
+    }
+
+    @Test
+    void materialWithoutSnapshotSumsFromLedgerOpening() {
+        LocalDateTime at = OPENED.plusDays(2);
+        when(snapshotRepository.findFirstByMaterialIdAndAsOfLessThanEqualOrderByAsOfDesc(MATERIAL, at))
+                .thenReturn(Optional.empty());
+        when(movementRepository.sumDelta(MATERIAL, OPENED, at)).thenReturn(sum(40, 2));
+
+        StockBalance balance = ledger.balanceAt(MATERIAL, at);
+
+        assertThat(balance.getBalance()).isEqualTo(40);
+        assertThat(balance.getSnapshotAsOf()).isEqualTo(OPENED);
+    }
+
+    @Test
+    void readBeforeLedgerOpeningFails() {
+        LocalDateTime at = OPENED.minusDays(1);
+        when(snapshotRepository.findFirstByMaterialIdAndAsOfLessThanEqualOrderByAsOfDesc(MATERIAL, at))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ledger.balanceAt(MATERIAL, at))
+                .hasMessage("Stock history starts at " + OPENED);
+    }
+
+    @Test
+    void readBeforeRetentionStartFails() {
+        JobWatermark watermark = new JobWatermark(StockSnapshotCompactor.RETENTION_JOB);
+        watermark.setProcessedThrough(LocalDate.of(2026, 9, 30));
+        when(watermarkRepository.findById(StockSnapshotCompactor.RETENTION_JOB))
+                .thenReturn(Optional.of(watermark));
+
+        assertThatThrownBy(() -> ledger.balanceAt(MATERIAL, LocalDateTime.of(2026, 9, 30, 23, 59)))
+                .hasMessage("Stock history starts at 2026-10-01T00:00");
+        verify(movementRepository, never()).sumDelta(any(), any(), any());
+    }
+
+    /* ================= RECORDING ================= */
+
+    @Test
+    void movementsAreWrittenInOneBatchBeforeCommit() {
+        Material steel = material(MATERIAL);
+        Material copper = material(8L);
+
+        List<TransactionSynchronization> hooks = inTransaction(() -> {
+            ledger.receipt(steel, 50);
+            ledger.reserved(null, steel, 20);
+            ledger.reserved(null, copper, 5);
+            ledger.released(null, copper, 5);
+        });
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+
+        hooks.forEach(h -> h.beforeCommit(false));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(lowStockMonitor).stockChanged(Map.of(MATERIAL, 30, 8L, 0), Map.of(MATERIAL, steel, 8L, copper));
+    }
+
+    @Test
+    void recordingOutsideATransactionFails() {
+        assertThatThrownBy(() -> ledger.receipt(material(MATERIAL), 1))
+                .hasMessage("Stock movements must be recorded inside a transaction");
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static List<Object[]> sum(long delta, long count) {
+        return List.<Object[]>of(new Object[] { delta, count });
+    }
+
+    private static StockSnapshot snapshot(LocalDateTime asOf, long balance) {
+        StockSnapshot snapshot = mock(StockSnapshot.class);
+        when(snapshot.getAsOf()).thenReturn(asOf);
+        when(snapshot.getBalance()).thenReturn(balance);
+        return snapshot;
+    }
+
+    private static Material material(Long id) {
+        Material material = new Material();
+        ReflectionTestUtils.setField(material, "id", id);
+        return material;
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            body.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.factory.model.Batch;
+import com.project.factory.model.BatchMaterial;
+import com.project.factory.model.Material;
+import com.project.factory.repository.MaterialRepository;
+
+/* =====================================================
+   Conditional reservation against an in-memory "stock"
+   column: the fake JdbcTemplate applies
+   "stock = stock - q where id = ? and stock >= q" per
+   row and reports 0 for rows that did not match.
+   ===================================================== */
+class StockReservationServiceTest {
+
+    private final Map<Long, Integer> stock = new HashMap<>();
+    private final List<Long> reserveOrder = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private MaterialRepository materialRepository;
+    private StockLedger ledger;
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        materialRepository = mock(MaterialRepository.class);
+        ledger = mock(StockLedger.class);
+        service = new StockReservationService(jdbcTemplate, materialRepository, ledger);
+
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenAnswer(inv -> reserveRows(inv.getArgument(1)));
+        doAnswer(inv -> {
+            List<Object[]> args = inv.getArgument(1);
+            for (Object[] a : args) stock.merge((Long) a[1], (Integer) a[0], Integer::sum);
+            return new int[args.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void reservesSummedQuantitiesInAscendingMaterialOrder() {
+        stock.put(2L, 10);
+        stock.put(5L, 10);
+        List<BatchMaterial> lines = List.of(line(5, 3), line(2, 4), line(5, 2));
+
+        service.reserve(lines);
+
+        assertThat(reserveOrder).containsExactly(2L, 5L);     // lock order, one row per material
+        assertThat(stock).containsEntry(2L, 6).containsEntry(5L, 5);
+        verify(ledger).reserved(lines);
+    }
+
+    @Test
+    void exactStockCanBeReservedDownToZero() {
+        stock.put(1L, 4);
+
+        service.reserve(List.of(line(1, 4)));
+
+        assertThat(stock).containsEntry(1L, 0);
+    }
+
+    @Test
+    void insufficientStockFailsNamingTheMaterial() {
+        stock.put(1L, 10);
+        stock.put(2L, 1);
+        when(materialRepository.findById(2L)).thenReturn(Optional.of(material(2, "Steel rod")));
+
+        assertThatThrownBy(() -> service.reserve(List.of(line(1, 3), line(2, 5))))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Insufficient stock for material: Steel rod");
+
+        assertThat(stock).containsEntry(2L, 1);               // the short row was never applied
+        verify(ledger, never()).reserved(anyList());
+    }
+
+    @Test
+    void nonPositiveQuantitiesAreRejectedBeforeAnyUpdate() {
+        assertThatThrownBy(() -> service.reserve(List.of(line(1, 0))))
+                .hasMessage("Material quantity must be positive");
+        assertThatThrownBy(() -> service.reserve(List.of(line(1, -2))))
+                .hasMessage("Material quantity must be positive");
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void releaseReturnsStock() {
+        stock.put(3L, 1);
+        List<BatchMaterial> lines = List.of(line(3, 4));
+
+        service.release(lines);
+
+        assertThat(stock).containsEntry(3L, 5);
+        verify(ledger).released(lines);
+    }
+
+    @Test
+    void rebalanceOnlyChecksNetIncreases() {
+        stock.put(1L, 0);     // unchanged line: must not need any free stock
+        stock.put(2L, 2);
+        stock.put(3L, 0);
+        Batch batch = new Batch();
+        for (long id = 1; id <= 3; id++) {
+            when(materialRepository.getReferenceById(id)).thenReturn(material(id, "m" + id));
+        }
+
+        service.rebalance(batch,
+                List.of(line(1, 5), line(2, 1), line(3, 4)),
+                List.of(line(1, 5), line(2, 3), line(3, 1)));
+
+        assertThat(reserveOrder).containsExactly(2L);
+        assertThat(stock).containsEntry(1L, 0).containsEntry(2L, 0).containsEntry(3L, 3);
+        verify(ledger).reserved(eq(batch), any(Material.class), eq(2));
+        verify(ledger).released(eq(batch), any(Material.class), eq(3));
+        verify(ledger, never()).reserved(eq(batch), any(Material.class), eq(0));
+    }
+
+    @Test
+    void rebalanceShortfallFails() {
+        stock.put(1L, 1);
+        when(materialRepository.findById(1L)).thenReturn(Optional.of(material(1, "Bolt")));
+
+        assertThatThrownBy(() -> service.rebalance(new Batch(), List.of(line(1, 1)), List.of(line(1, 3))))
+                .hasMessage("Insufficient stock for material: Bolt");
+        verify(ledger, never()).reserved(any(), any(), anyInt());
+    }
+
+    /* ================= FAKE CONDITIONAL UPDATE ================= */
+
+    private int[] reserveRows(BatchPreparedStatementSetter setter) throws Exception {
+        int[] updated = new int[setter.getBatchSize()];
+        for (int i = 0; i < updated.length; i++) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            int[] qty = new int[2];
+            long[] id = new long[1];
+            doAnswer(inv -> { qty[(int) inv.getArgument(0) == 1 ? 0 : 1] = inv.getArgument(1); return null; })
+                    .when(ps).setInt(anyInt(), anyInt());
+            doAnswer(inv -> { id[0] = inv.getArgument(1); return null; })
+                    .when(ps).setLong(anyInt(), anyLong());
+            setter.setValues(ps, i);
+
+            reserveOrder.add(id[0]);
+            int current = stock.getOrDefault(id[0], 0);
+            if (current >= qty[1]) {
+                stock.put(id[0], current - qty[0]);
+                updated[i] = 1;
+            }
+        }
+        return updated;
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static BatchMaterial line(long materialId, int quantity) {
+        BatchMaterial line = new BatchMaterial();
+        line.setMaterial(material(materialId, "m" + materialId));
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private static Material material(long id, String name) {
+        Material material = new Material();
+        ReflectionTestUtils.setField(material, "id", id);
+        material.setName(name);
+        return material;
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.project.factory.model.JobWatermark;
+import com.project.factory.repository.JobWatermarkRepository;
+import com.project.factory.repository.StockMovementRepository;
+import com.project.factory.repository.StockSnapshotRepository;
+
+/* Snapshot folding window and sliced retention */
+class StockSnapshotCompactorTest {
+
+    private static final long LAG_SECONDS = 300;
+    private static final int RETENTION_DAYS = 90;
+
+    private StockSnapshotRepository snapshotRepository;
+    private StockMovementRepository movementRepository;
+    private JobWatermarkRepository watermarkRepository;
+    private StockSnapshotCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        snapshotRepository = mock(StockSnapshotRepository.class);
+        movementRepository = mock(StockMovementRepository.class);
+        watermarkRepository = mock(JobWatermarkRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(watermarkRepository.findById(StockSnapshotCompactor.RETENTION_JOB)).thenReturn(Optional.empty());
+
+        compactor = new StockSnapshotCompactor(
+                snapshotRepository, movementRepository, watermarkRepository,
+                transactionManager, LAG_SECONDS, RETENTION_DAYS);
+    }
+
+    /* ================= COMPACT ================= */
+
+    @Test
+    void foldsMovementsSincePreviousSnapshotUpToTheLag() {
+        LocalDateTime prev = LocalDateTime.now().minusHours(1);
+        when(snapshotRepository.findLatestAsOf()).thenReturn(prev);
+
+        compactor.compact();
+
+        ArgumentCaptor<LocalDateTime> asOf = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(snapshotRepository).compact(eq(prev), asOf.capture());
+        assertThat(asOf.getValue())
+                .isCloseTo(LocalDateTime.now().minusSeconds(LAG_SECONDS), within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    void skipsWhenLedgerNotOpenedOrRanRecently() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(null);
+        compactor.compact();
+
+        when(snapshotRepository.findLatestAsOf()).thenReturn(LocalDateTime.now().minusSeconds(LAG_SECONDS / 2));
+        compactor.compact();
+
+        verify(snapshotRepository, never()).compact(any(), any());
+    }
+
+    /* ================= PRUNE ================= */
+
+    @Test
+    void pruneMovesWatermarkThenDeletesInSlices() {
+        LocalDate historyStart = LocalDate.now().minusDays(RETENTION_DAYS);
+        LocalDateTime cutoff = historyStart.minusDays(1).atTime(23, 0);
+        when(snapshotRepository.findLatestAsOfAtOrBefore(historyStart.atStartOfDay())).thenReturn(cutoff);
+        when(movementRepository.deleteBefore(cutoff, 10_000)).thenReturn(10_000, 10_000, 42);
+
+        compactor.prune();
+
+        ArgumentCaptor<JobWatermark> saved = ArgumentCaptor.forClass(JobWatermark.class);
+        InOrder order = inOrder(watermarkRepository, movementRepository, snapshotRepository);
+        order.verify(watermarkRepository).save(saved.capture());
+        order.verify(movementRepository, times(3)).deleteBefore(cutoff, 10_000);
+        order.verify(snapshotRepository).deleteSupersededBefore(cutoff);
+
+        assertThat(saved.getValue().getJobName()).isEqualTo(StockSnapshotCompactor.RETENTION_JOB);
+        assertThat(saved.getValue().getProcessedThrough()).isEqualTo(historyStart.minusDays(1));
+    }
+
+    @Test
+    void pruneSkipsLedgerYoungerThanRetention() {
+        when(snapshotRepository.findLatestAsOfAtOrBefore(any())).thenReturn(null);
+
+        compactor.prune();
+
+        verify(watermarkRepository, never()).save(any());
+        verify(movementRepository, never()).deleteBefore(any(), anyInt());
+        verify(snapshotRepository, never()).deleteSupersededBefore(any());
+    }
+}
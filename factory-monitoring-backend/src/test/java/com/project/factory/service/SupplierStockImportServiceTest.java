@@ -0,0 +1,154 @@
+package com.project.factory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import com.project.factory.dto.StockReceiptImportResult;
+import com.project.factory.repository.MaterialRepository;
+import com.project.factory.service.SupplierStockImportService.Format;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* Chunked import: a failed chunk is rolled back and reported, the stream goes on */
+class SupplierStockImportServiceTest {
+
+    private static final String HEADER = "supplierId,materialName,grade,location,quantity";
+
+    private JdbcTemplate jdbcTemplate;
+    private MaterialKeyCache materialKeys;
+    private StockLedger stockLedger;
+    private DashboardService dashboardService;
+    private PlatformTransactionManager transactionManager;
+    private SupplierStockImportService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        materialKeys = mock(MaterialKeyCache.class);
+        stockLedger = mock(StockLedger.class);
+        dashboardService = mock(DashboardService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        SupplierCapabilityIndex capabilityIndex = mock(SupplierCapabilityIndex.class);
+        when(capabilityIndex.supplierName(1L)).thenReturn("Acme");
+        when(capabilityIndex.canSupply(eq(1L), anyString(), anyInt())).thenReturn(true);
+
+        // Every key resolves except "brass": its chunk fails after the upsert
+        when(materialKeys.idsOf(anyCollection())).thenAnswer(inv -> {
+            Map<String, Long> ids = new HashMap<>();
+            long id = 1;
+            for (String key : inv.<Collection<String>>getArgument(0)) {
+                if (!key.startsWith("brass")) ids.put(key, id++);
+            }
+            return ids;
+        });
+
+        service = new SupplierStockImportService(
+                jdbcTemplate,
+                mock(MaterialRepository.class),
+                materialKeys,
+                capabilityIndex,
+                stockLedger,
+                dashboardService,
+                JsonMapper.builder().build(),
+                transactionManager,
+                2
+        );
+    }
+
+    @Test
+    void failedChunkIsCountedAndLaterChunksStillLand() throws Exception {
+        StockReceiptImportResult result = service.importReceipts(csv(
+                "1,Steel,1,A,10",
+                "1,Copper,1,A,5",
+                "1,Brass,1,A,7",        // chunk 2 fails
+                "1,Tin,1,A,3",
+                "1,Zinc,1,A,4",
+                "1,Lead,1,A,2"
+        ), Format.CSV);
+
+        assertThat(result.getAccepted()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getFailedChunks()).isEqualTo(1);
+        assertThat(result.getMaterialUpserts()).isEqualTo(4);
+        assertThat(result.getStockLogs()).isEqualTo(4);
+        assertThat(result.getErrors()).singleElement().satisfies(e -> {
+            assertThat(e.getLine()).isEqualTo(5);
+            assertThat(e.getError()).startsWith("Chunk of 2 lines ending here not imported")
+                    .contains("Material not found after upsert: Brass");
+        });
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager).rollback(any());
+        verify(stockLedger, times(4)).receipt(any(), anyInt());
+        verify(dashboardService).invalidate();
+    }
+
+    @Test
+    void invalidLinesAreRejectedWithoutFailingTheChunk() throws Exception {
+        StockReceiptImportResult result = service.importReceipts(csv(
+                "1,Steel,1,A,10",
+                "1,Copper,1,A,-1",
+                "2,Copper,1,A,5",
+                "oops"
+        ), Format.CSV);
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getFailedChunks()).isZero();
+        assertThat(result.getErrors()).extracting(StockReceiptImportResult.LineError::getError)
+                .containsExactly("Quantity must be positive", "Supplier not found", "Malformed line");
+    }
+
+    @Test
+    void duplicateLinesMergeIntoOneReceipt() throws Exception {
+        StockReceiptImportResult result = service.importReceipts(csv(
+                "1,Steel,1,A,10",
+                "1, steel ,1,a,15"
+        ), Format.CSV);
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getMaterialUpserts()).isEqualTo(1);
+        verify(stockLedger).receipt(any(), eq(25));
+    }
+
+    @Test
+    void nothingCommittedLeavesDashboardAlone() throws Exception {
+        StockReceiptImportResult result = service.importReceipts(csv("1,Brass,1,A,7"), Format.CSV);
+
+        assertThat(result.getAccepted()).isZero();
+        assertThat(result.getFailed()).isEqualTo(1);
+        verify(dashboardService, never()).invalidate();
+        verify(stockLedger, never()).receipt(any(), anyInt());
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static InputStream csv(String... lines) {
+        String body = HEADER + "\n" + String.join("\n", lines) + "\n";
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.factory.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.factory.event.AlertChangedEvent;
+import com.project.factory.model.Alert;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/* Last-Event-ID resume: replay within one boot, sync across boots */
+class AlertStreamTest {
+
+    private final SseSenderPool pool = new SseSenderPool(1);
+
+    @AfterEach
+    void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void resumeWithinOneBootReplaysMissedDeltas() {
+        AlertStream stream = newStream(100);
+        created(stream, 1L);
+        stream.flush();
+        String seen = stream.lastEventId();
+
+        created(stream, 2L);
+        created(stream, 3L);
+        stream.flush();
+
+        List<AlertDelta> missed = stream.missedSince(seen);
+        assertEquals(List.of(2L, 3L), missed.stream().map(d -> d.getAlert().getId()).toList());
+        assertTrue(stream.missedSince(stream.lastEventId()).isEmpty());
+    }
+
+    @Test
+    void idFromAnotherBootAlwaysSyncs() {
+        AlertStream before = newStream(100);
+        created(before, 1L);
+        before.flush();
+        String seen = before.lastEventId();
+
+        // "Restart": same sequence numbers, history reaches back past the old id
+        AlertStream after = newStream(100);
+        created(after, 7L);
+        created(after, 8L);
+        after.flush();
+
+        assertNotEquals(seen, after.lastEventId());
+        assertNull(after.missedSince(seen));
+    }
+
+    @Test
+    void missingMalformedOrFutureIdsSync() {
+        AlertStream stream = newStream(100);
+        created(stream, 1L);
+        stream.flush();
+        String id = stream.lastEventId();
+        String boot = id.substring(0, id.lastIndexOf('-'));
+
+        assertNull(stream.missedSince(null));
+        assertNull(stream.missedSince("42"));
+        assertNull(stream.missedSince(boot + "-x"));
+        assertNull(stream.missedSince(boot + "-2"));       // not flushed yet
+    }
+
+    @Test
+    void idOlderThanTheHistorySyncs() {
+        AlertStream stream = newStream(2);
+        created(stream, 1L);
+        stream.flush();
+        String seen = stream.lastEventId();
+
+        created(stream, 2L);
+        created(stream, 3L);
+        created(stream, 4L);
+        stream.flush();
+
+        assertNull(stream.missedSince(seen));
+    }
+
+    /* ================= HELPERS ================= */
+
+    private AlertStream newStream(int history) {
+        return new AlertStream(pool, 60_000, 16, history, JsonMapper.builder().build());
+    }
+
+    private static void created(AlertStream stream, Long alertId) {
+        Alert alert = new Alert();
+        alert.setId(alertId);
+        stream.onAlertChanged(new AlertChangedEvent(AlertChangedEvent.Change.CREATED, alert));
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.factory.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/* =====================================================
+   Writers hammer offer() while a flusher drains, seals
+   and releases chunks the way TelemetryWriter does.
+   Every accepted sample must come out exactly once;
+   refused offers are the only samples allowed to vanish.
+   ===================================================== */
+class TelemetryBufferTest {
+
+    private static final int WRITERS = 8;
+    private static final int MACHINES_PER_WRITER = 4;
+    private static final int SAMPLES_PER_WRITER = 200_000;
+
+    @Test
+    void acceptedSamplesAreFlushedExactlyOnce() throws Exception {
+        hammer(new TelemetryBuffer(4, 256, 1024));
+    }
+
+    // Tiny pool: offers get refused and drain() flushes chunks in place
+    @Test
+    void saturatedPoolOnlyLosesRefusedSamples() throws Exception {
+        hammer(new TelemetryBuffer(2, 16, 4));
+    }
+
+    private void hammer(TelemetryBuffer buffer) throws Exception {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong refused = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = new ArrayList<>();
+
+        // Sample key -> times seen; the key also travels in the value columns
+        Map<Long, Integer> seen = new HashMap<>();
+        Set<Long> acceptedKeys = ConcurrentHashMap.newKeySet();
+
+        Thread flusher = new Thread(() -> {
+            try {
+                start.await();
+                while (writing.get()) {
+                    flush(buffer, seen);
+                }
+            } catch (Throwable t) {
+                synchronized (errors) { errors.add(t); }
+            }
+        }, "test-flusher");
+
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < SAMPLES_PER_WRITER; i++) {
+                        long machineId = writer * MACHINES_PER_WRITER + (i % MACHINES_PER_WRITER) + 1;
+                        long key = (long) writer * SAMPLES_PER_WRITER + i;
+                        if (buffer.offer(machineId, key, key, key, key)) {
+                            acceptedKeys.add(key);
+                            accepted.incrementAndGet();
+                        } else {
+                            refused.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable t) {
+                    synchronized (errors) { errors.add(t); }
+                }
+            }, "test-writer-" + w));
+        }
+
+        flusher.start();
+        writers.forEach(Thread::start);
+        start.countDown();
+        for (Thread t : writers) t.join();
+        writing.set(false);
+        flusher.join();
+
+        // Final passes, as TelemetryWriter does after stop()
+        for (int i = 0; i < 3; i++) {
+            flush(buffer, seen);
+        }
+
+        if (!errors.isEmpty()) {
+            fail(errors.get(0));
+        }
+
+        assertEquals((long) WRITERS * SAMPLES_PER_WRITER, accepted.get() + refused.get());
+        assertEquals(accepted.get(), seen.size(), "flushed samples");
+        for (Map.Entry<Long, Integer> e : seen.entrySet()) {
+            assertEquals(1, e.getValue(), "sample " + e.getKey() + " flushed more than once");
+        }
+        assertEquals(acceptedKeys, seen.keySet());
+        assertEquals(0, buffer.pendingChunks());
+
+        // Every chunk went back to the pool: a drained buffer takes samples again
+        for (long machineId = 1; machineId <= WRITERS * MACHINES_PER_WRITER; machineId++) {
+            assertTrue(buffer.offer(machineId, -1, -1, -1, -1), "pool leaked chunks");
+        }
+    }
+
+    // Mirrors TelemetryWriter.flush(): drain, seal, wait for writers, read, release
+    private static void flush(TelemetryBuffer buffer, Map<Long, Integer> seen) {
+        for (TelemetryChunk chunk : buffer.drain()) {
+            int rows = chunk.seal();
+            chunk.awaitWritten(rows);
+            for (int i = 0; i < rows; i++) {
+                long key = chunk.timestamps[i];
+                assertEquals(key, chunk.cycleCounts[i], "torn row");
+                assertEquals((double) key, chunk.temperatures[i], "torn row");
+                assertEquals((double) key, chunk.spindleLoads[i], "torn row");
+                assertTrue(chunk.machineIds[i] > 0, "unwritten row");
+                seen.merge(key, 1, Integer::sum);
+            }
+            buffer.release(chunk);
+        }
+    }
+}
@@ -1,43 +1,30 @@
-import { useMachines } from "../../context/MachineContext";
-import { useBatches } from "../../context/BatchContext";
-import { useMaterials } from "../../context/MaterialContext";
-import { useSuppliers } from "../../context/SupplierContext";
-
-/* ---------- HELPER ---------- */
-const isDue = (date) => new Date() >= new Date(date);
+import { useEffect, useState } from "react";
+import api from "../../services/api";
 
 function DashboardCards() {
-  const { machines } = useMachines();
-  const { batches } = useBatches();
-  const { materials } = useMaterials();
-  const { suppliers } = useSuppliers(); // ✅ NOW FROM DB
-
-  const totalMachines = machines.length;
-
-  const runningMachines = machines.filter(
-    (m) => m.status === "RUNNING"
-  ).length;
+  const [snapshot, setSnapshot] = useState(null);
 
-  const availableMachines = machines.filter(
-    (m) => m.status === "AVAILABLE"
-  ).length;
+  /* ✅ ONE CACHED REQUEST INSTEAD OF FULL LISTS */
+  useEffect(() => {
+    api
+      .get("/dashboard/snapshot")
+      .then((res) => setSnapshot(res.data))
+      .catch((err) => console.error("Failed to load dashboard", err));
+  }, []);
 
-  const pausedMachines = machines.filter(
-    (m) => m.status === "PAUSED"
-  ).length;
+  const machinesBy = snapshot?.machinesByStatus || {};
+  const batchesBy = snapshot?.batchesByStatus || {};
 
-  const errorMachines = machines.filter(
-    (m) => m.status === "ERROR"
-  ).length;
+  const totalMachines = snapshot?.totalMachines ?? 0;
+  const runningMachines = machinesBy.RUNNING ?? 0;
+  const availableMachines = machinesBy.AVAILABLE ?? 0;
+  const pausedMachines = machinesBy.PAUSED ?? 0;
+  const errorMachines = machinesBy.ERROR ?? 0;
 
   /* ✅ MAINTENANCE DUE COUNT */
-  const maintenanceDueMachines = machines.filter(
-    (m) => isDue(m.nextMaintenanceDue)
-  ).length;
+  const maintenanceDueMachines = snapshot?.maintenanceDueMachines ?? 0;
 
-  const activeBatches = batches.filter(
-    (b) => b.status === "IN_PROGRESS"
-  ).length;
+  const activeBatches = batchesBy.IN_PROGRESS ?? 0;
 
   return (
     <div style={styles.grid}>
@@ -80,7 +67,7 @@ function DashboardCards() {
 
       <Card
         title="Materials"
-        value={materials.length}
+        value={snapshot?.totalMaterials ?? 0}
         color="#0d9488"
       />
 
@@ -93,7 +80,7 @@ function DashboardCards() {
       {/* ✅ NOW DYNAMIC FROM DB */}
       <Card
         title="Suppliers"
-        value={suppliers.length}
+        value={snapshot?.totalSuppliers ?? 0}
         color="#7c3aed"
       />
     </div>
@@ -37,6 +37,42 @@ export function AlertProvider({ children }) {
     fetchAlerts();
   }, [fetchAlerts]);
 
+  /* =====================================================
+     LIVE ALERT DELTAS (SSE, RESUMES VIA Last-Event-ID)
+     ===================================================== */
+  useEffect(() => {
+    const source = new EventSource(
+      `${import.meta.env.VITE_API_BASE_URL}/api/alerts/stream`
+    );
+
+    // Server could not replay what we missed → reload once
+    let firstSync = true;
+    source.addEventListener("sync", () => {
+      if (!firstSync) fetchAlerts();
+      firstSync = false;
+    });
+
+    source.addEventListener("alerts", (e) => {
+      const deltas = JSON.parse(e.data);
+
+      setAlerts((prev) => {
+        let next = prev;
+        for (const d of deltas) {
+          if (d.change === "CLEARED") {
+            next = [];
+          } else if (d.change === "RESOLVED") {
+            next = next.filter((a) => a.id !== d.alert.id);
+          } else if (!next.some((a) => a.id === d.alert.id)) {
+            next = [d.alert, ...next];
+          }
+        }
+        return next;
+      });
+    });
+
+    return () => source.close();
+  }, [fetchAlerts]);
+
   /* =====================================================
      CLEAR ALL ALERTS (BACKEND)
      ===================================================== */
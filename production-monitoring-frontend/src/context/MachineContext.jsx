@@ -31,6 +31,31 @@ export function MachineProvider({ children }) {
     };
   }, []);
 
+  /* =========================
+     LIVE STATUS PUSH (SSE)
+     ========================= */
+  useEffect(() => {
+    const source = new EventSource(
+      `${import.meta.env.VITE_API_BASE_URL}/api/machines/stream`
+    );
+
+    source.addEventListener("machine-status", (e) => {
+      const { machineId, status } = JSON.parse(e.data);
+      setMachines((prev) =>
+        prev.map((m) => (m.id === machineId ? { ...m, status } : m))
+      );
+    });
+
+    // Evicted or dropped: EventSource reconnects, resync the list once
+    let opened = false;
+    source.onopen = () => {
+      if (opened) fetchMachines();
+      opened = true;
+    };
+
+    return () => source.close();
+  }, []);
+
   const fetchMachines = async () => {
     setLoading(true);
     try {
@@ -40,7 +65,6 @@ export function MachineProvider({ children }) {
       console.error("Failed to load machines", err);
     } finally {
       setLoading(false);
-      window.dispatchEvent(new Event("refresh-alerts"));
     }
   };
 
@@ -70,6 +94,7 @@ export function MachineProvider({ children }) {
       }
 
       fetchMachines();
+      window.dispatchEvent(new Event("refresh-alerts"));
     } catch (err) {
       console.error("Update machine failed", err);
     }
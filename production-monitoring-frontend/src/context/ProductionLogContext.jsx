@@ -14,14 +14,17 @@ export function ProductionLogProvider({ children }) {
     setLoading(true);
 
     try {
-      const res = await api.get("/production-logs/reports", {
+      // One bounded page of the keyset report, not the whole history
+      const res = await api.get("/production-logs/reports/page", {
         params: {
+          status: "COMPLETED",
+          size: 500,
           ...(from && { from }),
           ...(to && { to }),
         },
       });
 
-      setLogs(res.data);
+      setLogs(res.data.items);
     } catch (err) {
       console.error("Failed to fetch production logs", err);
       setLogs([]);
@@ -11,29 +11,37 @@ function Reports() {
   /* ---------- INPUT STATES ---------- */
   const [fromDate, setFromDate] = useState("");
   const [toDate, setToDate] = useState("");
+  const [range, setRange] = useState({});
 
-  /* ---------- PAGINATION ---------- */
+  /* ---------- KEYSET PAGINATION ---------- */
+  // cursors[i] fetches page i (null = first page)
+  const [cursors, setCursors] = useState([null]);
   const [page, setPage] = useState(0);
+  const [nextCursor, setNextCursor] = useState(null);
 
   /* =========================
-     FETCH REPORTS FROM BACKEND
+     FETCH ONE PAGE FROM BACKEND
      ========================= */
-  const fetchReports = async (from, to) => {
+  const fetchPage = async (filter, cursor) => {
     setLoading(true);
 
     try {
-      const res = await api.get("/production-logs/reports", {
+      const res = await api.get("/production-logs/reports/page", {
         params: {
-          from,
-          to,
+          status: "COMPLETED",
+          size: PAGE_SIZE,
+          ...(filter.from && { from: filter.from }),
+          ...(filter.to && { to: filter.to }),
+          ...(cursor && { cursor }),
         },
       });
 
-      setLogs(res.data);
-      setPage(0);
+      setLogs(res.data.items);
+      setNextCursor(res.data.nextCursor);
     } catch (err) {
       console.error("Failed to load production reports", err);
       setLogs([]);
+      setNextCursor(null);
     } finally {
       setLoading(false);
     }
@@ -41,23 +49,35 @@ function Reports() {
 
   /* ---------- INITIAL LOAD ---------- */
   useEffect(() => {
-    fetchReports();
+    fetchPage({}, null);
   }, []);
 
   /* ---------- APPLY FILTER ---------- */
   const applyFilter = () => {
-    fetchReports(fromDate, toDate);
+    const filter = { from: fromDate, to: toDate };
+    setRange(filter);
+    setCursors([null]);
+    setPage(0);
+    fetchPage(filter, null);
   };
 
   /* ---------- PAGINATION ---------- */
-  const startIndex = page * PAGE_SIZE;
-  const pagedLogs = logs.slice(startIndex, startIndex + PAGE_SIZE);
-
   const hasPrev = page > 0;
-  const hasNext = startIndex + PAGE_SIZE < logs.length;
+  const hasNext = nextCursor != null;
+
+  const goNext = () => {
+    setCursors((c) => [...c.slice(0, page + 1), nextCursor]);
+    setPage(page + 1);
+    fetchPage(range, nextCursor);
+  };
+
+  const goPrev = () => {
+    setPage(page - 1);
+    fetchPage(range, cursors[page - 1]);
+  };
 
-  /* ---------- TOTAL PRODUCED ---------- */
-  const totalProduced = logs.reduce(
+  /* ---------- PRODUCED ON THIS PAGE ---------- */
+  const pageProduced = logs.reduce(
     (sum, l) => sum + (Number(l.producedQty) || 0),
     0
   );
@@ -95,10 +115,10 @@ function Reports() {
 
       {loading && <p>Loading reports...</p>}
 
-      <h3>Total Produced: {totalProduced}</h3>
+      <h3>Produced (this page): {pageProduced}</h3>
 
       {/* ================= TABLE ================= */}
-      {pagedLogs.length === 0 && !loading ? (
+      {logs.length === 0 && !loading ? (
         <p>No completed production</p>
       ) : (
         <>
@@ -115,10 +135,10 @@ function Reports() {
                 </tr>
               </thead>
               <tbody>
-                {pagedLogs.map((l) => (
+                {logs.map((l) => (
                   <tr key={l.id}>
                     <td style={styles.td}>{l.productName}</td>
-                    <td style={styles.td}>{l.machine?.name || "-"}</td>
+                    <td style={styles.td}>{l.machineName || "-"}</td>
                     <td style={styles.td}>{l.producedQty}</td>
                     <td style={styles.td}>
                       {l.startTime
@@ -142,19 +162,19 @@ function Reports() {
             <button
               style={styles.pageBtn}
               disabled={!hasPrev}
-              onClick={() => setPage((p) => p - 1)}
+              onClick={goPrev}
             >
               ◀ Prev
             </button>
 
             <span style={styles.pageInfo}>
-              Page {page + 1} / {Math.ceil(logs.length / PAGE_SIZE) || 1}
+              Page {page + 1}
             </span>
 
             <button
               style={styles.pageBtn}
               disabled={!hasNext}
-              onClick={() => setPage((p) => p + 1)}
+              onClick={goNext}
             >
               Next ▶
             </button>